@@ -0,0 +1,82 @@
+package com.tradingbot.benchmarks;
+
+import com.tradingbot.data.CandleSeries;
+
+import java.util.Random;
+
+/**
+ * Deterministic synthetic market data shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private static final long BAR_MILLIS = 60_000;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Generates a geometric random walk of one-minute candles.
+     * The same bar count always yields the same series, so runs are comparable.
+     *
+     * @param bars The number of bars.
+     * @return A candle series with the given number of bars.
+     */
+    static CandleSeries series(int bars) {
+        Random random = new Random(42);
+        CandleSeries series = new CandleSeries(bars);
+        double close = 100;
+        for (int i = 0; i < bars; i++) {
+            double open = close;
+            close = open * (1 + random.nextGaussian() * 0.002);
+            double high = Math.max(open, close) * (1 + random.nextDouble() * 0.001);
+            double low = Math.min(open, close) * (1 - random.nextDouble() * 0.001);
+            double volume = 10 + random.nextDouble() * 90;
+            series.add(i * BAR_MILLIS, open, high, low, close, volume);
+        }
+        return series;
+    }
+
+    /**
+     * Generates the same random walk as {@link #series(int)} with prices rounded to 0.01 and
+     * volumes to 0.0001, like candles served by an exchange with fixed tick and lot sizes.
+     *
+     * @param bars The number of bars.
+     * @return A candle series with the given number of bars.
+     */
+    static CandleSeries tickSeries(int bars) {
+        CandleSeries raw = series(bars);
+        CandleSeries series = new CandleSeries(bars);
+        double previousClose = 0;
+        for (int i = 0; i < bars; i++) {
+            double open = i == 0 ? round(raw.getOpen(i), 100) : previousClose;
+            double close = round(raw.getClose(i), 100);
+            double high = Math.max(round(raw.getHigh(i), 100), Math.max(open, close));
+            double low = Math.min(round(raw.getLow(i), 100), Math.min(open, close));
+            series.add(raw.getTimestamp(i), open, high, low, close, round(raw.getVolume(i), 10_000));
+            previousClose = close;
+        }
+        return series;
+    }
+
+    private static double round(double value, double factor) {
+        return Math.round(value * factor) / factor;
+    }
+
+    /**
+     * Generates random feature vectors in the shape SignalGenerator feeds its model.
+     *
+     * @param count The number of vectors.
+     * @param size  The number of features per vector.
+     * @return The feature vectors.
+     */
+    static double[][] features(int count, int size) {
+        Random random = new Random(42);
+        double[][] features = new double[count][size];
+        for (double[] row : features) {
+            for (int j = 0; j < size; j++) {
+                row[j] = random.nextGaussian();
+            }
+        }
+        return features;
+    }
+}
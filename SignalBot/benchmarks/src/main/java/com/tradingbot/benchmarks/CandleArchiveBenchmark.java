@@ -0,0 +1,76 @@
+package com.tradingbot.benchmarks;
+
+import com.tradingbot.data.CandleArchive;
+import com.tradingbot.data.CandleArchiveWriter;
+import com.tradingbot.data.CandleSeries;
+import com.tradingbot.indicators.StreamingEMAIndicator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode throughput of the compressed candle archive. Each bar holds six values, so
+ * values per second are six times the reported bars per second. The compression ratio against
+ * 48 byte raw records is printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CandleArchiveBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int bars;
+
+    @Param({"TICK", "RAW"})
+    public String prices;
+
+    private CandleSeries series;
+    private CandleArchive archive;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        series = "TICK".equals(prices) ? BenchmarkData.tickSeries(bars) : BenchmarkData.series(bars);
+        archive = new CandleArchive(ByteBuffer.wrap(encode()));
+        System.out.printf("%ncompression ratio: %.2fx%n", 48.0 * bars / archive.getByteSize());
+    }
+
+    private byte[] encode() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bars * 16);
+        try (CandleArchiveWriter writer = new CandleArchiveWriter(out)) {
+            writer.append(series);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeArchive() throws IOException {
+        return encode();
+    }
+
+    @Benchmark
+    public void decodeToSink(Blackhole blackhole) {
+        archive.readAll((timestamp, open, high, low, close, volume) -> {
+            blackhole.consume(timestamp);
+            blackhole.consume(close);
+        });
+    }
+
+    @Benchmark
+    public CandleSeries decodeToSeries() {
+        return archive.toSeries();
+    }
+
+    @Benchmark
+    public double decodeIntoIndicator() {
+        StreamingEMAIndicator ema = new StreamingEMAIndicator(20);
+        archive.readAll(ema::update);
+        return ema.getValue();
+    }
+}
@@ -0,0 +1,95 @@
+package com.tradingbot.benchmarks;
+
+import com.tradingbot.data.CandleSeries;
+import com.tradingbot.integration.CandleJsonParser;
+import org.json.JSONArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse throughput of a Gate.io candlestick response, comparing the former org.json path (whole
+ * body as a string, a JSON tree, then row arrays) with the streaming parser. Run with
+ * {@code -prof gc} to compare bytes allocated per response.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CandleJsonBenchmark {
+
+    @Param({"1000"})
+    public int candles;
+
+    private byte[] body;
+    private CandleJsonParser parser;
+    private CandleSeries series;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CandleSeries source = BenchmarkData.tickSeries(candles);
+        // Same layout as the exchange: quoted decimals, followed by fields the parser skips
+        StringBuilder json = new StringBuilder(candles * 128).append('[');
+        for (int i = 0; i < source.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("[\"").append(source.timestamps()[i] / 1000)
+                    .append("\",\"").append(decimal(source.opens()[i]))
+                    .append("\",\"").append(decimal(source.highs()[i]))
+                    .append("\",\"").append(decimal(source.lows()[i]))
+                    .append("\",\"").append(decimal(source.closes()[i]))
+                    .append("\",\"").append(decimal(source.volumes()[i]))
+                    .append("\",\"").append(decimal(source.volumes()[i] * source.closes()[i]))
+                    .append("\",\"true\"]");
+        }
+        body = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        parser = new CandleJsonParser();
+        series = new CandleSeries(candles);
+    }
+
+    private static String decimal(double value) {
+        return BigDecimal.valueOf(value).toPlainString();
+    }
+
+    @Benchmark
+    public List<double[]> orgJsonRows() {
+        JSONArray jsonArray = new JSONArray(new String(body, StandardCharsets.UTF_8));
+        List<double[]> ohlcvData = new ArrayList<>();
+        for (int i = 0; i < jsonArray.length(); i++) {
+            JSONArray candle = jsonArray.getJSONArray(i);
+            double[] ohlcv = new double[6];
+            ohlcv[0] = candle.getLong(0);
+            ohlcv[1] = candle.getDouble(1);
+            ohlcv[2] = candle.getDouble(2);
+            ohlcv[3] = candle.getDouble(3);
+            ohlcv[4] = candle.getDouble(4);
+            ohlcv[5] = candle.getDouble(5);
+            ohlcvData.add(ohlcv);
+        }
+        return ohlcvData;
+    }
+
+    @Benchmark
+    public List<double[]> streamingRows() throws IOException {
+        List<double[]> ohlcvData = new ArrayList<>();
+        parser.parse(new ByteArrayInputStream(body), (timestamp, open, high, low, close, volume) ->
+                ohlcvData.add(new double[]{timestamp / 1000, open, high, low, close, volume}));
+        return ohlcvData;
+    }
+
+    @Benchmark
+    public CandleSeries streamingToSeries() throws IOException {
+        series.clear();
+        parser.parse(new ByteArrayInputStream(body), series::add);
+        return series;
+    }
+}
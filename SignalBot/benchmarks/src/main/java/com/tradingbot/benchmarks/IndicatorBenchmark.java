@@ -0,0 +1,196 @@
+package com.tradingbot.benchmarks;
+
+import com.tradingbot.data.CandleSeries;
+import com.tradingbot.indicators.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-history throughput of every batch indicator in com.tradingbot.indicators.
+ * The *Into benchmarks write into preallocated buffers and should report no allocation
+ * under the gc profiler. Forks enable the Vector API kernels; pass
+ * {@code -jvmArgsAppend -Dsignalbot.vector.disabled=true} to measure the scalar fallback.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class IndicatorBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int bars;
+
+    private CandleSeries series;
+    private double[] rsiValues;
+    private double[] out;
+    private double[][] threeLines;
+    private double[][] fiveLines;
+    private IndicatorWorkspace workspace;
+    private IndicatorGraph graph;
+    private IndicatorValues graphValues;
+
+    private static final int[] RSI_PERIODS = range(5, 50);
+    private static final int[] BOLLINGER_PERIODS = range(10, 60);
+
+    private final EMAIndicator ema = new EMAIndicator(20);
+    private final RSIIndicator rsi = new RSIIndicator(14);
+    private final MACDIndicator macd = new MACDIndicator(12, 26, 9);
+    private final BollingerBandsIndicator bollinger = new BollingerBandsIndicator(20, 2.0);
+    private final ADXIndicator adx = new ADXIndicator(14);
+    private final MFIIndicator mfi = new MFIIndicator(14);
+    private final VWAPIndicator vwap = new VWAPIndicator();
+    private final MomentumIndicator momentum = new MomentumIndicator(10);
+    private final IchimokuIndicator ichimoku = new IchimokuIndicator(9, 26, 52, 26);
+    private final StochasticRSIIndicator stochasticRsi = new StochasticRSIIndicator(14);
+
+    private static int[] range(int from, int to) {
+        int[] periods = new int[to - from + 1];
+        for (int i = 0; i < periods.length; i++) {
+            periods[i] = from + i;
+        }
+        return periods;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        series = BenchmarkData.series(bars);
+        rsiValues = rsi.calculate(series);
+        out = new double[bars];
+        threeLines = new double[3][bars];
+        fiveLines = new double[5][bars];
+        workspace = new IndicatorWorkspace();
+
+        graph = new IndicatorGraph();
+        graph.require(IndicatorKey.rsi(14));
+        graph.require(IndicatorKey.macd(12, 26, 9));
+        graph.require(IndicatorKey.bollingerBands(20, 2.0));
+        graph.require(IndicatorKey.bollingerBands(20, 2.5));
+        graph.require(IndicatorKey.stochasticRsi(14, 14));
+        graph.require(IndicatorKey.adx(14));
+        graph.require(IndicatorKey.mfi(14));
+        graph.require(IndicatorKey.vwap());
+        graphValues = graph.newValues();
+    }
+
+    @Benchmark
+    public double[] ema() {
+        return ema.calculate(series);
+    }
+
+    @Benchmark
+    public double[] emaInto() {
+        return ema.calculate(series, out);
+    }
+
+    @Benchmark
+    public double[] rsi() {
+        return rsi.calculate(series);
+    }
+
+    @Benchmark
+    public double[][] macd() {
+        return macd.calculate(series);
+    }
+
+    @Benchmark
+    public double[][] macdInto() {
+        return macd.calculate(series, threeLines);
+    }
+
+    @Benchmark
+    public double[][] bollingerBands() {
+        return bollinger.calculate(series);
+    }
+
+    @Benchmark
+    public double[][] bollingerBandsInto() {
+        return bollinger.calculate(series, threeLines);
+    }
+
+    @Benchmark
+    public double[] adx() {
+        return adx.calculate(series);
+    }
+
+    @Benchmark
+    public double[] adxInto() {
+        return adx.calculate(series, out, workspace);
+    }
+
+    @Benchmark
+    public double[] mfi() {
+        return mfi.calculate(series);
+    }
+
+    @Benchmark
+    public double[] vwap() {
+        return vwap.calculate(series);
+    }
+
+    @Benchmark
+    public double[] momentum() {
+        return momentum.calculate(series);
+    }
+
+    @Benchmark
+    public double[][] ichimoku() {
+        return ichimoku.calculate(series);
+    }
+
+    @Benchmark
+    public double[][] ichimokuInto() {
+        return ichimoku.calculate(series, fiveLines, workspace);
+    }
+
+    @Benchmark
+    public double[] stochasticRsi() {
+        return stochasticRsi.calculate(rsiValues);
+    }
+
+    @Benchmark
+    public double[] slidingWindowMax() {
+        SlidingWindowExtremum.max(series.highs(), bars, 52, out);
+        return out;
+    }
+
+    @Benchmark
+    public IndicatorValues graph() {
+        return graph.evaluate(series);
+    }
+
+    @Benchmark
+    public IndicatorValues graphReused() {
+        return graph.evaluate(series, graphValues);
+    }
+
+    @Benchmark
+    public double[][] rsiSweep() {
+        return RSIIndicator.sweep(series, RSI_PERIODS);
+    }
+
+    @Benchmark
+    public double[][] rsiPerPeriod() {
+        double[][] rsiValues = new double[RSI_PERIODS.length][];
+        for (int k = 0; k < RSI_PERIODS.length; k++) {
+            rsiValues[k] = new RSIIndicator(RSI_PERIODS[k]).calculate(series);
+        }
+        return rsiValues;
+    }
+
+    @Benchmark
+    public double[][][] bollingerBandsSweep() {
+        return BollingerBandsIndicator.sweep(series, 2.0, BOLLINGER_PERIODS);
+    }
+
+    @Benchmark
+    public double[][][] bollingerBandsPerPeriod() {
+        double[][][] bands = new double[BOLLINGER_PERIODS.length][][];
+        for (int k = 0; k < BOLLINGER_PERIODS.length; k++) {
+            bands[k] = new BollingerBandsIndicator(BOLLINGER_PERIODS[k], 2.0).calculate(series);
+        }
+        return bands;
+    }
+}
@@ -0,0 +1,65 @@
+package com.tradingbot.benchmarks;
+
+import com.tradingbot.ml.LogisticRegressionModel;
+import com.tradingbot.ml.MLModel;
+import com.tradingbot.ml.NeuralNetworkModel;
+import com.tradingbot.ml.SVMModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inference throughput of the ML models on SignalGenerator-shaped feature vectors,
+ * both one input at a time and as a batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelBenchmark {
+
+    private static final int FEATURES = 6;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"LOGISTIC_REGRESSION", "SVM", "NEURAL_NETWORK"})
+    public String model;
+
+    private MLModel mlModel;
+    private double[] input;
+    private List<double[]> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (model) {
+            case "LOGISTIC_REGRESSION":
+                mlModel = new LogisticRegressionModel(FEATURES, 0.01, 1);
+                break;
+            case "SVM":
+                mlModel = new SVMModel(FEATURES, 0.01, 1, 0.01);
+                break;
+            case "NEURAL_NETWORK":
+                mlModel = new NeuralNetworkModel(FEATURES, 16, 1, 0.01, 1);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown model: " + model);
+        }
+        double[][] features = BenchmarkData.features(BATCH_SIZE, FEATURES);
+        input = features[0];
+        batch = Arrays.asList(features);
+    }
+
+    @Benchmark
+    public double predict() {
+        return mlModel.predict(input);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Double> predictBatch() {
+        return mlModel.predict(batch);
+    }
+}
@@ -0,0 +1,56 @@
+package com.tradingbot.benchmarks;
+
+import com.tradingbot.data.CandleSeries;
+import com.tradingbot.data.OHLCVData;
+import com.tradingbot.ml.LogisticRegressionModel;
+import com.tradingbot.signals.SignalGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of SignalGenerator for both evaluation modes and for the streaming update path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class SignalGeneratorBenchmark {
+
+    private static final String SYMBOL = "BTC_USDT";
+
+    @Param({"1000", "100000", "1000000"})
+    public int bars;
+
+    @Param({"FULL_HISTORY", "LATEST_ONLY"})
+    public SignalGenerator.EvaluationMode mode;
+
+    private CandleSeries series;
+    private SignalGenerator signalGenerator;
+    private OHLCVData latestBar;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        series = BenchmarkData.series(bars);
+        signalGenerator = new SignalGenerator(14, 12, 26, 9, 20, 2.0,
+                new LogisticRegressionModel(6, 0.01, 1), mode);
+
+        // Warm the streaming state; update() then keeps revising the latest bar
+        for (int i = 0; i < bars; i++) {
+            signalGenerator.update(SYMBOL, series.get(i));
+        }
+        latestBar = series.get(bars - 1);
+    }
+
+    @Benchmark
+    public String generateSignal() {
+        return signalGenerator.generateSignal(series);
+    }
+
+    @Benchmark
+    public String update() {
+        return signalGenerator.update(SYMBOL, latestBar);
+    }
+}
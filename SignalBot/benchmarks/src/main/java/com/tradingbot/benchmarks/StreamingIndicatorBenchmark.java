@@ -0,0 +1,99 @@
+package com.tradingbot.benchmarks;
+
+import com.tradingbot.data.CandleSeries;
+import com.tradingbot.indicators.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of feeding a whole series through each streaming indicator, one bar at a time,
+ * and of revising the latest bar of an already warmed-up indicator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamingIndicatorBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int bars;
+
+    private CandleSeries series;
+    private StreamingMACDIndicator warmMacd;
+    private double lastClose;
+    private long revision;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        series = BenchmarkData.series(bars);
+        warmMacd = new StreamingMACDIndicator(12, 26, 9);
+        warmMacd.seed(series);
+        lastClose = series.getClose(bars - 1);
+    }
+
+    private double feed(StreamingIndicator indicator) {
+        indicator.seed(series);
+        return indicator.getValue();
+    }
+
+    @Benchmark
+    public double ema() {
+        return feed(new StreamingEMAIndicator(20));
+    }
+
+    @Benchmark
+    public double rsi() {
+        return feed(new StreamingRSIIndicator(14));
+    }
+
+    @Benchmark
+    public double macd() {
+        return feed(new StreamingMACDIndicator(12, 26, 9));
+    }
+
+    @Benchmark
+    public double bollingerBands() {
+        return feed(new StreamingBollingerBandsIndicator(20, 2.0));
+    }
+
+    @Benchmark
+    public double adx() {
+        return feed(new StreamingADXIndicator(14));
+    }
+
+    @Benchmark
+    public double vwap() {
+        return feed(new StreamingVWAPIndicator());
+    }
+
+    @Benchmark
+    public double ichimoku() {
+        return feed(new StreamingIchimokuIndicator(9, 26, 52, 26));
+    }
+
+    @Benchmark
+    public double stochasticRsi() {
+        return feed(new StreamingStochasticRSIIndicator(14, 14));
+    }
+
+    @Benchmark
+    public double slidingWindowExtremum() {
+        SlidingWindowExtremum window = new SlidingWindowExtremum(52);
+        double[] high = series.highs();
+        double[] low = series.lows();
+        for (int i = 0; i < bars; i++) {
+            window.add(high[i], low[i]);
+        }
+        return window.getMax() - window.getMin();
+    }
+
+    @Benchmark
+    public double macdReplaceLast() {
+        // Alternate between two revisions so the work cannot be folded away
+        warmMacd.replaceLast(lastClose + (revision++ & 1));
+        return warmMacd.getValue();
+    }
+}
@@ -0,0 +1,208 @@
+package com.tradingbot.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read access to a compressed candle archive written by {@link CandleArchiveWriter}.
+ * <p>
+ * Bars are stored in independently decodable blocks (see {@link CandleBlockCodec}) followed by an
+ * index of each block's time range and position, so a range read decodes only the blocks that
+ * overlap it. Decoding passes bars straight to a {@link CandleSink}, so an archive can feed
+ * streaming indicators or a {@link CandleSeries} without materializing intermediate objects.
+ */
+public class CandleArchive {
+
+    static final int MAGIC = 0x43444c41; // "CDLA"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    private static final int FOOTER_SIZE = 16;
+
+    private final ByteBuffer buffer;
+    private final long[] firstTimestamps;
+    private final long[] lastTimestamps;
+    private final int[] offsets;
+    private final int[] counts;
+    private final long size;
+
+    /**
+     * Constructor for CandleArchive.
+     *
+     * @param buffer The archive contents, from position 0 to the limit.
+     */
+    public CandleArchive(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Buffer cannot be null.");
+        }
+        this.buffer = buffer.duplicate();
+        int limit = this.buffer.limit();
+        if (limit < HEADER_SIZE + FOOTER_SIZE || this.buffer.getInt(0) != MAGIC
+                || this.buffer.getInt(limit - 4) != MAGIC) {
+            throw new IllegalArgumentException("Not a candle archive.");
+        }
+        if (this.buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported candle archive version " + this.buffer.getInt(4) + ".");
+        }
+        long indexOffset = this.buffer.getLong(limit - FOOTER_SIZE);
+        int blockCount = this.buffer.getInt(limit - 8);
+        if (blockCount < 0 || indexOffset < HEADER_SIZE || indexOffset + 32L * blockCount != limit - FOOTER_SIZE) {
+            throw new IllegalArgumentException("Damaged candle archive index.");
+        }
+
+        firstTimestamps = new long[blockCount];
+        lastTimestamps = new long[blockCount];
+        offsets = new int[blockCount];
+        counts = new int[blockCount];
+        long total = 0;
+        for (int i = 0; i < blockCount; i++) {
+            int entry = (int) indexOffset + 32 * i;
+            firstTimestamps[i] = this.buffer.getLong(entry);
+            lastTimestamps[i] = this.buffer.getLong(entry + 8);
+            offsets[i] = (int) this.buffer.getLong(entry + 16);
+            counts[i] = (int) this.buffer.getLong(entry + 24);
+            total += counts[i];
+        }
+        this.size = total;
+    }
+
+    /**
+     * Opens an archive file by mapping it into memory.
+     *
+     * @param file The archive file.
+     * @return The archive.
+     * @throws IOException If the file cannot be read.
+     */
+    public static CandleArchive open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new CandleArchive(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Decodes one block.
+     *
+     * @param block The block index.
+     * @param sink  The consumer of the bars.
+     * @return The number of bars decoded.
+     */
+    public int readBlock(int block, CandleSink sink) {
+        if (block < 0 || block >= offsets.length) {
+            throw new IndexOutOfBoundsException("Block " + block + " out of bounds for " + offsets.length + " blocks");
+        }
+        return CandleBlockCodec.decode(new CandleBlockCodec.BitReader(buffer, offsets[block]), sink);
+    }
+
+    /**
+     * Decodes every bar, oldest first.
+     *
+     * @param sink The consumer of the bars.
+     * @return The number of bars decoded.
+     */
+    public long readAll(CandleSink sink) {
+        long count = 0;
+        for (int block = 0; block < offsets.length; block++) {
+            count += readBlock(block, sink);
+        }
+        return count;
+    }
+
+    /**
+     * Decodes the bars with timestamps in [from, to), decoding only the blocks that overlap the range.
+     *
+     * @param from The first timestamp to include, in epoch milliseconds.
+     * @param to   The first timestamp to exclude, in epoch milliseconds.
+     * @param sink The consumer of the bars.
+     */
+    public void read(long from, long to, CandleSink sink) {
+        CandleSink filter = (timestamp, open, high, low, close, volume) -> {
+            if (timestamp >= from && timestamp < to) {
+                sink.accept(timestamp, open, high, low, close, volume);
+            }
+        };
+        for (int block = findBlock(from); block < offsets.length && firstTimestamps[block] < to; block++) {
+            if (firstTimestamps[block] >= from && lastTimestamps[block] < to) {
+                readBlock(block, sink);
+            } else {
+                readBlock(block, filter);
+            }
+        }
+    }
+
+    /**
+     * Decodes the whole archive into a new candle series.
+     *
+     * @return A series holding every bar.
+     */
+    public CandleSeries toSeries() {
+        CandleSeries series = new CandleSeries((int) Math.min(Integer.MAX_VALUE, size));
+        readAll(series::add);
+        return series;
+    }
+
+    /**
+     * Finds the first block whose last timestamp is at or after a timestamp.
+     */
+    private int findBlock(long timestamp) {
+        int low = 0;
+        int high = lastTimestamps.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lastTimestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the number of bars in the archive.
+     *
+     * @return The number of bars.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of blocks in the archive.
+     *
+     * @return The number of blocks.
+     */
+    public int getBlockCount() {
+        return offsets.length;
+    }
+
+    /**
+     * Gets the timestamp of the first bar of a block.
+     *
+     * @param block The block index.
+     * @return The timestamp in epoch milliseconds.
+     */
+    public long getFirstTimestamp(int block) {
+        return firstTimestamps[block];
+    }
+
+    /**
+     * Gets the timestamp of the last bar of a block.
+     *
+     * @param block The block index.
+     * @return The timestamp in epoch milliseconds.
+     */
+    public long getLastTimestamp(int block) {
+        return lastTimestamps[block];
+    }
+
+    /**
+     * Gets the number of bytes the archive occupies.
+     *
+     * @return The archive size in bytes.
+     */
+    public long getByteSize() {
+        return buffer.limit();
+    }
+}
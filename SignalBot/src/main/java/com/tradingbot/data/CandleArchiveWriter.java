@@ -0,0 +1,194 @@
+package com.tradingbot.data;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Writes bars to the compressed {@link CandleArchive} format.
+ * Bars are buffered into blocks, each block is compressed once full, and the block index is
+ * written when the writer is closed.
+ */
+public class CandleArchiveWriter implements CandleSink, Closeable {
+
+    /** The default number of bars per block. */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private final DataOutputStream out;
+    private final int blockSize;
+    private final CandleBlockCodec.BitWriter bits = new CandleBlockCodec.BitWriter();
+
+    // The block being filled
+    private final long[] timestamps;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private int pending;
+
+    // Block index: first and last timestamp, byte offset and bar count per block
+    private long[] index = new long[4 * 64];
+    private int blockCount;
+    private long offset;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private boolean closed;
+
+    /**
+     * Constructor for a CandleArchiveWriter with the default block size.
+     *
+     * @param out The stream to write the archive to; closed with the writer.
+     */
+    public CandleArchiveWriter(OutputStream out) {
+        this(out, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructor for CandleArchiveWriter.
+     *
+     * @param out       The stream to write the archive to; closed with the writer.
+     * @param blockSize The number of bars per block. Larger blocks compress slightly better,
+     *                  smaller blocks make range reads decode less.
+     */
+    public CandleArchiveWriter(OutputStream out, int blockSize) {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream cannot be null.");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be greater than 0.");
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        this.blockSize = blockSize;
+        this.timestamps = new long[blockSize];
+        this.open = new double[blockSize];
+        this.high = new double[blockSize];
+        this.low = new double[blockSize];
+        this.close = new double[blockSize];
+        this.volume = new double[blockSize];
+        try {
+            this.out.writeInt(CandleArchive.MAGIC);
+            this.out.writeInt(CandleArchive.FORMAT_VERSION);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write candle archive header", e);
+        }
+        this.offset = CandleArchive.HEADER_SIZE;
+    }
+
+    /**
+     * Writes a whole candle series to a new archive file.
+     *
+     * @param series The bars, in ascending time order.
+     * @param file   The archive file; replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(CandleSeries series, Path file) throws IOException {
+        try (CandleArchiveWriter writer = new CandleArchiveWriter(Files.newOutputStream(file))) {
+            writer.append(series);
+        }
+    }
+
+    /**
+     * Appends a bar. Bars must arrive in ascending time order.
+     *
+     * @param timestamp The bar timestamp in epoch milliseconds.
+     * @param open      The opening price.
+     * @param high      The highest price.
+     * @param low       The lowest price.
+     * @param close     The closing price.
+     * @param volume    The trading volume.
+     */
+    @Override
+    public void accept(long timestamp, double open, double high, double low, double close, double volume) {
+        if (closed) {
+            throw new IllegalStateException("Candle archive writer is closed.");
+        }
+        if (timestamp <= lastTimestamp) {
+            throw new IllegalArgumentException("Bars must be written in ascending time order.");
+        }
+        lastTimestamp = timestamp;
+        this.timestamps[pending] = timestamp;
+        this.open[pending] = open;
+        this.high[pending] = high;
+        this.low[pending] = low;
+        this.close[pending] = close;
+        this.volume[pending] = volume;
+        if (++pending == blockSize) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Appends every bar of a candle series.
+     *
+     * @param series The bars, in ascending time order.
+     */
+    public void append(CandleSeries series) {
+        long[] timestamps = series.timestamps();
+        double[] open = series.opens();
+        double[] high = series.highs();
+        double[] low = series.lows();
+        double[] close = series.closes();
+        double[] volume = series.volumes();
+        for (int i = 0; i < series.size(); i++) {
+            accept(timestamps[i], open[i], high[i], low[i], close[i], volume[i]);
+        }
+    }
+
+    private void writeBlock() {
+        if (pending == 0) {
+            return;
+        }
+        bits.reset();
+        CandleBlockCodec.encode(timestamps, open, high, low, close, volume, 0, pending, bits);
+        if (4 * (blockCount + 1) > index.length) {
+            index = Arrays.copyOf(index, index.length * 2);
+        }
+        index[4 * blockCount] = timestamps[0];
+        index[4 * blockCount + 1] = timestamps[pending - 1];
+        index[4 * blockCount + 2] = offset;
+        index[4 * blockCount + 3] = pending;
+        blockCount++;
+        try {
+            for (int i = 0; i < bits.wordCount(); i++) {
+                out.writeLong(bits.word(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write candle archive block", e);
+        }
+        offset += 8L * bits.wordCount();
+        pending = 0;
+    }
+
+    /**
+     * Writes the last partial block and the block index, then closes the stream.
+     *
+     * @throws IOException If the archive cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            writeBlock();
+            closed = true;
+            for (int i = 0; i < 4 * blockCount; i++) {
+                out.writeLong(index[i]);
+            }
+            out.writeLong(offset);
+            out.writeInt(blockCount);
+            out.writeInt(CandleArchive.MAGIC);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.tradingbot.data;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Bit-level encoding of one block of bars for {@link CandleArchive}.
+ * <p>
+ * Timestamps are stored as delta-of-deltas, so a regular interval costs one bit per bar. Each price
+ * is stored as its difference from a prediction: the open from the previous close, the close from
+ * the open, the high from max(open, close) and the low from min(open, close); the volume is
+ * predicted by the previous volume. When every price of the block is an exact decimal with at most
+ * {@link #MAX_SCALE} digits the differences are taken between scaled integers, otherwise between
+ * the raw bits of the doubles with Gorilla XOR encoding. Both forms are lossless.
+ */
+final class CandleBlockCodec {
+
+    static final int MAX_SCALE = 12;
+    private static final int XOR_MODE = 15;
+    private static final double[] POW10 = new double[MAX_SCALE + 1];
+    private static final long MAX_EXACT = 1L << 53;
+
+    // Residual columns
+    private static final int COLUMNS = 6;
+    private static final int TIMESTAMP = 0;
+    private static final int OPEN = 1;
+    private static final int CLOSE = 2;
+    private static final int HIGH = 3;
+    private static final int LOW = 4;
+    private static final int VOLUME = 5;
+
+    static {
+        for (int i = 0; i <= MAX_SCALE; i++) {
+            POW10[i] = Math.pow(10, i);
+        }
+    }
+
+    private CandleBlockCodec() {
+    }
+
+    /**
+     * Encodes bars [from, from + count) of the given columns as one block.
+     */
+    static void encode(long[] timestamps, double[] open, double[] high, double[] low, double[] close,
+                       double[] volume, int from, int count, BitWriter out) {
+        int priceScale = decimalScale(from, count, open, high, low, close);
+        int volumeScale = decimalScale(from, count, volume);
+
+        // Integer residuals of every column, so each column can get the code width that suits it
+        long[][] residuals = new long[COLUMNS][count];
+        long previousDelta = 0;
+        for (int i = 1; i < count; i++) {
+            long delta = timestamps[from + i] - timestamps[from + i - 1];
+            residuals[TIMESTAMP][i] = zigzag(delta - previousDelta);
+            previousDelta = delta;
+        }
+        if (priceScale != XOR_MODE) {
+            double factor = POW10[priceScale];
+            long previousClose = 0;
+            for (int i = 0; i < count; i++) {
+                long o = (long) Math.rint(open[from + i] * factor);
+                long c = (long) Math.rint(close[from + i] * factor);
+                residuals[OPEN][i] = zigzag(o - previousClose);
+                residuals[CLOSE][i] = zigzag(c - o);
+                residuals[HIGH][i] = (long) Math.rint(high[from + i] * factor) - Math.max(o, c);
+                residuals[LOW][i] = Math.min(o, c) - (long) Math.rint(low[from + i] * factor);
+                previousClose = c;
+            }
+        }
+        if (volumeScale != XOR_MODE) {
+            double factor = POW10[volumeScale];
+            long previousVolume = 0;
+            for (int i = 0; i < count; i++) {
+                long v = (long) Math.rint(volume[from + i] * factor);
+                residuals[VOLUME][i] = zigzag(v - previousVolume);
+                previousVolume = v;
+            }
+        }
+        int[] widths = new int[COLUMNS];
+        for (int column = 0; column < COLUMNS; column++) {
+            widths[column] = codeWidth(residuals[column], count);
+        }
+
+        out.write(count, 32);
+        out.write(priceScale, 4);
+        out.write(volumeScale, 4);
+        for (int width : widths) {
+            out.write(width - 1, 6);
+        }
+        out.write(timestamps[from], 64);
+
+        XorState openXor = new XorState();
+        XorState closeXor = new XorState();
+        XorState highXor = new XorState();
+        XorState lowXor = new XorState();
+        XorState volumeXor = new XorState();
+        long previousClose = 0;
+        long previousVolume = 0;
+        for (int i = 0; i < count; i++) {
+            int bar = from + i;
+            if (i > 0) {
+                out.writeCoded(residuals[TIMESTAMP][i], widths[TIMESTAMP]);
+            }
+            if (priceScale == XOR_MODE) {
+                long o = Double.doubleToRawLongBits(open[bar]);
+                long c = Double.doubleToRawLongBits(close[bar]);
+                out.writeXor(o ^ previousClose, openXor);
+                out.writeXor(c ^ o, closeXor);
+                out.writeXor(Double.doubleToRawLongBits(high[bar]) ^ Double.doubleToRawLongBits(Math.max(open[bar], close[bar])), highXor);
+                out.writeXor(Double.doubleToRawLongBits(low[bar]) ^ Double.doubleToRawLongBits(Math.min(open[bar], close[bar])), lowXor);
+                previousClose = c;
+            } else {
+                for (int column = OPEN; column <= LOW; column++) {
+                    out.writeCoded(residuals[column][i], widths[column]);
+                }
+            }
+            if (volumeScale == XOR_MODE) {
+                long v = Double.doubleToRawLongBits(volume[bar]);
+                out.writeXor(v ^ previousVolume, volumeXor);
+                previousVolume = v;
+            } else {
+                out.writeCoded(residuals[VOLUME][i], widths[VOLUME]);
+            }
+        }
+        out.alignToWord();
+    }
+
+    /**
+     * Decodes one block, passing each bar to the sink in order.
+     *
+     * @return The number of bars in the block.
+     */
+    static int decode(BitReader in, CandleSink sink) {
+        int count = (int) in.read(32);
+        int priceScale = (int) in.read(4);
+        int volumeScale = (int) in.read(4);
+        int timestampWidth = (int) in.read(6) + 1;
+        int openWidth = (int) in.read(6) + 1;
+        int closeWidth = (int) in.read(6) + 1;
+        int highWidth = (int) in.read(6) + 1;
+        int lowWidth = (int) in.read(6) + 1;
+        int volumeWidth = (int) in.read(6) + 1;
+        long timestamp = in.read(64);
+
+        long delta = 0;
+        XorState openXor = new XorState();
+        XorState closeXor = new XorState();
+        XorState highXor = new XorState();
+        XorState lowXor = new XorState();
+        XorState volumeXor = new XorState();
+        long previousClose = 0;
+        long previousVolume = 0;
+        double priceDivisor = priceScale == XOR_MODE ? 1 : POW10[priceScale];
+        double volumeDivisor = volumeScale == XOR_MODE ? 1 : POW10[volumeScale];
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                delta += unzigzag(in.readCoded(timestampWidth));
+                timestamp += delta;
+            }
+
+            double open;
+            double high;
+            double low;
+            double close;
+            if (priceScale == XOR_MODE) {
+                long o = in.readXor(openXor) ^ previousClose;
+                long c = in.readXor(closeXor) ^ o;
+                open = Double.longBitsToDouble(o);
+                close = Double.longBitsToDouble(c);
+                high = Double.longBitsToDouble(in.readXor(highXor) ^ Double.doubleToRawLongBits(Math.max(open, close)));
+                low = Double.longBitsToDouble(in.readXor(lowXor) ^ Double.doubleToRawLongBits(Math.min(open, close)));
+                previousClose = c;
+            } else {
+                long o = previousClose + unzigzag(in.readCoded(openWidth));
+                long c = o + unzigzag(in.readCoded(closeWidth));
+                long h = Math.max(o, c) + in.readCoded(highWidth);
+                long l = Math.min(o, c) - in.readCoded(lowWidth);
+                open = o / priceDivisor;
+                close = c / priceDivisor;
+                high = h / priceDivisor;
+                low = l / priceDivisor;
+                previousClose = c;
+            }
+
+            double volume;
+            if (volumeScale == XOR_MODE) {
+                long v = in.readXor(volumeXor) ^ previousVolume;
+                volume = Double.longBitsToDouble(v);
+                previousVolume = v;
+            } else {
+                long v = previousVolume + unzigzag(in.readCoded(volumeWidth));
+                volume = v / volumeDivisor;
+                previousVolume = v;
+            }
+            sink.accept(timestamp, open, high, low, close, volume);
+        }
+        in.alignToWord();
+        return count;
+    }
+
+    /**
+     * Picks the payload width of the code written by {@link BitWriter#writeCoded} that minimizes
+     * the encoded size of a column.
+     */
+    private static int codeWidth(long[] values, int count) {
+        // Number of values per significant bit length; zeros always cost one bit
+        int[] lengths = new int[65];
+        for (int i = 0; i < count; i++) {
+            lengths[64 - Long.numberOfLeadingZeros(values[i])]++;
+        }
+        int best = 64;
+        long bestCost = Long.MAX_VALUE;
+        long fitting = 0;
+        for (int width = 1; width <= 64; width++) {
+            fitting += lengths[width];
+            long escaped = count - lengths[0] - fitting;
+            long cost = fitting * (2 + width) + escaped * (2 + 64);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = width;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the smallest number of decimal digits that represents every value exactly as a scaled
+     * integer, or {@link #XOR_MODE} if there is none.
+     */
+    private static int decimalScale(int from, int count, double[]... columns) {
+        for (int scale = 0; scale <= MAX_SCALE; scale++) {
+            if (fitsScale(scale, from, count, columns)) {
+                return scale;
+            }
+        }
+        return XOR_MODE;
+    }
+
+    private static boolean fitsScale(int scale, int from, int count, double[]... columns) {
+        double factor = POW10[scale];
+        for (double[] column : columns) {
+            for (int i = from; i < from + count; i++) {
+                double value = column[i];
+                double scaled = Math.rint(value * factor);
+                // Mirror the decoder, which divides the integer by the same factor, and require the exact bits back
+                if (!(Math.abs(scaled) < MAX_EXACT)
+                        || Double.doubleToRawLongBits((long) scaled / factor) != Double.doubleToRawLongBits(value)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Leading and trailing zero counts of the previous XOR value of one column.
+     */
+    static final class XorState {
+        private int leading = -1;
+        private int trailing;
+    }
+
+    /**
+     * Appends bits to a growable array of 64-bit words, most significant bit first.
+     */
+    static final class BitWriter {
+        private long[] words = new long[1024];
+        private long position;
+
+        void write(long value, int bits) {
+            int index = (int) (position >>> 6);
+            int free = 64 - (int) (position & 63);
+            if (index + 1 >= words.length) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+            if (bits < 64) {
+                value &= (1L << bits) - 1;
+            }
+            if (bits <= free) {
+                words[index] |= value << (free - bits);
+            } else {
+                words[index] |= value >>> (bits - free);
+                words[index + 1] |= value << (64 - (bits - free));
+            }
+            position += bits;
+        }
+
+        /**
+         * Writes an unsigned value as '0' if it is zero, '10' followed by width bits if it fits
+         * in width bits, or '11' followed by all 64 bits otherwise.
+         */
+        void writeCoded(long value, int width) {
+            if (value == 0) {
+                write(0, 1);
+            } else if (width == 64 || value >>> width == 0) {
+                write(0b10, 2);
+                write(value, width);
+            } else {
+                write(0b11, 2);
+                write(value, 64);
+            }
+        }
+
+        void writeXor(long xor, XorState state) {
+            if (xor == 0) {
+                write(0, 1);
+                return;
+            }
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (state.leading >= 0 && leading >= state.leading && trailing >= state.trailing) {
+                // The meaningful bits fit in the previous window
+                write(0b10, 2);
+                write(xor >>> state.trailing, 64 - state.leading - state.trailing);
+            } else {
+                int significant = 64 - leading - trailing;
+                write(0b11, 2);
+                write(leading, 5);
+                write(significant - 1, 6);
+                write(xor >>> trailing, significant);
+                state.leading = leading;
+                state.trailing = trailing;
+            }
+        }
+
+        void alignToWord() {
+            position = (position + 63) & ~63L;
+        }
+
+        int wordCount() {
+            return (int) (position >>> 6);
+        }
+
+        long word(int index) {
+            return words[index];
+        }
+
+        void reset() {
+            Arrays.fill(words, 0, Math.min(words.length, wordCount() + 1), 0);
+            position = 0;
+        }
+    }
+
+    /**
+     * Reads bits from a buffer, most significant bit first. Every read loads the unaligned 64-bit
+     * word at the current byte, so at least 57 bits are available without tracking a refill state;
+     * the archive always has an index after the last block, so such loads never run past the buffer.
+     */
+    static final class BitReader {
+        private final ByteBuffer buffer;
+        private long position;
+
+        BitReader(ByteBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.position = 8L * offset;
+        }
+
+        /**
+         * Gets the next bits left-aligned in a long without consuming them; at least 57 are valid.
+         */
+        private long peek() {
+            return buffer.getLong((int) (position >>> 3)) << (position & 7);
+        }
+
+        long read(int bits) {
+            if (bits > 56) {
+                long high = read(bits - 32);
+                return (high << 32) | read(32);
+            }
+            if (bits == 0) {
+                return 0;
+            }
+            long value = peek() >>> (64 - bits);
+            position += bits;
+            return value;
+        }
+
+        long readCoded(int width) {
+            long window = peek();
+            if (window >= 0) {
+                position++;
+                return 0;
+            }
+            if (window << 1 < 0) {
+                position += 2;
+                return read(64);
+            }
+            if (width > 55) {
+                // The prefix and payload do not fit in the guaranteed 57 bits of one peek
+                position += 2;
+                return read(width);
+            }
+            position += 2 + width;
+            return (window << 2) >>> (64 - width);
+        }
+
+        long readXor(XorState state) {
+            long window = peek();
+            if (window >= 0) {
+                position++;
+                return 0;
+            }
+            if (window << 1 >= 0) {
+                position += 2;
+                return read(64 - state.leading - state.trailing) << state.trailing;
+            }
+            int leading = (int) ((window << 2) >>> 59);
+            int significant = (int) ((window << 7) >>> 58) + 1;
+            position += 13;
+            state.leading = leading;
+            state.trailing = 64 - leading - significant;
+            return read(significant) << state.trailing;
+        }
+
+        void alignToWord() {
+            position = (position + 63) & ~63L;
+        }
+    }
+}
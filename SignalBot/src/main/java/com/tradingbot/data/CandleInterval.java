@@ -0,0 +1,85 @@
+package com.tradingbot.data;
+
+/**
+ * Fixed-length candle intervals supported by Gate.io, with their API codes and lengths.
+ * Bars are aligned to multiples of the interval length since the Unix epoch.
+ */
+public enum CandleInterval {
+
+    SECONDS_10("10s", 10_000L),
+    MINUTES_1("1m", 60_000L),
+    MINUTES_5("5m", 5 * 60_000L),
+    MINUTES_15("15m", 15 * 60_000L),
+    MINUTES_30("30m", 30 * 60_000L),
+    HOURS_1("1h", 60 * 60_000L),
+    HOURS_4("4h", 4 * 60 * 60_000L),
+    HOURS_8("8h", 8 * 60 * 60_000L),
+    DAYS_1("1d", 24 * 60 * 60_000L),
+    DAYS_7("7d", 7 * 24 * 60 * 60_000L);
+
+    private final String code;
+    private final long millis;
+
+    CandleInterval(String code, long millis) {
+        this.code = code;
+        this.millis = millis;
+    }
+
+    /**
+     * Looks up an interval by its API code.
+     *
+     * @param code The interval code (e.g., "1m", "4h").
+     * @return The matching interval.
+     */
+    public static CandleInterval fromCode(String code) {
+        for (CandleInterval interval : values()) {
+            if (interval.code.equals(code)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported candle interval: " + code);
+    }
+
+    /**
+     * Gets the start of the bar that contains a timestamp.
+     *
+     * @param timestamp The timestamp in epoch milliseconds.
+     * @return The opening timestamp of the enclosing bar in epoch milliseconds.
+     */
+    public long barStart(long timestamp) {
+        return Math.floorDiv(timestamp, millis) * millis;
+    }
+
+    /**
+     * Checks whether bars of this interval are made of a whole number of bars of another interval.
+     *
+     * @param other The finer interval.
+     * @return true if this interval is a multiple of the other, false otherwise.
+     */
+    public boolean isMultipleOf(CandleInterval other) {
+        return millis % other.millis == 0;
+    }
+
+    /**
+     * Gets the API code of the interval.
+     *
+     * @return The interval code (e.g., "1m").
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the length of the interval.
+     *
+     * @return The interval length in milliseconds.
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,306 @@
+package com.tradingbot.data;
+
+/**
+ * Aggregates bars of one interval into bars of a coarser interval, e.g. 1m candles into 5m or 1h candles.
+ * <p>
+ * Aggregated bars open at the first source bar, close at the last one, take the highest high and
+ * lowest low and sum the volume. A bar is emitted as soon as the source bar that completes it
+ * arrives, or, when that source bar is missing, once a source bar of a later period arrives.
+ * Periods without any source bar are skipped or filled according to the {@link GapPolicy}.
+ * When the first source bar falls partway into its period, the bars before it are unknown, so
+ * that leading bar is dropped rather than emitted as if it were complete.
+ * <p>
+ * The streaming form does O(1) work and no allocation per source bar; the static
+ * {@code resample} methods aggregate a whole candle series in one pass.
+ */
+public class CandleResampler implements CandleSink {
+
+    /**
+     * How target periods without any source bar are handled.
+     */
+    public enum GapPolicy {
+        /** Emit nothing for empty periods. */
+        SKIP,
+        /** Emit a flat bar at the previous close with zero volume for each empty period. */
+        FILL
+    }
+
+    private final CandleInterval sourceInterval;
+    private final CandleInterval targetInterval;
+    private final GapPolicy gapPolicy;
+    private final CandleSink sink;
+
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    // The bar still being aggregated
+    private boolean forming;
+    // Whether the forming bar started partway into its period with the first source bar
+    private boolean partial;
+    private long start;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+
+    // Start and close of the last emitted bar, used to fill gaps
+    private long lastStart = Long.MIN_VALUE;
+    private double lastClose;
+
+    /**
+     * Constructor for a CandleResampler that skips empty periods.
+     *
+     * @param sourceInterval The interval of the incoming bars.
+     * @param targetInterval The interval to aggregate to; must be a multiple of the source interval.
+     * @param sink           The consumer of aggregated bars.
+     */
+    public CandleResampler(CandleInterval sourceInterval, CandleInterval targetInterval, CandleSink sink) {
+        this(sourceInterval, targetInterval, GapPolicy.SKIP, sink);
+    }
+
+    /**
+     * Constructor for CandleResampler.
+     *
+     * @param sourceInterval The interval of the incoming bars.
+     * @param targetInterval The interval to aggregate to; must be a multiple of the source interval.
+     * @param gapPolicy      How periods without any source bar are handled.
+     * @param sink           The consumer of aggregated bars.
+     */
+    public CandleResampler(CandleInterval sourceInterval, CandleInterval targetInterval, GapPolicy gapPolicy, CandleSink sink) {
+        checkIntervals(sourceInterval, targetInterval);
+        if (gapPolicy == null || sink == null) {
+            throw new IllegalArgumentException("Gap policy and sink cannot be null.");
+        }
+        this.sourceInterval = sourceInterval;
+        this.targetInterval = targetInterval;
+        this.gapPolicy = gapPolicy;
+        this.sink = sink;
+    }
+
+    /**
+     * Feeds a closed source bar. Bars must arrive in ascending time order.
+     *
+     * @param timestamp The bar timestamp in epoch milliseconds.
+     * @param open      The opening price.
+     * @param high      The highest price.
+     * @param low       The lowest price.
+     * @param close     The closing price.
+     * @param volume    The trading volume.
+     */
+    @Override
+    public void accept(long timestamp, double open, double high, double low, double close, double volume) {
+        if (timestamp <= lastTimestamp) {
+            throw new IllegalArgumentException("Source bars must be fed in ascending time order.");
+        }
+        boolean first = lastTimestamp == Long.MIN_VALUE;
+        lastTimestamp = timestamp;
+
+        long barStart = targetInterval.barStart(timestamp);
+        if (forming && barStart != start) {
+            // The source bar that would have completed the forming bar is missing
+            emit();
+        }
+        if (!forming) {
+            fillGap(barStart);
+            forming = true;
+            partial = first && timestamp != barStart;
+            this.start = barStart;
+            this.open = open;
+            this.high = high;
+            this.low = low;
+            this.close = close;
+            this.volume = volume;
+        } else {
+            this.high = Math.max(this.high, high);
+            this.low = Math.min(this.low, low);
+            this.close = close;
+            this.volume += volume;
+        }
+        if (timestamp + sourceInterval.getMillis() >= start + targetInterval.getMillis()) {
+            emit();
+        }
+    }
+
+    /**
+     * Feeds a closed source bar.
+     *
+     * @param candle The OHLCV bar.
+     */
+    public void accept(OHLCVData candle) {
+        accept(candle.getTimestamp().toEpochMilli(), candle.getOpen(), candle.getHigh(),
+                candle.getLow(), candle.getClose(), candle.getVolume());
+    }
+
+    /**
+     * Emits the forming bar even though its period has not been completed, e.g. at the end of a
+     * replay. Later source bars of the same period start a new bar. A leading bar that started
+     * partway into its period is discarded instead.
+     *
+     * @return true if a bar was emitted, false if no bar was forming or it was discarded.
+     */
+    public boolean flush() {
+        if (!forming) {
+            return false;
+        }
+        boolean emitted = !partial;
+        emit();
+        return emitted;
+    }
+
+    /**
+     * Checks whether source bars of an incomplete period are waiting to be emitted.
+     *
+     * @return true if a bar is forming, false otherwise.
+     */
+    public boolean hasFormingBar() {
+        return forming;
+    }
+
+    /**
+     * Discards the forming bar and all history, so the resampler can be fed from the start again.
+     */
+    public void reset() {
+        forming = false;
+        lastTimestamp = Long.MIN_VALUE;
+        lastStart = Long.MIN_VALUE;
+    }
+
+    /**
+     * Gets the interval of the incoming bars.
+     *
+     * @return The source interval.
+     */
+    public CandleInterval getSourceInterval() {
+        return sourceInterval;
+    }
+
+    /**
+     * Gets the interval of the aggregated bars.
+     *
+     * @return The target interval.
+     */
+    public CandleInterval getTargetInterval() {
+        return targetInterval;
+    }
+
+    private void fillGap(long barStart) {
+        if (gapPolicy != GapPolicy.FILL || lastStart == Long.MIN_VALUE) {
+            return;
+        }
+        long step = targetInterval.getMillis();
+        for (long t = lastStart + step; t < barStart; t += step) {
+            sink.accept(t, lastClose, lastClose, lastClose, lastClose, 0);
+        }
+    }
+
+    private void emit() {
+        forming = false;
+        if (partial) {
+            partial = false;
+            return; // Incomplete leading bar; gaps are filled only after the first complete one
+        }
+        lastStart = start;
+        lastClose = close;
+        sink.accept(start, open, high, low, close, volume);
+    }
+
+    /**
+     * Aggregates a candle series, skipping empty periods. A leading period the series starts
+     * partway into and a trailing period that is not complete yet are left out.
+     *
+     * @param series         The source bars, in ascending time order.
+     * @param sourceInterval The interval of the source bars.
+     * @param targetInterval The interval to aggregate to; must be a multiple of the source interval.
+     * @return A new series holding the aggregated bars.
+     */
+    public static CandleSeries resample(CandleSeries series, CandleInterval sourceInterval, CandleInterval targetInterval) {
+        checkIntervals(sourceInterval, targetInterval);
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null.");
+        }
+        long ratio = targetInterval.getMillis() / sourceInterval.getMillis();
+        CandleSeries result = new CandleSeries((int) Math.min(Integer.MAX_VALUE, series.size() / ratio + 1));
+        resample(series, sourceInterval, targetInterval, GapPolicy.SKIP, result::add);
+        return result;
+    }
+
+    /**
+     * Aggregates a candle series in one pass over its columns, producing the same bars as feeding
+     * it through a streaming resampler. A leading period the series starts partway into and a
+     * trailing period that is not complete yet are left out.
+     *
+     * @param series         The source bars, in ascending time order.
+     * @param sourceInterval The interval of the source bars.
+     * @param targetInterval The interval to aggregate to; must be a multiple of the source interval.
+     * @param gapPolicy      How periods without any source bar are handled.
+     * @param sink           The consumer of aggregated bars.
+     */
+    public static void resample(CandleSeries series, CandleInterval sourceInterval, CandleInterval targetInterval,
+                                GapPolicy gapPolicy, CandleSink sink) {
+        checkIntervals(sourceInterval, targetInterval);
+        if (series == null || gapPolicy == null || sink == null) {
+            throw new IllegalArgumentException("Series, gap policy and sink cannot be null.");
+        }
+        int size = series.size();
+        long[] timestamps = series.timestamps();
+        double[] open = series.opens();
+        double[] high = series.highs();
+        double[] low = series.lows();
+        double[] close = series.closes();
+        double[] volume = series.volumes();
+        long step = targetInterval.getMillis();
+
+        long previousStart = Long.MIN_VALUE;
+        double previousClose = 0;
+        int i = 0;
+        while (i < size) {
+            if (i > 0 && timestamps[i] <= timestamps[i - 1]) {
+                throw new IllegalArgumentException("Source bars must be in ascending time order.");
+            }
+            long start = targetInterval.barStart(timestamps[i]);
+            long end = start + step;
+
+            // Aggregate the run of source bars that fall into the same period
+            double runHigh = high[i];
+            double runLow = low[i];
+            double runVolume = volume[i];
+            int j = i + 1;
+            while (j < size && timestamps[j] < end) {
+                if (timestamps[j] <= timestamps[j - 1]) {
+                    throw new IllegalArgumentException("Source bars must be in ascending time order.");
+                }
+                runHigh = Math.max(runHigh, high[j]);
+                runLow = Math.min(runLow, low[j]);
+                runVolume += volume[j];
+                j++;
+            }
+            if (j == size && timestamps[j - 1] + sourceInterval.getMillis() < end) {
+                break;
+            }
+            if (i == 0 && timestamps[0] != start) {
+                i = j; // The bars before the first source bar are unknown
+                continue;
+            }
+
+            if (gapPolicy == GapPolicy.FILL && previousStart != Long.MIN_VALUE) {
+                for (long t = previousStart + step; t < start; t += step) {
+                    sink.accept(t, previousClose, previousClose, previousClose, previousClose, 0);
+                }
+            }
+            sink.accept(start, open[i], runHigh, runLow, close[j - 1], runVolume);
+            previousStart = start;
+            previousClose = close[j - 1];
+            i = j;
+        }
+    }
+
+    private static void checkIntervals(CandleInterval sourceInterval, CandleInterval targetInterval) {
+        if (sourceInterval == null || targetInterval == null) {
+            throw new IllegalArgumentException("Intervals cannot be null.");
+        }
+        if (!targetInterval.isMultipleOf(sourceInterval)) {
+            throw new IllegalArgumentException("Target interval " + targetInterval
+                    + " must be a multiple of the source interval " + sourceInterval + ".");
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.tradingbot.data;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Columnar, growable storage for OHLCV candles.
+ * Each field is kept in its own primitive array so long histories can be held without
+ * per-bar object overhead and indicator loops can walk contiguous memory.
+ */
+public class CandleSeries {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    // Source of version stamps; global so that no two series or states ever share a version
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private long[] timestamps;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private double[] volume;
+    private int size;
+    private long version = VERSIONS.incrementAndGet();
+
+    /**
+     * Constructor for an empty CandleSeries with the default capacity.
+     */
+    public CandleSeries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for an empty CandleSeries.
+     *
+     * @param initialCapacity The number of bars to reserve space for.
+     */
+    public CandleSeries(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative.");
+        }
+        this.timestamps = new long[initialCapacity];
+        this.open = new double[initialCapacity];
+        this.high = new double[initialCapacity];
+        this.low = new double[initialCapacity];
+        this.close = new double[initialCapacity];
+        this.volume = new double[initialCapacity];
+    }
+
+    /**
+     * Builds a CandleSeries from a list of OHLCV data.
+     *
+     * @param data The list of OHLCV data.
+     * @return A CandleSeries holding the same bars in the same order.
+     */
+    public static CandleSeries of(List<OHLCVData> data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null.");
+        }
+        CandleSeries series = new CandleSeries(data.size());
+        for (OHLCVData candle : data) {
+            series.add(candle);
+        }
+        return series;
+    }
+
+    /**
+     * Appends a bar to the end of the series.
+     *
+     * @param timestamp The bar timestamp in epoch milliseconds.
+     * @param open      The opening price.
+     * @param high      The highest price.
+     * @param low       The lowest price.
+     * @param close     The closing price.
+     * @param volume    The trading volume.
+     */
+    public void add(long timestamp, double open, double high, double low, double close, double volume) {
+        if (size == timestamps.length) {
+            grow(size + 1);
+        }
+        this.timestamps[size] = timestamp;
+        this.open[size] = open;
+        this.high[size] = high;
+        this.low[size] = low;
+        this.close[size] = close;
+        this.volume[size] = volume;
+        size++;
+        version = VERSIONS.incrementAndGet();
+    }
+
+    /**
+     * Appends a bar to the end of the series.
+     *
+     * @param candle The OHLCV bar to append.
+     */
+    public void add(OHLCVData candle) {
+        add(candle.getTimestamp().toEpochMilli(), candle.getOpen(), candle.getHigh(),
+                candle.getLow(), candle.getClose(), candle.getVolume());
+    }
+
+    /**
+     * Replaces the last bar of the series, e.g. when a still-forming candle is revised.
+     *
+     * @param timestamp The bar timestamp in epoch milliseconds.
+     * @param open      The opening price.
+     * @param high      The highest price.
+     * @param low       The lowest price.
+     * @param close     The closing price.
+     * @param volume    The trading volume.
+     */
+    public void replaceLast(long timestamp, double open, double high, double low, double close, double volume) {
+        if (size == 0) {
+            throw new IllegalStateException("Cannot replace the last bar of an empty series.");
+        }
+        int last = size - 1;
+        this.timestamps[last] = timestamp;
+        this.open[last] = open;
+        this.high[last] = high;
+        this.low[last] = low;
+        this.close[last] = close;
+        this.volume[last] = volume;
+        version = VERSIONS.incrementAndGet();
+    }
+
+    /**
+     * Replaces the last bar of the series, e.g. when a still-forming candle is revised.
+     *
+     * @param candle The revised OHLCV bar.
+     */
+    public void replaceLast(OHLCVData candle) {
+        replaceLast(candle.getTimestamp().toEpochMilli(), candle.getOpen(), candle.getHigh(),
+                candle.getLow(), candle.getClose(), candle.getVolume());
+    }
+
+    /**
+     * Ensures the series can hold at least the given number of bars without reallocating.
+     *
+     * @param minCapacity The required capacity.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > timestamps.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Removes the oldest bars, e.g. to bound the history kept by a long-running series.
+     *
+     * @param count The number of bars to remove from the start of the series.
+     */
+    public void removeFirst(int count) {
+        if (count < 0 || count > size) {
+            throw new IllegalArgumentException("Count must be between 0 and the series size.");
+        }
+        if (count == 0) {
+            return;
+        }
+        int remaining = size - count;
+        System.arraycopy(timestamps, count, timestamps, 0, remaining);
+        System.arraycopy(open, count, open, 0, remaining);
+        System.arraycopy(high, count, high, 0, remaining);
+        System.arraycopy(low, count, low, 0, remaining);
+        System.arraycopy(close, count, close, 0, remaining);
+        System.arraycopy(volume, count, volume, 0, remaining);
+        size = remaining;
+        version = VERSIONS.incrementAndGet();
+    }
+
+    /**
+     * Copies the bars into a new series that is independent of later changes to this one.
+     *
+     * @return A new series holding the same bars.
+     */
+    public CandleSeries copy() {
+        CandleSeries copy = new CandleSeries(size);
+        System.arraycopy(timestamps, 0, copy.timestamps, 0, size);
+        System.arraycopy(open, 0, copy.open, 0, size);
+        System.arraycopy(high, 0, copy.high, 0, size);
+        System.arraycopy(low, 0, copy.low, 0, size);
+        System.arraycopy(close, 0, copy.close, 0, size);
+        System.arraycopy(volume, 0, copy.volume, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Removes all bars while keeping the allocated capacity.
+     */
+    public void clear() {
+        size = 0;
+        version = VERSIONS.incrementAndGet();
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, timestamps.length + (timestamps.length >> 1)));
+        timestamps = Arrays.copyOf(timestamps, newCapacity);
+        open = Arrays.copyOf(open, newCapacity);
+        high = Arrays.copyOf(high, newCapacity);
+        low = Arrays.copyOf(low, newCapacity);
+        close = Arrays.copyOf(close, newCapacity);
+        volume = Arrays.copyOf(volume, newCapacity);
+    }
+
+    /**
+     * Gets the number of bars in the series.
+     *
+     * @return The number of bars.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the series holds no bars.
+     *
+     * @return true if the series is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the version of the series contents. Every add, replaceLast, removeFirst or clear
+     * assigns a new version that is unique across all series, so a version identifies one exact
+     * set of bars and results derived from the series can be cached against it.
+     *
+     * @return The current version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    // Per-bar accessors
+
+    public long getTimestamp(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    public double getOpen(int index) {
+        checkIndex(index);
+        return open[index];
+    }
+
+    public double getHigh(int index) {
+        checkIndex(index);
+        return high[index];
+    }
+
+    public double getLow(int index) {
+        checkIndex(index);
+        return low[index];
+    }
+
+    public double getClose(int index) {
+        checkIndex(index);
+        return close[index];
+    }
+
+    public double getVolume(int index) {
+        checkIndex(index);
+        return volume[index];
+    }
+
+    /**
+     * Materializes a single bar as an OHLCVData instance.
+     *
+     * @param index The bar index.
+     * @return The bar at the given index.
+     */
+    public OHLCVData get(int index) {
+        checkIndex(index);
+        return new OHLCVData(Instant.ofEpochMilli(timestamps[index]), open[index], high[index],
+                low[index], close[index], volume[index]);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    // Column accessors. The returned arrays are the live backing storage: only the first size()
+    // entries are valid, and the array may be replaced when the series grows.
+
+    public long[] timestamps() {
+        return timestamps;
+    }
+
+    public double[] opens() {
+        return open;
+    }
+
+    public double[] highs() {
+        return high;
+    }
+
+    public double[] lows() {
+        return low;
+    }
+
+    public double[] closes() {
+        return close;
+    }
+
+    public double[] volumes() {
+        return volume;
+    }
+
+    /**
+     * Computes the typical price column, (high + low + close) / 3 per bar, into a caller-owned
+     * buffer. The series itself is only read, so concurrent readers need no synchronization.
+     *
+     * @param out The output buffer; must hold at least size() values.
+     * @return The output buffer, with the first size() entries filled.
+     */
+    public double[] typicalPrices(double[] out) {
+        if (out == null || out.length < size) {
+            throw new IllegalArgumentException("Output buffer must hold at least " + size + " values.");
+        }
+        for (int i = 0; i < size; i++) {
+            out[i] = (high[i] + low[i] + close[i]) / 3;
+        }
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return "CandleSeries{" +
+                "size=" + size +
+                (size > 0 ? ", first=" + Instant.ofEpochMilli(timestamps[0])
+                        + ", last=" + Instant.ofEpochMilli(timestamps[size - 1]) : "") +
+                '}';
+    }
+}
@@ -0,0 +1,22 @@
+package com.tradingbot.data;
+
+/**
+ * Consumer of OHLCV bars passed as primitives, so bars can flow between producers such as
+ * resamplers and consumers such as candle series or streaming indicators without allocation.
+ * {@code series::add} and {@code indicator::update} are valid sinks.
+ */
+@FunctionalInterface
+public interface CandleSink {
+
+    /**
+     * Receives one bar.
+     *
+     * @param timestamp The bar timestamp in epoch milliseconds.
+     * @param open      The opening price.
+     * @param high      The highest price.
+     * @param low       The lowest price.
+     * @param close     The closing price.
+     * @param volume    The trading volume.
+     */
+    void accept(long timestamp, double open, double high, double low, double close, double volume);
+}
@@ -0,0 +1,610 @@
+package com.tradingbot.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent, append-only store of candles in memory-mapped segment files, one log per symbol and interval.
+ * <p>
+ * Each bar is a fixed-width 64 byte record (timestamp, five doubles and a CRC32 of them), so records
+ * never straddle a page. Bars are kept in ascending time order, so range queries binary-search the
+ * timestamps and then read straight out of the mapped files into a {@link CandleSeries} or
+ * {@link CandleSink} without intermediate buffers.
+ * <p>
+ * A record is written before the record count in the segment header, and a revision of the last
+ * bar is first copied to the header so it can be redone. The operating system may still write
+ * the pages back in any order, so on open the last segment is truncated at the first record whose
+ * checksum does not match, and a crash never exposes a partially written bar. {@link #sync()}
+ * additionally forces the mapped files to disk to survive power loss. Logs are expected to be
+ * written by one process at a time.
+ */
+public class CandleStore implements Closeable {
+
+    /** The default number of bars per segment file, about 8 MB. */
+    public static final int DEFAULT_SEGMENT_CAPACITY = 1 << 17;
+
+    private static final int MAGIC = 0x43444c53; // "CDLS"
+    private static final int FORMAT_VERSION = 2;
+    private static final int RECORD_SIZE = 64;
+    private static final int HEADER_SIZE = 128;
+
+    // Record layout: timestamp and five doubles, then the CRC32 of those 48 bytes
+    private static final int PAYLOAD_SIZE = 48;
+    private static final int CHECKSUM_OFFSET = 48;
+
+    // Header layout
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int RECORD_SIZE_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int COUNT_OFFSET = 16;
+    private static final int REDO_SLOT_OFFSET = 24;
+    private static final int REDO_RECORD_OFFSET = 32;
+
+    // Ordered stores, so the count is never visible before the record it covers
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path root;
+    private final int segmentCapacity;
+    private final Map<String, Log> logs = new HashMap<>();
+    private boolean closed;
+
+    /**
+     * Constructor for a CandleStore with the default segment capacity.
+     *
+     * @param root The directory holding the store; created if missing.
+     */
+    public CandleStore(Path root) {
+        this(root, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * Constructor for CandleStore.
+     *
+     * @param root            The directory holding the store; created if missing.
+     * @param segmentCapacity The number of bars per segment file for newly created logs.
+     */
+    public CandleStore(Path root, int segmentCapacity) {
+        if (root == null) {
+            throw new IllegalArgumentException("Root directory cannot be null.");
+        }
+        if (segmentCapacity <= 0 || segmentCapacity > (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE) {
+            throw new IllegalArgumentException("Segment capacity is out of range.");
+        }
+        this.root = root;
+        this.segmentCapacity = segmentCapacity;
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create candle store directory " + root, e);
+        }
+    }
+
+    /**
+     * Appends a bar. A bar with the same timestamp as the last stored bar replaces it, so a
+     * still-forming candle can be stored and revised.
+     *
+     * @param symbol    The trading pair (e.g., "BTC_USDT").
+     * @param interval  The candle interval.
+     * @param timestamp The bar timestamp in epoch milliseconds; not older than the last stored bar.
+     * @param open      The opening price.
+     * @param high      The highest price.
+     * @param low       The lowest price.
+     * @param close     The closing price.
+     * @param volume    The trading volume.
+     */
+    public void append(String symbol, CandleInterval interval, long timestamp,
+                       double open, double high, double low, double close, double volume) {
+        Log log = log(symbol, interval);
+        synchronized (log) {
+            log.append(timestamp, open, high, low, close, volume);
+        }
+    }
+
+    /**
+     * Appends the bars of a series that are not older than the last stored bar, replacing the
+     * last stored bar if the series holds a revision of it.
+     *
+     * @param symbol   The trading pair.
+     * @param interval The candle interval.
+     * @param series   The bars, in ascending time order.
+     * @return The number of bars appended or replaced.
+     */
+    public int append(String symbol, CandleInterval interval, CandleSeries series) {
+        Log log = log(symbol, interval);
+        synchronized (log) {
+            long last = log.count == 0 ? Long.MIN_VALUE : log.timestamp(log.count - 1);
+            long[] timestamps = series.timestamps();
+            double[] open = series.opens();
+            double[] high = series.highs();
+            double[] low = series.lows();
+            double[] close = series.closes();
+            double[] volume = series.volumes();
+            int written = 0;
+            for (int i = 0; i < series.size(); i++) {
+                if (timestamps[i] >= last) {
+                    log.append(timestamps[i], open[i], high[i], low[i], close[i], volume[i]);
+                    last = timestamps[i];
+                    written++;
+                }
+            }
+            return written;
+        }
+    }
+
+    /**
+     * Reads the bars with timestamps in [from, to) into a sink, oldest first.
+     *
+     * @param symbol   The trading pair.
+     * @param interval The candle interval.
+     * @param from     The first timestamp to include, in epoch milliseconds.
+     * @param to       The first timestamp to exclude, in epoch milliseconds.
+     * @param sink     The consumer of the bars.
+     * @return The number of bars read.
+     */
+    public int read(String symbol, CandleInterval interval, long from, long to, CandleSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null.");
+        }
+        Log log = log(symbol, interval);
+        synchronized (log) {
+            long start = log.lowerBound(from);
+            long end = log.lowerBound(to);
+            long index = start;
+            while (index < end) {
+                // Walk one segment at a time so the inner loop is a plain scan of mapped memory
+                MappedByteBuffer buffer = log.segment(index).buffer;
+                int slot = log.slot(index);
+                int records = (int) Math.min(end - index, log.capacity - slot);
+                int offset = HEADER_SIZE + slot * RECORD_SIZE;
+                for (int i = 0; i < records; i++, offset += RECORD_SIZE) {
+                    sink.accept(buffer.getLong(offset), buffer.getDouble(offset + 8), buffer.getDouble(offset + 16),
+                            buffer.getDouble(offset + 24), buffer.getDouble(offset + 32), buffer.getDouble(offset + 40));
+                }
+                index += records;
+            }
+            return (int) Math.max(0, end - start);
+        }
+    }
+
+    /**
+     * Reads the bars with timestamps in [from, to) and appends them to a series.
+     *
+     * @param symbol   The trading pair.
+     * @param interval The candle interval.
+     * @param from     The first timestamp to include, in epoch milliseconds.
+     * @param to       The first timestamp to exclude, in epoch milliseconds.
+     * @param series   The series to append to.
+     * @return The number of bars read.
+     */
+    public int readInto(String symbol, CandleInterval interval, long from, long to, CandleSeries series) {
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null.");
+        }
+        Log log = log(symbol, interval);
+        synchronized (log) {
+            long count = Math.max(0, log.lowerBound(to) - log.lowerBound(from));
+            series.ensureCapacity((int) Math.min(Integer.MAX_VALUE, series.size() + count));
+            return read(symbol, interval, from, to, series::add);
+        }
+    }
+
+    /**
+     * Reads the bars with timestamps in [from, to) into a new series.
+     *
+     * @param symbol   The trading pair.
+     * @param interval The candle interval.
+     * @param from     The first timestamp to include, in epoch milliseconds.
+     * @param to       The first timestamp to exclude, in epoch milliseconds.
+     * @return A new series holding the bars.
+     */
+    public CandleSeries read(String symbol, CandleInterval interval, long from, long to) {
+        CandleSeries series = new CandleSeries(0);
+        readInto(symbol, interval, from, to, series);
+        return series;
+    }
+
+    /**
+     * Gets the number of stored bars.
+     *
+     * @param symbol   The trading pair.
+     * @param interval The candle interval.
+     * @return The number of bars.
+     */
+    public long size(String symbol, CandleInterval interval) {
+        Log log = log(symbol, interval);
+        synchronized (log) {
+            return log.count;
+        }
+    }
+
+    /**
+     * Gets the timestamp of the first stored bar.
+     *
+     * @param symbol   The trading pair.
+     * @param interval The candle interval.
+     * @return The timestamp in epoch milliseconds, or -1 if no bar is stored.
+     */
+    public long getFirstTimestamp(String symbol, CandleInterval interval) {
+        Log log = log(symbol, interval);
+        synchronized (log) {
+            return log.count == 0 ? -1 : log.timestamp(0);
+        }
+    }
+
+    /**
+     * Gets the timestamp of the last stored bar.
+     *
+     * @param symbol   The trading pair.
+     * @param interval The candle interval.
+     * @return The timestamp in epoch milliseconds, or -1 if no bar is stored.
+     */
+    public long getLastTimestamp(String symbol, CandleInterval interval) {
+        Log log = log(symbol, interval);
+        synchronized (log) {
+            return log.count == 0 ? -1 : log.timestamp(log.count - 1);
+        }
+    }
+
+    /**
+     * Forces every open segment to disk, so stored bars survive an operating system crash or power loss.
+     */
+    public void sync() {
+        for (Log log : openLogs()) {
+            synchronized (log) {
+                for (Segment segment : log.segments) {
+                    segment.buffer.force();
+                }
+            }
+        }
+    }
+
+    /**
+     * Syncs and closes every open segment file.
+     *
+     * @throws IOException If a segment file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        List<Log> open;
+        synchronized (logs) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            open = new ArrayList<>(logs.values());
+            logs.clear();
+        }
+        IOException failure = null;
+        for (Log log : open) {
+            synchronized (log) {
+                for (Segment segment : log.segments) {
+                    try {
+                        segment.buffer.force();
+                        segment.channel.close();
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private List<Log> openLogs() {
+        synchronized (logs) {
+            return new ArrayList<>(logs.values());
+        }
+    }
+
+    private Log log(String symbol, CandleInterval interval) {
+        if (symbol == null || !symbol.matches("[A-Za-z0-9_-]+") || interval == null) {
+            throw new IllegalArgumentException("Invalid symbol or interval: " + symbol + " " + interval);
+        }
+        String key = symbol + '/' + interval.getCode();
+        synchronized (logs) {
+            if (closed) {
+                throw new IllegalStateException("Candle store is closed.");
+            }
+            Log log = logs.get(key);
+            if (log == null) {
+                try {
+                    log = new Log(root.resolve(symbol).resolve(interval.getCode()), segmentCapacity);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to open candle log " + key, e);
+                }
+                logs.put(key, log);
+            }
+            return log;
+        }
+    }
+
+    /**
+     * The segment files of one symbol and interval, addressed by a global bar index.
+     */
+    private static final class Log {
+        private final Path directory;
+        private final List<Segment> segments = new ArrayList<>();
+        private int capacity;
+        private long count;
+
+        private Log(Path directory, int defaultCapacity) throws IOException {
+            this.directory = directory;
+            this.capacity = defaultCapacity;
+            Files.createDirectories(directory);
+
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "segment-*.dat")) {
+                for (Path file : stream) {
+                    files.add(file);
+                }
+            }
+            files.sort(null);
+            for (int i = 0; i < files.size(); i++) {
+                Segment segment = Segment.open(files.get(i), i == files.size() - 1);
+                if (segment == null) {
+                    continue; // A last segment that was created but never initialized
+                }
+                if (i == 0) {
+                    capacity = segment.capacity;
+                } else if (segment.capacity != capacity || segments.get(i - 1).count != capacity) {
+                    throw new IllegalStateException("Inconsistent candle segment " + files.get(i));
+                }
+                segments.add(segment);
+                count += segment.count;
+            }
+            recoverTail();
+        }
+
+        /**
+         * Drops the records of the last segment from the first one that is torn or out of order,
+         * which is what writes lost in an operating system crash look like.
+         */
+        private void recoverTail() {
+            if (segments.isEmpty()) {
+                return;
+            }
+            Segment last = segments.get(segments.size() - 1);
+            long first = count - last.count;
+            long previous = first == 0 ? Long.MIN_VALUE : timestamp(first - 1);
+            int valid = 0;
+            while (valid < last.count) {
+                int offset = HEADER_SIZE + valid * RECORD_SIZE;
+                long timestamp = last.buffer.getLong(offset);
+                if (timestamp <= previous || !last.intact(offset)) {
+                    break;
+                }
+                previous = timestamp;
+                valid++;
+            }
+            if (valid < last.count) {
+                count -= last.count - valid;
+                last.setCount(valid);
+            }
+        }
+
+        private void append(long timestamp, double open, double high, double low, double close, double volume) {
+            if (count > 0) {
+                long lastTimestamp = timestamp(count - 1);
+                if (timestamp == lastTimestamp) {
+                    segment(count - 1).replace(slot(count - 1), timestamp, open, high, low, close, volume);
+                    return;
+                }
+                if (timestamp < lastTimestamp) {
+                    throw new IllegalArgumentException("Bar at " + timestamp
+                            + " is older than the last stored bar at " + lastTimestamp + ".");
+                }
+            }
+            Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (segment == null || segment.count == capacity) {
+                if (segment != null) {
+                    // A full segment is never written again, so make it durable before moving on
+                    segment.buffer.force();
+                }
+                segment = newSegment();
+            }
+            segment.write(segment.count, timestamp, open, high, low, close, volume);
+            segment.setCount(segment.count + 1);
+            count++;
+        }
+
+        private Segment newSegment() {
+            Path file = directory.resolve(String.format("segment-%06d.dat", segments.size()));
+            try {
+                Segment segment = Segment.create(file, capacity);
+                segments.add(segment);
+                return segment;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create candle segment " + file, e);
+            }
+        }
+
+        /**
+         * Finds the index of the first bar at or after a timestamp.
+         */
+        private long lowerBound(long timestamp) {
+            long low = 0;
+            long high = count;
+            while (low < high) {
+                long mid = (low + high) >>> 1;
+                if (timestamp(mid) < timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private long timestamp(long index) {
+            return segment(index).buffer.getLong(offset(index));
+        }
+
+        private Segment segment(long index) {
+            return segments.get((int) (index / capacity));
+        }
+
+        private int slot(long index) {
+            return (int) (index % capacity);
+        }
+
+        private int offset(long index) {
+            return HEADER_SIZE + slot(index) * RECORD_SIZE;
+        }
+    }
+
+    /**
+     * One mapped segment file: a header followed by a fixed number of record slots.
+     */
+    private static final class Segment {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        // A second cursor over the mapping for checksumming, so the shared buffer is only read absolutely
+        private final ByteBuffer checksumView;
+        private final CRC32 crc = new CRC32();
+        private final int capacity;
+        private int count;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer, int capacity, int count) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.checksumView = buffer.duplicate();
+            this.capacity = capacity;
+            this.count = count;
+        }
+
+        private static Segment create(Path file, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) capacity * RECORD_SIZE);
+            buffer.putInt(VERSION_OFFSET, FORMAT_VERSION);
+            buffer.putInt(RECORD_SIZE_OFFSET, RECORD_SIZE);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            buffer.putLong(COUNT_OFFSET, 0);
+            buffer.putLong(REDO_SLOT_OFFSET, 0);
+            // The magic number is written last and marks the header as initialized
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            buffer.force();
+            return new Segment(channel, buffer, capacity, 0);
+        }
+
+        /**
+         * Opens an existing segment, redoing an interrupted revision of its last bar.
+         *
+         * @return The segment, or null if it is the last segment and was never initialized.
+         */
+        private static Segment open(Path file, boolean last) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (channel.size() < HEADER_SIZE) {
+                channel.close();
+                return discardUninitialized(file, last);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (header.getInt(MAGIC_OFFSET) != MAGIC) {
+                channel.close();
+                return discardUninitialized(file, last);
+            }
+            int capacity = header.getInt(CAPACITY_OFFSET);
+            if (header.getInt(VERSION_OFFSET) != FORMAT_VERSION || header.getInt(RECORD_SIZE_OFFSET) != RECORD_SIZE
+                    || capacity <= 0 || channel.size() != HEADER_SIZE + (long) capacity * RECORD_SIZE) {
+                channel.close();
+                throw new IllegalStateException("Unsupported or damaged candle segment " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            long count = buffer.getLong(COUNT_OFFSET);
+            if (count < 0 || count > capacity) {
+                channel.close();
+                throw new IllegalStateException("Damaged record count in candle segment " + file);
+            }
+            Segment segment = new Segment(channel, buffer, capacity, (int) count);
+            segment.redo();
+            return segment;
+        }
+
+        private static Segment discardUninitialized(Path file, boolean last) throws IOException {
+            if (!last) {
+                throw new IllegalStateException("Damaged candle segment " + file);
+            }
+            Files.delete(file);
+            return null;
+        }
+
+        private void write(int slot, long timestamp, double open, double high, double low, double close, double volume) {
+            putRecord(HEADER_SIZE + slot * RECORD_SIZE, timestamp, open, high, low, close, volume);
+        }
+
+        /**
+         * Overwrites a bar in place. The new values are staged in the header first, so a revision
+         * interrupted by a crash is completed on the next open instead of leaving a torn bar.
+         */
+        private void replace(int slot, long timestamp, double open, double high, double low, double close, double volume) {
+            putRecord(REDO_RECORD_OFFSET, timestamp, open, high, low, close, volume);
+            LONGS.setRelease(buffer, REDO_SLOT_OFFSET, slot + 1L);
+            write(slot, timestamp, open, high, low, close, volume);
+            LONGS.setRelease(buffer, REDO_SLOT_OFFSET, 0L);
+        }
+
+        /**
+         * Redoes an interrupted revision. A staged copy that was itself torn is dropped, leaving the
+         * bar in place to be checked with the rest of the tail.
+         */
+        private void redo() {
+            long redoSlot = buffer.getLong(REDO_SLOT_OFFSET);
+            if (redoSlot > 0 && redoSlot <= count && intact(REDO_RECORD_OFFSET)) {
+                write((int) (redoSlot - 1), buffer.getLong(REDO_RECORD_OFFSET),
+                        buffer.getDouble(REDO_RECORD_OFFSET + 8), buffer.getDouble(REDO_RECORD_OFFSET + 16),
+                        buffer.getDouble(REDO_RECORD_OFFSET + 24), buffer.getDouble(REDO_RECORD_OFFSET + 32),
+                        buffer.getDouble(REDO_RECORD_OFFSET + 40));
+            }
+            if (redoSlot != 0) {
+                LONGS.setRelease(buffer, REDO_SLOT_OFFSET, 0L);
+            }
+        }
+
+        private void setCount(int count) {
+            this.count = count;
+            LONGS.setRelease(buffer, COUNT_OFFSET, (long) count);
+        }
+
+        private void putRecord(int offset, long timestamp, double open, double high, double low, double close, double volume) {
+            buffer.putLong(offset, timestamp);
+            buffer.putDouble(offset + 8, open);
+            buffer.putDouble(offset + 16, high);
+            buffer.putDouble(offset + 24, low);
+            buffer.putDouble(offset + 32, close);
+            buffer.putDouble(offset + 40, volume);
+            buffer.putInt(offset + CHECKSUM_OFFSET, checksum(offset));
+        }
+
+        private boolean intact(int offset) {
+            return buffer.getInt(offset + CHECKSUM_OFFSET) == checksum(offset);
+        }
+
+        private int checksum(int offset) {
+            checksumView.limit(offset + PAYLOAD_SIZE);
+            checksumView.position(offset);
+            crc.reset();
+            crc.update(checksumView);
+            return (int) crc.getValue();
+        }
+    }
+}
@@ -3,14 +3,40 @@ package com.tradingbot.data;
 import com.tradingbot.integration.GateIOAPI;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Unified interface for fetching live and historical market data.
  */
 public class DataFetcher {
 
+    /**
+     * The default maximum age of the live tickers served, in milliseconds; well above the latency
+     * of a ticker request, so a refresh completes long before the snapshot expires.
+     */
+    public static final long DEFAULT_TICKER_STALENESS_MILLIS = 5000;
+
+    /** How long a historical data result is shared with identical requests, in milliseconds. */
+    public static final long HISTORICAL_REQUEST_TTL_MILLIS = 500;
+
     private final GateIOAPI gateIOAPI;
+    private final CandleStore candleStore;
+    private final TickerSnapshotService tickerSnapshots;
+
+    // Identical historical data requests in flight or just completed, keyed by pair, interval and limit
+    private final SingleFlight<String, List<double[]>> historicalRequests = new SingleFlight<>(HISTORICAL_REQUEST_TTL_MILLIS);
+
+    // Candles synced so far, keyed by trading pair and interval
+    private final Map<String, CandleSeries> syncedSeries = new ConcurrentHashMap<>();
+    // One lock per trading pair and interval, so syncs of different series do not wait on each other
+    private final Map<String, Object> syncLocks = new ConcurrentHashMap<>();
 
     /**
      * Constructor for DataFetcher.
@@ -18,28 +44,208 @@ public class DataFetcher {
      * @param gateIOAPI An instance of the GateIOAPI class for Gate.io-specific data fetching.
      */
     public DataFetcher(GateIOAPI gateIOAPI) {
+        this(gateIOAPI, null);
+    }
+
+    /**
+     * Constructor for a DataFetcher that persists synced candles.
+     *
+     * @param gateIOAPI   An instance of the GateIOAPI class for Gate.io-specific data fetching.
+     * @param candleStore The store synced candles are loaded from and written to, or null to keep them in memory only.
+     */
+    public DataFetcher(GateIOAPI gateIOAPI, CandleStore candleStore) {
+        this(gateIOAPI, candleStore, new TickerSnapshotService(gateIOAPI, DEFAULT_TICKER_STALENESS_MILLIS));
+    }
+
+    /**
+     * Constructor for a DataFetcher that persists synced candles and serves live tickers from a
+     * shared snapshot.
+     *
+     * @param gateIOAPI       An instance of the GateIOAPI class for Gate.io-specific data fetching.
+     * @param candleStore     The store synced candles are loaded from and written to, or null to keep them in memory only.
+     * @param tickerSnapshots The snapshot live tickers are served from.
+     */
+    public DataFetcher(GateIOAPI gateIOAPI, CandleStore candleStore, TickerSnapshotService tickerSnapshots) {
+        if (tickerSnapshots == null) {
+            throw new IllegalArgumentException("Ticker snapshot service cannot be null.");
+        }
         this.gateIOAPI = gateIOAPI;
+        this.candleStore = candleStore;
+        this.tickerSnapshots = tickerSnapshots;
     }
 
     /**
-     * Fetches live ticker data for a given trading pair using Gate.io.
+     * Fetches live ticker data for a given trading pair using Gate.io. The ticker comes from a
+     * snapshot of all pairs that is shared by every caller and refreshed once it is older than
+     * the snapshot's maximum staleness.
      *
      * @param tradingPair The trading pair (e.g., "BTC_USDT").
-     * @return A JSONObject containing live ticker data.
+     * @return A JSONObject containing live ticker data, or null if none is available.
      */
     public JSONObject fetchLiveData(String tradingPair) {
-        return gateIOAPI.fetchLiveTicker(tradingPair);
+        return tickerSnapshots.getTicker(tradingPair);
     }
 
     /**
      * Fetches historical OHLCV data for a given trading pair and timeframe using Gate.io.
+     * Identical requests made concurrently, or within {@link #HISTORICAL_REQUEST_TTL_MILLIS} of
+     * each other, share one HTTP call and its result.
      *
      * @param tradingPair The trading pair (e.g., "BTC_USDT").
      * @param interval    The timeframe interval (e.g., "1m", "5m").
      * @param limit       The number of candlesticks to fetch.
-     * @return A list of OHLCV data arrays.
+     * @return A list of OHLCV data arrays owned by the caller.
      */
     public List<double[]> fetchHistoricalData(String tradingPair, String interval, int limit) {
-        return gateIOAPI.fetchHistoricalData(tradingPair, interval, limit);
+        try {
+            return fetchHistoricalDataAsync(tradingPair, interval, limit).join();
+        } catch (CompletionException e) {
+            System.err.println("Error fetching historical data: " + e.getCause().getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Fetches historical OHLCV data for a given trading pair and timeframe asynchronously, sharing
+     * the request with identical ones as {@link #fetchHistoricalData(String, String, int)} does.
+     * Failed requests are not shared with later callers.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param interval    The timeframe interval (e.g., "1m", "5m").
+     * @param limit       The number of candlesticks to fetch.
+     * @return A future of a list of OHLCV data arrays owned by the caller.
+     */
+    public CompletableFuture<List<double[]>> fetchHistoricalDataAsync(String tradingPair, String interval, int limit) {
+        // The shared result stays unmodifiable; each caller gets its own copy
+        return historicalRequests.getAsync(tradingPair + "/" + interval + "/" + limit, () ->
+                gateIOAPI.fetchHistoricalDataAsync(tradingPair, interval, limit).thenApply(Collections::unmodifiableList))
+                .thenApply(DataFetcher::copyRows);
+    }
+
+    private static List<double[]> copyRows(List<double[]> rows) {
+        List<double[]> copy = new ArrayList<>(rows.size());
+        for (double[] row : rows) {
+            copy.add(row.clone());
+        }
+        return copy;
+    }
+
+    /**
+     * Brings the local candles of a trading pair and timeframe up to date and returns them.
+     * <p>
+     * The first call loads up to {@code limit} candles from the candle store, or fetches the latest
+     * {@code limit} candles if none are stored. Later calls request only the range from the last
+     * held candle to now, in pages of at most {@link GateIOAPI#MAX_CANDLES_PER_REQUEST} candles,
+     * and merge the result: the last held candle is revised, since it may still have been forming,
+     * and candles that are already held are skipped. If a page fails, the sync stops there and the
+     * next call resumes from the last candle merged. Only the latest {@code limit} candles are kept,
+     * so without a candle store a gap of {@code limit} candles or more is not paged through; the
+     * latest {@code limit} candles replace the held ones instead.
+     * <p>
+     * Syncs of different trading pairs or timeframes run concurrently; syncs of the same one are
+     * serialized.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param interval    The timeframe interval (e.g., "1m", "5m").
+     * @param limit       The number of candlesticks to start from when nothing is held yet, and the
+     *                    most that are kept.
+     * @return A copy of the synced candles, which later syncs do not modify.
+     */
+    public CandleSeries syncHistoricalData(String tradingPair, String interval, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than 0.");
+        }
+        CandleInterval candleInterval = CandleInterval.fromCode(interval);
+        String key = tradingPair + "/" + interval;
+        synchronized (syncLock(key)) {
+            CandleSeries series = syncedSeries.computeIfAbsent(key, k -> loadStored(tradingPair, candleInterval, limit));
+            long step = candleInterval.getMillis() / 1000;
+            long now = System.currentTimeMillis() / 1000;
+            long last = series.isEmpty() ? 0 : series.getTimestamp(series.size() - 1) / 1000;
+            // Every held candle would be trimmed, and only the store needs the candles in between
+            if (series.isEmpty() || candleStore == null && (now - last) / step >= limit) {
+                List<double[]> latest = gateIOAPI.fetchHistoricalData(tradingPair, interval, limit);
+                if (!latest.isEmpty()) {
+                    series.clear();
+                }
+                merge(tradingPair, candleInterval, series, latest);
+            } else {
+                CandleSink sink = (timestamp, open, high, low, close, volume) ->
+                        merge(tradingPair, candleInterval, series, timestamp, open, high, low, close, volume);
+                long to;
+                for (long from = last; from <= now; from = to + step) {
+                    to = Math.min(now, from + step * (GateIOAPI.MAX_CANDLES_PER_REQUEST - 1));
+                    if (gateIOAPI.fetchHistoricalData(tradingPair, interval, from, to, sink) < 0) {
+                        break; // Resume from the last merged candle on the next sync rather than skip this page
+                    }
+                }
+            }
+            if (series.size() > limit) {
+                series.removeFirst(series.size() - limit);
+            }
+            return series.copy();
+        }
+    }
+
+    /**
+     * Gets the timestamp of the last synced candle of a trading pair and timeframe.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param interval    The timeframe interval (e.g., "1m", "5m").
+     * @return The timestamp in epoch milliseconds, or -1 if nothing has been synced.
+     */
+    public long getLastSyncedTimestamp(String tradingPair, String interval) {
+        String key = tradingPair + "/" + interval;
+        synchronized (syncLock(key)) {
+            CandleSeries series = syncedSeries.get(key);
+            return series == null || series.isEmpty() ? -1 : series.getTimestamp(series.size() - 1);
+        }
+    }
+
+    private Object syncLock(String key) {
+        return syncLocks.computeIfAbsent(key, k -> new Object());
+    }
+
+    /**
+     * Loads the latest stored candles to resume syncing from.
+     */
+    private CandleSeries loadStored(String tradingPair, CandleInterval interval, int limit) {
+        if (candleStore == null) {
+            return new CandleSeries();
+        }
+        long last = candleStore.getLastTimestamp(tradingPair, interval);
+        if (last < 0) {
+            return new CandleSeries();
+        }
+        return candleStore.read(tradingPair, interval, last - (limit - 1) * interval.getMillis(), Long.MAX_VALUE);
+    }
+
+    /**
+     * Merges fetched rows into a series, revising the last candle and skipping candles already held.
+     */
+    private void merge(String tradingPair, CandleInterval interval, CandleSeries series, List<double[]> rows) {
+        rows.sort(Comparator.comparingDouble(row -> row[0]));
+        for (double[] row : rows) {
+            merge(tradingPair, interval, series, (long) row[0] * 1000, row[1], row[2], row[3], row[4], row[5]);
+        }
+    }
+
+    /**
+     * Merges one fetched candle into a series, revising the last candle and skipping candles already held.
+     */
+    private void merge(String tradingPair, CandleInterval interval, CandleSeries series, long timestamp,
+                       double open, double high, double low, double close, double volume) {
+        long last = series.isEmpty() ? Long.MIN_VALUE : series.getTimestamp(series.size() - 1);
+        if (timestamp < last) {
+            return;
+        }
+        if (timestamp == last) {
+            series.replaceLast(timestamp, open, high, low, close, volume);
+        } else {
+            series.add(timestamp, open, high, low, close, volume);
+        }
+        if (candleStore != null) {
+            candleStore.append(tradingPair, interval, timestamp, open, high, low, close, volume);
+        }
     }
 }
@@ -0,0 +1,319 @@
+package com.tradingbot.data;
+
+import com.tradingbot.integration.GateIOAPI;
+import com.tradingbot.integration.TokenBucketRateLimiter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fetches long candle histories by splitting a time range into exchange-sized pages and
+ * requesting them concurrently.
+ * <p>
+ * Pages are fetched on virtual threads when the JVM supports them (Java 21+) and on a small pool of
+ * platform threads otherwise. A {@link TokenBucketRateLimiter} caps the request rate. Candles are
+ * passed to the sink strictly in time order, page by page, while later pages are still in flight;
+ * only a bounded number of pages is held in memory. Candles missing from a page are re-requested
+ * before they are reported as gaps, since a failed request also shows up as missing data.
+ */
+public class HistoricalBackfill implements AutoCloseable {
+
+    private final GateIOAPI gateIOAPI;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final int maxConcurrency;
+    private final int maxRetries;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    /**
+     * Constructor for a HistoricalBackfill that re-requests missing candles up to 3 times.
+     *
+     * @param gateIOAPI      The API used to fetch candle pages.
+     * @param rateLimiter    The limiter every request waits on.
+     * @param maxConcurrency The maximum number of concurrent requests.
+     */
+    public HistoricalBackfill(GateIOAPI gateIOAPI, TokenBucketRateLimiter rateLimiter, int maxConcurrency) {
+        this(gateIOAPI, rateLimiter, maxConcurrency, 3);
+    }
+
+    /**
+     * Constructor for HistoricalBackfill.
+     *
+     * @param gateIOAPI      The API used to fetch candle pages.
+     * @param rateLimiter    The limiter every request waits on.
+     * @param maxConcurrency The maximum number of concurrent requests.
+     * @param maxRetries     How many times missing candles of a page are re-requested.
+     */
+    public HistoricalBackfill(GateIOAPI gateIOAPI, TokenBucketRateLimiter rateLimiter, int maxConcurrency, int maxRetries) {
+        if (gateIOAPI == null || rateLimiter == null) {
+            throw new IllegalArgumentException("API and rate limiter cannot be null.");
+        }
+        if (maxConcurrency <= 0 || maxRetries < 0) {
+            throw new IllegalArgumentException("Concurrency must be greater than 0 and retries must not be negative.");
+        }
+        this.gateIOAPI = gateIOAPI;
+        this.rateLimiter = rateLimiter;
+        this.maxConcurrency = maxConcurrency;
+        this.maxRetries = maxRetries;
+        this.executor = newExecutor(maxConcurrency);
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * Fetches every candle of a trading pair and interval that opens within [from, to] and passes
+     * the candles to a sink in time order.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param interval    The candle interval.
+     * @param from        The start of the range in epoch milliseconds, inclusive.
+     * @param to          The end of the range in epoch milliseconds, inclusive.
+     * @param sink        The consumer of the candles, called on the calling thread.
+     * @return The outcome of the backfill.
+     * @throws InterruptedException If the calling thread is interrupted while waiting for pages.
+     */
+    public Result backfill(String tradingPair, CandleInterval interval, long from, long to, CandleSink sink)
+            throws InterruptedException {
+        if (tradingPair == null || interval == null || sink == null) {
+            throw new IllegalArgumentException("Trading pair, interval and sink cannot be null.");
+        }
+        long step = interval.getMillis();
+        long first = interval.barStart(from);
+        if (first < from) {
+            first += step;
+        }
+        if (to < first) {
+            return new Result(0, 0, 0);
+        }
+        long pageMillis = step * GateIOAPI.MAX_CANDLES_PER_REQUEST;
+        long pageCount = (to - first) / pageMillis + 1;
+
+        AtomicLong requests = new AtomicLong();
+        long candles = 0;
+        long missing = 0;
+        // Queue up to twice as many pages as can be requested at once, so the next request starts as
+        // soon as one finishes, but memory does not grow with the range
+        ArrayDeque<Future<Page>> inFlight = new ArrayDeque<>();
+        long nextPage = 0;
+        try {
+            while (nextPage < pageCount || !inFlight.isEmpty()) {
+                while (nextPage < pageCount && inFlight.size() < 2 * maxConcurrency) {
+                    long pageFrom = first + nextPage * pageMillis;
+                    long pageTo = Math.min(to, pageFrom + pageMillis - step);
+                    inFlight.add(executor.submit(() -> fetchPage(tradingPair, interval, pageFrom, pageTo, requests)));
+                    nextPage++;
+                }
+                Page page = inFlight.poll().get();
+                candles += page.emit(sink);
+                missing += page.missing();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Backfill page failed.", cause);
+        } finally {
+            for (Future<Page> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+        return new Result(candles, missing, requests.get());
+    }
+
+    /**
+     * Fetches one page, then re-requests the span between its first and last missing candle until
+     * nothing is missing or a successful retry recovers nothing, which means the gaps are real.
+     */
+    private Page fetchPage(String tradingPair, CandleInterval interval, long from, long to, AtomicLong requests)
+            throws InterruptedException {
+        Page page = new Page(from, interval.getMillis(), (int) ((to - from) / interval.getMillis()) + 1);
+        request(tradingPair, interval, from, to, page, requests);
+        for (int attempt = 0; attempt < maxRetries && page.missing() > 0; attempt++) {
+            int before = page.count;
+            int received = request(tradingPair, interval, page.timestamp(page.firstMissing()),
+                    page.timestamp(page.lastMissing()), page, requests);
+            if (received >= 0 && page.count == before) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    private int request(String tradingPair, CandleInterval interval, long from, long to, Page page, AtomicLong requests)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            rateLimiter.acquire();
+            requests.incrementAndGet();
+            return gateIOAPI.fetchHistoricalData(tradingPair, interval.getCode(), from / 1000, to / 1000, page);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Stops the fetch threads. Backfills in progress fail.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor when the JVM has one, since fetch threads spend
+     * nearly all their time blocked on the network or the rate limiter.
+     */
+    private static ExecutorService newExecutor(int maxConcurrency) {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (Throwable e) {
+            return Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+                Thread thread = new Thread(runnable, "historical-backfill");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * The candles of one page, indexed by their position in the page.
+     */
+    private static final class Page implements CandleSink {
+        private final long from;
+        private final long step;
+        private final boolean[] present;
+        private final double[] open;
+        private final double[] high;
+        private final double[] low;
+        private final double[] close;
+        private final double[] volume;
+        private int count;
+
+        private Page(long from, long step, int size) {
+            this.from = from;
+            this.step = step;
+            this.present = new boolean[size];
+            this.open = new double[size];
+            this.high = new double[size];
+            this.low = new double[size];
+            this.close = new double[size];
+            this.volume = new double[size];
+        }
+
+        @Override
+        public void accept(long timestamp, double open, double high, double low, double close, double volume) {
+            long offset = timestamp - from;
+            // Ignore candles outside the page or off the interval grid; duplicates keep the latest values
+            if (offset < 0 || offset % step != 0 || offset / step >= present.length) {
+                return;
+            }
+            int index = (int) (offset / step);
+            if (!present[index]) {
+                present[index] = true;
+                count++;
+            }
+            this.open[index] = open;
+            this.high[index] = high;
+            this.low[index] = low;
+            this.close[index] = close;
+            this.volume[index] = volume;
+        }
+
+        private long timestamp(int index) {
+            return from + index * step;
+        }
+
+        private int missing() {
+            return present.length - count;
+        }
+
+        private int firstMissing() {
+            int index = 0;
+            while (present[index]) {
+                index++;
+            }
+            return index;
+        }
+
+        private int lastMissing() {
+            int index = present.length - 1;
+            while (present[index]) {
+                index--;
+            }
+            return index;
+        }
+
+        private int emit(CandleSink sink) {
+            for (int i = 0; i < present.length; i++) {
+                if (present[i]) {
+                    sink.accept(timestamp(i), open[i], high[i], low[i], close[i], volume[i]);
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * The outcome of a backfill.
+     */
+    public static final class Result {
+        private final long candles;
+        private final long missingCandles;
+        private final long requests;
+
+        private Result(long candles, long missingCandles, long requests) {
+            this.candles = candles;
+            this.missingCandles = missingCandles;
+            this.requests = requests;
+        }
+
+        /**
+         * Gets the number of candles passed to the sink.
+         *
+         * @return The candle count.
+         */
+        public long getCandles() {
+            return candles;
+        }
+
+        /**
+         * Gets the number of interval slots in the range that stayed empty after all retries,
+         * e.g. periods without trades or repeatedly failing requests.
+         *
+         * @return The number of missing candles.
+         */
+        public long getMissingCandles() {
+            return missingCandles;
+        }
+
+        /**
+         * Gets the number of HTTP requests made, including re-requests of gaps.
+         *
+         * @return The request count.
+         */
+        public long getRequests() {
+            return requests;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "candles=" + candles +
+                    ", missingCandles=" + missingCandles +
+                    ", requests=" + requests +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.tradingbot.data;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical requests into one.
+ * <p>
+ * The first caller for a key runs the loader; callers arriving while it is in flight, or within a
+ * short time-to-live after it completed, share its result instead of loading again. Failed loads
+ * are shared only with the callers already waiting and are never kept. Expired results are dropped
+ * as new requests come in, so the cache does not outgrow the set of keys in recent use.
+ *
+ * @param <K> The request key type.
+ * @param <V> The result type; results are shared between callers and should not be modified.
+ */
+public class SingleFlight<K, V> {
+
+    // Expired entries are swept once the map holds this many, so unused keys do not accumulate
+    private static final int SWEEP_THRESHOLD = 256;
+
+    private final long ttlNanos;
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for SingleFlight.
+     *
+     * @param ttlMillis How long a completed result keeps being shared, in milliseconds; 0 shares
+     *                  results only with callers that arrived while the request was in flight.
+     */
+    public SingleFlight(long ttlMillis) {
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("TTL must not be negative.");
+        }
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Gets the result for a key, loading it on the calling thread unless an identical request is
+     * in flight or recently completed.
+     *
+     * @param key    The request key.
+     * @param loader Loads the result when this caller leads the request.
+     * @return The loaded or shared result.
+     */
+    public V get(K key, Supplier<V> loader) {
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null.");
+        }
+        try {
+            return getAsync(key, () -> CompletableFuture.completedFuture(loader.get())).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Gets a future of the result for a key, starting the load unless an identical request is in
+     * flight or recently completed.
+     *
+     * @param key    The request key.
+     * @param loader Starts the load when this caller leads the request.
+     * @return A future of the loaded or shared result; completing or cancelling it does not affect
+     * other callers.
+     */
+    public CompletableFuture<V> getAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        if (key == null || loader == null) {
+            throw new IllegalArgumentException("Key and loader cannot be null.");
+        }
+        while (true) {
+            Flight<V> flight = flights.get(key);
+            if (flight != null && !flight.isExpired(System.nanoTime())) {
+                return flight.future.copy();
+            }
+            Flight<V> leader = new Flight<>();
+            boolean won = flight == null ? flights.putIfAbsent(key, leader) == null : flights.replace(key, flight, leader);
+            if (!won) {
+                continue; // Another caller started the request first
+            }
+            if (flights.size() > SWEEP_THRESHOLD) {
+                long now = System.nanoTime();
+                flights.values().removeIf(other -> other.isExpired(now));
+            }
+            start(key, leader, loader);
+            return leader.future.copy();
+        }
+    }
+
+    private void start(K key, Flight<V> flight, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException | Error e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+        load.whenComplete((value, failure) -> {
+            flight.expiresAt = System.nanoTime() + ttlNanos;
+            flight.done = true;
+            if (failure != null || ttlNanos == 0) {
+                flights.remove(key, flight);
+            }
+            if (failure != null) {
+                flight.future.completeExceptionally(failure instanceof CompletionException ? failure.getCause() : failure);
+            } else {
+                flight.future.complete(value);
+            }
+        });
+    }
+
+    /**
+     * Drops the shared result of a key, so the next request loads again. A request in flight is not
+     * affected for the callers already waiting on it.
+     *
+     * @param key The request key.
+     */
+    public void invalidate(K key) {
+        flights.remove(key);
+    }
+
+    /**
+     * Gets the number of keys with a request in flight or a result still shared.
+     *
+     * @return The number of keys.
+     */
+    public int size() {
+        return flights.size();
+    }
+
+    /**
+     * One request and its result.
+     */
+    private static final class Flight<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long expiresAt;
+        private volatile boolean done;
+
+        private boolean isExpired(long now) {
+            return done && now - expiresAt >= 0;
+        }
+    }
+}
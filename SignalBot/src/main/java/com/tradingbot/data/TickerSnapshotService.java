@@ -0,0 +1,197 @@
+package com.tradingbot.data;
+
+import com.tradingbot.integration.GateIOAPI;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves live tickers for any number of trading pairs from one shared snapshot.
+ * <p>
+ * The full ticker set is fetched in a single request and indexed by trading pair. A snapshot is
+ * aged from when its response arrived, and readers get it as long as it is younger than the
+ * maximum staleness. The first reader after that refreshes it; concurrent readers keep getting the
+ * last snapshot until the refresh completes, and only readers with no snapshot at all wait for it.
+ * Once a refresh has failed, the old snapshot is no longer served until a later refresh succeeds.
+ * No lock is held during the request.
+ */
+public class TickerSnapshotService {
+
+    // Failed refreshes are not retried more often than this, so an outage does not multiply requests
+    private static final long MAX_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final GateIOAPI gateIOAPI;
+    private final long maxStalenessNanos;
+
+    private volatile Snapshot snapshot;
+    private volatile long nextAttempt;
+    // The refresh started by a reader, or null while none is in flight
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+    /**
+     * Constructor for TickerSnapshotService.
+     *
+     * @param gateIOAPI          The API used to fetch the tickers.
+     * @param maxStalenessMillis The maximum age of the snapshot served, in milliseconds.
+     */
+    public TickerSnapshotService(GateIOAPI gateIOAPI, long maxStalenessMillis) {
+        if (gateIOAPI == null) {
+            throw new IllegalArgumentException("API cannot be null.");
+        }
+        if (maxStalenessMillis <= 0) {
+            throw new IllegalArgumentException("Max staleness must be greater than 0.");
+        }
+        this.gateIOAPI = gateIOAPI;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+        this.nextAttempt = System.nanoTime();
+    }
+
+    /**
+     * Gets the ticker of a trading pair, refreshing the snapshot first if it is too old.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT"), in any case.
+     * @return The ticker, shared with other readers so it must not be modified, or null if the pair
+     * is unknown or no fresh enough snapshot is available.
+     */
+    public JSONObject getTicker(String tradingPair) {
+        if (tradingPair == null) {
+            throw new IllegalArgumentException("Trading pair cannot be null.");
+        }
+        Snapshot current = current();
+        return current == null ? null : current.tickers.get(tradingPair.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets every ticker of the snapshot, refreshing it first if it is too old.
+     *
+     * @return An unmodifiable map of tickers keyed by trading pair, empty if no fresh enough
+     * snapshot is available.
+     */
+    public Map<String, JSONObject> getTickers() {
+        Snapshot current = current();
+        return current == null ? Collections.emptyMap() : current.tickers;
+    }
+
+    /**
+     * Fetches a new snapshot regardless of the age of the current one.
+     *
+     * @return true if the snapshot was refreshed, false if the request failed.
+     */
+    public boolean refresh() {
+        return fetch() != null;
+    }
+
+    /**
+     * Fetches and publishes a new snapshot.
+     *
+     * @return The new snapshot, or null if the request failed.
+     */
+    private Snapshot fetch() {
+        JSONArray tickers = gateIOAPI.fetchAllTickers();
+        long receivedAt = System.nanoTime();
+        if (tickers == null) {
+            nextAttempt = receivedAt + Math.min(maxStalenessNanos, MAX_RETRY_DELAY_NANOS);
+            return null;
+        }
+        Map<String, JSONObject> index = new HashMap<>(tickers.length() * 4 / 3 + 1);
+        for (int i = 0; i < tickers.length(); i++) {
+            JSONObject ticker = tickers.optJSONObject(i);
+            if (ticker != null && ticker.has("currency_pair")) {
+                index.put(ticker.getString("currency_pair").toUpperCase(Locale.ROOT), ticker);
+            }
+        }
+        Snapshot fetched = new Snapshot(receivedAt, System.currentTimeMillis(), Collections.unmodifiableMap(index));
+        publish(fetched);
+        return fetched;
+    }
+
+    private synchronized void publish(Snapshot fetched) {
+        // Concurrent explicit refreshes may complete out of order; keep the newest
+        Snapshot current = snapshot;
+        if (current == null || fetched.fetchedAt - current.fetchedAt > 0) {
+            snapshot = fetched;
+        }
+    }
+
+    /**
+     * Returns the snapshot if it is fresh enough, refreshing it once when it is not.
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && isFresh(current)) {
+            return current;
+        }
+        CompletableFuture<Snapshot> refresh = inFlight.get();
+        if (refresh == null) {
+            if (System.nanoTime() - nextAttempt < 0) {
+                return null; // The last refresh failed recently
+            }
+            CompletableFuture<Snapshot> started = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, started)) {
+                try {
+                    Snapshot latest = snapshot;
+                    // Another reader may have completed a refresh just before this one started
+                    Snapshot refreshed = latest != null && isFresh(latest) ? latest : fetch();
+                    started.complete(refreshed);
+                    return refreshed;
+                } catch (RuntimeException | Error e) {
+                    started.complete(null);
+                    throw e;
+                } finally {
+                    inFlight.set(null);
+                }
+            }
+            refresh = inFlight.get();
+            if (refresh == null) {
+                return current(); // The other reader's refresh already completed
+            }
+        }
+        // Another reader is refreshing: serve the last snapshot meanwhile, or wait for the first one
+        return current != null ? current : refresh.join();
+    }
+
+    private boolean isFresh(Snapshot snapshot) {
+        return System.nanoTime() - snapshot.fetchedAt < maxStalenessNanos;
+    }
+
+    /**
+     * Gets the time the response of the current snapshot was received.
+     *
+     * @return The time in epoch milliseconds, or -1 if no snapshot has been fetched.
+     */
+    public long getSnapshotTimestamp() {
+        Snapshot current = snapshot;
+        return current == null ? -1 : current.timestamp;
+    }
+
+    /**
+     * Gets the maximum age of the snapshot served.
+     *
+     * @return The maximum staleness in milliseconds.
+     */
+    public long getMaxStalenessMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxStalenessNanos);
+    }
+
+    /**
+     * An immutable set of tickers and when it was fetched.
+     */
+    private static final class Snapshot {
+        private final long fetchedAt;
+        private final long timestamp;
+        private final Map<String, JSONObject> tickers;
+
+        private Snapshot(long fetchedAt, long timestamp, Map<String, JSONObject> tickers) {
+            this.fetchedAt = fetchedAt;
+            this.timestamp = timestamp;
+            this.tickers = tickers;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.tradingbot.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Builds OHLCV bars from individual trades and passes each completed bar to a {@link CandleSink}.
+ * <p>
+ * Bars can close on elapsed time, on a number of trades, on traded quantity or on traded notional.
+ * State is kept in primitive fields, so feeding a trade does not allocate.
+ */
+public class TradeBarBuilder {
+
+    /**
+     * The rule that decides when a bar is complete.
+     */
+    public enum BarType {
+        /** Bars covering fixed, epoch-aligned time periods; the threshold is the period in milliseconds. */
+        TIME,
+        /** Bars of a fixed number of trades; the threshold is the trade count. */
+        TICK,
+        /** Bars closing once the traded quantity reaches the threshold. */
+        VOLUME,
+        /** Bars closing once the traded notional, price times size, reaches the threshold. */
+        DOLLAR
+    }
+
+    private final BarType type;
+    private final double threshold;
+    // The threshold of time and tick bars as a whole number
+    private final long wholeThreshold;
+    private final CandleSink sink;
+
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    // The bar being built
+    private boolean forming;
+    private long start;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+    private double notional;
+    private long trades;
+
+    /**
+     * Constructor for TradeBarBuilder.
+     *
+     * @param type      The rule that decides when a bar is complete.
+     * @param threshold The period in milliseconds for time bars, the trade count for tick bars,
+     *                  the quantity for volume bars or the notional for dollar bars.
+     * @param sink      The consumer of completed bars.
+     */
+    public TradeBarBuilder(BarType type, double threshold, CandleSink sink) {
+        if (type == null || sink == null) {
+            throw new IllegalArgumentException("Bar type and sink cannot be null.");
+        }
+        if (!(threshold > 0)) {
+            throw new IllegalArgumentException("Threshold must be greater than 0.");
+        }
+        if ((type == BarType.TIME || type == BarType.TICK) && threshold != Math.rint(threshold)) {
+            throw new IllegalArgumentException("Threshold of " + type + " bars must be a whole number.");
+        }
+        this.type = type;
+        this.threshold = threshold;
+        this.wholeThreshold = (long) threshold;
+        this.sink = sink;
+    }
+
+    /**
+     * Creates a builder of time bars, e.g. 1 second bars below Gate.io's smallest candle interval.
+     *
+     * @param periodMillis The bar period in milliseconds.
+     * @param sink         The consumer of completed bars.
+     * @return A new TradeBarBuilder.
+     */
+    public static TradeBarBuilder timeBars(long periodMillis, CandleSink sink) {
+        return new TradeBarBuilder(BarType.TIME, periodMillis, sink);
+    }
+
+    /**
+     * Creates a builder of bars holding a fixed number of trades.
+     *
+     * @param tradesPerBar The number of trades per bar.
+     * @param sink         The consumer of completed bars.
+     * @return A new TradeBarBuilder.
+     */
+    public static TradeBarBuilder tickBars(int tradesPerBar, CandleSink sink) {
+        return new TradeBarBuilder(BarType.TICK, tradesPerBar, sink);
+    }
+
+    /**
+     * Creates a builder of bars that close once the traded quantity reaches a threshold.
+     *
+     * @param volumePerBar The quantity per bar.
+     * @param sink         The consumer of completed bars.
+     * @return A new TradeBarBuilder.
+     */
+    public static TradeBarBuilder volumeBars(double volumePerBar, CandleSink sink) {
+        return new TradeBarBuilder(BarType.VOLUME, volumePerBar, sink);
+    }
+
+    /**
+     * Creates a builder of bars that close once the traded notional reaches a threshold.
+     *
+     * @param notionalPerBar The notional per bar, in quote currency.
+     * @param sink           The consumer of completed bars.
+     * @return A new TradeBarBuilder.
+     */
+    public static TradeBarBuilder dollarBars(double notionalPerBar, CandleSink sink) {
+        return new TradeBarBuilder(BarType.DOLLAR, notionalPerBar, sink);
+    }
+
+    /**
+     * Feeds one trade. Trades must arrive in non-decreasing time order.
+     * The trade that reaches a volume or dollar threshold is included whole in the bar it closes.
+     *
+     * @param timestamp The trade time in epoch milliseconds.
+     * @param price     The trade price.
+     * @param size      The traded quantity.
+     */
+    public void onTrade(long timestamp, double price, double size) {
+        if (timestamp < lastTimestamp) {
+            throw new IllegalArgumentException("Trades must be fed in time order.");
+        }
+        if (!(price > 0) || !(size >= 0)) {
+            throw new IllegalArgumentException("Trade price must be positive and size must not be negative.");
+        }
+        lastTimestamp = timestamp;
+
+        if (type == BarType.TIME) {
+            // A time bar is known to be complete once a trade of a later period arrives
+            advanceTo(timestamp);
+        }
+        if (!forming) {
+            forming = true;
+            start = type == BarType.TIME ? Math.floorDiv(timestamp, wholeThreshold) * wholeThreshold : timestamp;
+            open = price;
+            high = price;
+            low = price;
+            volume = 0;
+            notional = 0;
+            trades = 0;
+        } else if (price > high) {
+            high = price;
+        } else if (price < low) {
+            low = price;
+        }
+        close = price;
+        volume += size;
+        notional += price * size;
+        trades++;
+
+        switch (type) {
+            case TICK:
+                if (trades >= wholeThreshold) {
+                    emit();
+                }
+                break;
+            case VOLUME:
+                if (volume >= threshold) {
+                    emit();
+                }
+                break;
+            case DOLLAR:
+                if (notional >= threshold) {
+                    emit();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Advances the clock of a time bar builder without a trade, emitting the forming bar if its
+     * period has ended. Periods without trades produce no bar. Has no effect on other bar types.
+     *
+     * @param timestamp The current time in epoch milliseconds.
+     * @return true if a bar was emitted, false otherwise.
+     */
+    public boolean advanceTo(long timestamp) {
+        if (type != BarType.TIME || !forming || timestamp < start + wholeThreshold) {
+            return false;
+        }
+        emit();
+        return true;
+    }
+
+    /**
+     * Emits the forming bar even though it is not complete, e.g. at the end of a replay.
+     *
+     * @return true if a bar was emitted, false if no bar was forming.
+     */
+    public boolean flush() {
+        if (!forming) {
+            return false;
+        }
+        emit();
+        return true;
+    }
+
+    /**
+     * Checks whether trades of an incomplete bar are waiting to be emitted.
+     *
+     * @return true if a bar is forming, false otherwise.
+     */
+    public boolean hasFormingBar() {
+        return forming;
+    }
+
+    /**
+     * Gets the rule that decides when a bar is complete.
+     *
+     * @return The bar type.
+     */
+    public BarType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the threshold at which a bar is complete.
+     *
+     * @return The period in milliseconds, trade count, quantity or notional, depending on the bar type.
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    private void emit() {
+        forming = false;
+        sink.accept(start, open, high, low, close, volume);
+    }
+
+    /**
+     * Replays a recorded trade file into a builder, then flushes the last bar.
+     * Each line holds {@code timestamp,price,size} with the timestamp in epoch milliseconds;
+     * blank lines, lines starting with '#' and a header line are skipped.
+     *
+     * @param file    The trade file.
+     * @param builder The builder to feed.
+     * @return The number of trades replayed.
+     * @throws IOException If the file cannot be read.
+     */
+    public static long replay(Path file, TradeBarBuilder builder) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+                int first = line.indexOf(',');
+                int second = first < 0 ? -1 : line.indexOf(',', first + 1);
+                if (second < 0) {
+                    throw new IllegalArgumentException("Malformed trade on line " + lineNumber + ": " + line);
+                }
+                long timestamp;
+                try {
+                    timestamp = Long.parseLong(line.substring(0, first).trim());
+                } catch (NumberFormatException e) {
+                    if (count == 0 && lineNumber == 1) {
+                        continue; // Header line
+                    }
+                    throw new IllegalArgumentException("Malformed trade on line " + lineNumber + ": " + line, e);
+                }
+                int end = line.indexOf(',', second + 1);
+                double price = Double.parseDouble(line.substring(first + 1, second).trim());
+                double size = Double.parseDouble(line.substring(second + 1, end < 0 ? line.length() : end).trim());
+                builder.onTrade(timestamp, price, size);
+                count++;
+            }
+        }
+        builder.flush();
+        return count;
+    }
+}
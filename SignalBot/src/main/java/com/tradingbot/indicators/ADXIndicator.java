@@ -1,7 +1,9 @@
 package com.tradingbot.indicators;
 
+import com.tradingbot.data.CandleSeries;
 import com.tradingbot.data.OHLCVData;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -33,70 +35,187 @@ public class ADXIndicator {
         if (data == null || data.size() < period) {
             throw new IllegalArgumentException("Not enough data to calculate ADX.");
         }
+        return calculate(CandleSeries.of(data));
+    }
 
-        double[] adxValues = new double[data.size()];
-        double[] trValues = new double[data.size()];
-        double[] plusDMValues = new double[data.size()];
-        double[] minusDMValues = new double[data.size()];
+    /**
+     * Calculates the ADX for a candle series.
+     *
+     * @param series The candle series.
+     * @return An array of ADX values corresponding to the bars in the series.
+     */
+    public double[] calculate(CandleSeries series) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate ADX.");
+        }
+        return calculate(series, new double[series.size()], new IndicatorWorkspace());
+    }
 
-        // Calculate True Range (TR), +DM, and -DM
-        for (int i = 1; i < data.size(); i++) {
-            double highDiff = data.get(i).getHigh() - data.get(i - 1).getHigh();
-            double lowDiff = data.get(i - 1).getLow() - data.get(i).getLow();
-
-            trValues[i] = Math.max(
-                    data.get(i).getHigh() - data.get(i).getLow(),
-                    Math.max(Math.abs(data.get(i).getHigh() - data.get(i - 1).getClose()),
-                             Math.abs(data.get(i).getLow() - data.get(i - 1).getClose()))
-            );
-
-            plusDMValues[i] = highDiff > lowDiff && highDiff > 0 ? highDiff : 0;
-            minusDMValues[i] = lowDiff > highDiff && lowDiff > 0 ? lowDiff : 0;
+    /**
+     * Calculates the ADX for a candle series into a caller-owned buffer.
+     * Intermediate TR, DM and DX columns are taken from the workspace, so repeated calls
+     * with the same buffers allocate nothing.
+     *
+     * @param series    The candle series.
+     * @param out       The output buffer; must hold at least series.size() values.
+     * @param workspace Scratch space for the intermediate columns.
+     * @return The output buffer, with the first series.size() entries filled.
+     */
+    public double[] calculate(CandleSeries series, double[] out, IndicatorWorkspace workspace) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate ADX.");
         }
+        int size = series.size();
+        IndicatorUtils.checkOutput(out, size);
+        double[] high = series.highs();
+        double[] low = series.lows();
+        double[] close = series.closes();
+
+        double[] trValues = workspace.doubles(0, size);
+        double[] plusDMValues = workspace.doubles(1, size);
+        double[] minusDMValues = workspace.doubles(2, size);
+
+        // Calculate True Range (TR), +DM, and -DM
+        trValues[0] = 0;
+        plusDMValues[0] = 0;
+        minusDMValues[0] = 0;
+        VectorKernels.trueRange(high, low, close, 1, size, trValues);
+        VectorKernels.directionalMovement(high, low, 1, size, plusDMValues, minusDMValues);
 
         // Calculate smoothed TR, +DI, -DI, and DX
-        double[] smoothedTR = smooth(trValues, period);
-        double[] smoothedPlusDM = smooth(plusDMValues, period);
-        double[] smoothedMinusDM = smooth(minusDMValues, period);
-
-        double[] plusDI = new double[data.size()];
-        double[] minusDI = new double[data.size()];
-        double[] dx = new double[data.size()];
-
-        for (int i = period; i < data.size(); i++) {
-            plusDI[i] = (smoothedPlusDM[i] / smoothedTR[i]) * 100;
-            minusDI[i] = (smoothedMinusDM[i] / smoothedTR[i]) * 100;
-            dx[i] = (Math.abs(plusDI[i] - minusDI[i]) / (plusDI[i] + minusDI[i])) * 100;
+        double[] smoothedTR = smooth(trValues, size, period, workspace.doubles(3, size));
+        double[] smoothedPlusDM = smooth(plusDMValues, size, period, workspace.doubles(4, size));
+        double[] smoothedMinusDM = smooth(minusDMValues, size, period, workspace.doubles(5, size));
+
+        // The raw columns are no longer needed, so DX reuses the TR buffer
+        double[] dx = trValues;
+        Arrays.fill(dx, 0, Math.min(period, size), 0);
+        for (int i = period; i < size; i++) {
+            double plusDI = (smoothedPlusDM[i] / smoothedTR[i]) * 100;
+            double minusDI = (smoothedMinusDM[i] / smoothedTR[i]) * 100;
+            dx[i] = (Math.abs(plusDI - minusDI) / (plusDI + minusDI)) * 100;
         }
 
         // Calculate ADX
-        double[] smoothedDX = smooth(dx, period);
-        System.arraycopy(smoothedDX, 0, adxValues, 0, data.size());
-
-        return adxValues;
+        return smooth(dx, size, period, out);
     }
 
     /**
      * Smooths the input values using a rolling sum over the specified period.
      *
      * @param values The input values to smooth.
+     * @param length The number of valid input values.
      * @param period The lookback period for smoothing.
-     * @return An array of smoothed values.
+     * @param out    The output buffer.
+     * @return The output buffer holding the smoothed values.
      */
-    private double[] smooth(double[] values, int period) {
-        double[] smoothed = new double[values.length];
+    private static double[] smooth(double[] values, int length, int period, double[] out) {
         double sum = 0;
 
-        for (int i = 0; i < values.length; i++) {
+        for (int i = 0; i < length; i++) {
             sum += values[i];
             if (i >= period) {
                 sum -= values[i - period];
             }
 
-            smoothed[i] = i >= period - 1 ? sum / period : 0;
+            out[i] = i >= period - 1 ? sum / period : 0;
         }
 
-        return smoothed;
+        return out;
+    }
+
+    /**
+     * Gets the number of trailing bars {@link #calculateLatest(CandleSeries)} reads.
+     *
+     * @return The lookback in bars.
+     */
+    public int getLookback() {
+        return 2 * period;
+    }
+
+    /**
+     * Calculates only the latest ADX value from the last {@link #getLookback()} bars.
+     * The ADX is a rolling average of rolling averages, so this window reproduces
+     * {@link #calculate(CandleSeries)} without reading older bars.
+     *
+     * @param series The candle series.
+     * @return The ADX value at the latest bar.
+     */
+    public double calculateLatest(CandleSeries series) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate ADX.");
+        }
+        int size = series.size();
+        if (size < getLookback()) {
+            // The DX window still contains warmup bars; defer to the full calculation
+            return calculate(series)[size - 1];
+        }
+
+        double[] high = series.highs();
+        double[] low = series.lows();
+        double[] close = series.closes();
+
+        double trSum = 0;
+        double plusDMSum = 0;
+        double minusDMSum = 0;
+        double dxSum = 0;
+        int from = size - getLookback() + 1;
+        for (int i = from; i < size; i++) {
+            trSum += trueRange(high, low, close, i);
+            plusDMSum += plusDM(high, low, i);
+            minusDMSum += minusDM(high, low, i);
+            if (i - period >= from) {
+                trSum -= trueRange(high, low, close, i - period);
+                plusDMSum -= plusDM(high, low, i - period);
+                minusDMSum -= minusDM(high, low, i - period);
+            }
+
+            if (i >= size - period) {
+                double smoothedTR = trSum / period;
+                double plusDI = ((plusDMSum / period) / smoothedTR) * 100;
+                double minusDI = ((minusDMSum / period) / smoothedTR) * 100;
+                dxSum += (Math.abs(plusDI - minusDI) / (plusDI + minusDI)) * 100;
+            }
+        }
+        return dxSum / period;
+    }
+
+    /**
+     * Calculates the True Range of bar i.
+     */
+    private static double trueRange(double[] high, double[] low, double[] close, int i) {
+        return Math.max(
+                high[i] - low[i],
+                Math.max(Math.abs(high[i] - close[i - 1]),
+                         Math.abs(low[i] - close[i - 1]))
+        );
+    }
+
+    /**
+     * Calculates the +DM of bar i.
+     */
+    private static double plusDM(double[] high, double[] low, int i) {
+        double highDiff = high[i] - high[i - 1];
+        double lowDiff = low[i - 1] - low[i];
+        return highDiff > lowDiff && highDiff > 0 ? highDiff : 0;
+    }
+
+    /**
+     * Calculates the -DM of bar i.
+     */
+    private static double minusDM(double[] high, double[] low, int i) {
+        double highDiff = high[i] - high[i - 1];
+        double lowDiff = low[i - 1] - low[i];
+        return lowDiff > highDiff && lowDiff > 0 ? lowDiff : 0;
+    }
+
+    /**
+     * Creates a streaming counterpart of this indicator with the same parameters.
+     *
+     * @return A new, unseeded StreamingADXIndicator.
+     */
+    public StreamingADXIndicator stream() {
+        return new StreamingADXIndicator(period);
     }
 
     /**
@@ -1,6 +1,8 @@
 package com.tradingbot.indicators;
 
-import java.util.ArrayList;
+import com.tradingbot.data.CandleSeries;
+
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -35,51 +37,218 @@ public class BollingerBandsIndicator {
         if (closingPrices == null || closingPrices.size() < period) {
             throw new IllegalArgumentException("Not enough data to calculate Bollinger Bands.");
         }
+        return calculate(IndicatorUtils.toArray(closingPrices), closingPrices.size());
+    }
+
+    /**
+     * Calculates the Bollinger Bands for the closing prices in a candle series.
+     *
+     * @param series The candle series.
+     * @return A 2D array containing upper band, middle band, and lower band values.
+     */
+    public double[][] calculate(CandleSeries series) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate Bollinger Bands.");
+        }
+        return calculate(series.closes(), series.size());
+    }
+
+    /**
+     * Calculates the Bollinger Bands for a candle series into caller-owned buffers.
+     * The upper band buffer holds the rolling standard deviation until the bands are expanded,
+     * so no intermediate arrays are allocated.
+     *
+     * @param series The candle series.
+     * @param out    The upper, middle and lower band buffers; each must hold at least series.size() values.
+     * @return The output buffers, with the first series.size() entries of each filled.
+     */
+    public double[][] calculate(CandleSeries series, double[][] out) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate Bollinger Bands.");
+        }
+        int length = series.size();
+        if (out == null || out.length < 3) {
+            throw new IllegalArgumentException("Output must provide upper, middle and lower band buffers.");
+        }
+        IndicatorUtils.checkOutput(out[0], length);
+        IndicatorUtils.checkOutput(out[1], length);
+        IndicatorUtils.checkOutput(out[2], length);
+
+        Arrays.fill(out[1], 0, period - 1, 0);
+        RollingStatistics.compute(series.closes(), length, period, out[1], out[0]);
+        bands(out[1], out[0], length, multiplier, out[0], out[2]);
+        return out;
+    }
+
+    /**
+     * Calculates the Bollinger Bands for several standard deviation multipliers in one pass.
+     * The rolling mean and standard deviation are computed once and shared by every multiplier;
+     * the middle band array is the same instance in every result.
+     *
+     * @param closingPrices The list of closing prices.
+     * @param multipliers   The standard deviation multipliers to evaluate.
+     * @return A 3D array indexed by [multiplier][upper, middle, lower][bar].
+     */
+    public double[][][] calculate(List<Double> closingPrices, double... multipliers) {
+        if (closingPrices == null || closingPrices.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate Bollinger Bands.");
+        }
+        return calculate(IndicatorUtils.toArray(closingPrices), closingPrices.size(), multipliers);
+    }
+
+    /**
+     * Calculates the Bollinger Bands of a candle series for several standard deviation multipliers in one pass.
+     *
+     * @param series      The candle series.
+     * @param multipliers The standard deviation multipliers to evaluate.
+     * @return A 3D array indexed by [multiplier][upper, middle, lower][bar].
+     */
+    public double[][][] calculate(CandleSeries series, double... multipliers) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate Bollinger Bands.");
+        }
+        return calculate(series.closes(), series.size(), multipliers);
+    }
 
-        double[] upperBand = new double[closingPrices.size()];
-        double[] middleBand = new double[closingPrices.size()];
-        double[] lowerBand = new double[closingPrices.size()];
+    /**
+     * Calculates the Bollinger Bands over the first {@code length} entries of an array.
+     *
+     * @param closingPrices The array of closing prices.
+     * @param length        The number of valid entries.
+     * @return A 2D array containing upper band, middle band, and lower band values.
+     */
+    private double[][] calculate(double[] closingPrices, int length) {
+        return calculate(closingPrices, length, new double[] { multiplier })[0];
+    }
 
-        for (int i = period - 1; i < closingPrices.size(); i++) {
-            List<Double> window = closingPrices.subList(i - period + 1, i + 1);
-            double mean = calculateMean(window);
-            double stdDev = calculateStandardDeviation(window, mean);
+    private double[][][] calculate(double[] closingPrices, int length, double[] multipliers) {
+        if (multipliers == null || multipliers.length == 0) {
+            throw new IllegalArgumentException("At least one multiplier is required.");
+        }
+        for (double value : multipliers) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Period and multiplier must be greater than 0.");
+            }
+        }
 
-            middleBand[i] = mean;
-            upperBand[i] = mean + (multiplier * stdDev);
-            lowerBand[i] = mean - (multiplier * stdDev);
+        double[] middleBand = new double[length];
+        double[] stdDev = new double[length];
+        RollingStatistics.compute(closingPrices, length, period, middleBand, stdDev);
+
+        double[][][] bands = new double[multipliers.length][][];
+        for (int m = 0; m < multipliers.length; m++) {
+            bands[m] = bands(middleBand, stdDev, length, multipliers[m]);
         }
+        return bands;
+    }
 
+    /**
+     * Builds the bands from a precomputed rolling mean and standard deviation.
+     *
+     * @param middleBand The rolling mean, used as the middle band.
+     * @param stdDev     The rolling standard deviation.
+     * @param length     The number of valid entries.
+     * @param multiplier The standard deviation multiplier.
+     * @return A 2D array containing upper band, middle band, and lower band values.
+     */
+    double[][] bands(double[] middleBand, double[] stdDev, int length, double multiplier) {
+        double[] upperBand = new double[length];
+        double[] lowerBand = new double[length];
+        bands(middleBand, stdDev, length, multiplier, upperBand, lowerBand);
         return new double[][] { upperBand, middleBand, lowerBand };
     }
 
     /**
-     * Calculates the mean of a list of values.
+     * Expands a precomputed rolling mean and standard deviation into caller-owned band buffers.
+     * The upper band buffer may be the standard deviation buffer itself.
+     *
+     * @param middleBand The rolling mean.
+     * @param stdDev     The rolling standard deviation.
+     * @param length     The number of valid entries.
+     * @param multiplier The standard deviation multiplier.
+     * @param upperBand  The output buffer for the upper band.
+     * @param lowerBand  The output buffer for the lower band.
+     */
+    void bands(double[] middleBand, double[] stdDev, int length, double multiplier,
+               double[] upperBand, double[] lowerBand) {
+        int warmup = Math.min(period - 1, length);
+        Arrays.fill(upperBand, 0, warmup, 0);
+        Arrays.fill(lowerBand, 0, warmup, 0);
+        VectorKernels.bands(middleBand, stdDev, multiplier, period - 1, length, upperBand, lowerBand);
+    }
+
+    /**
+     * Calculates the Bollinger Bands of a candle series for several periods in a single pass.
+     * Each row equals {@code new BollingerBandsIndicator(periods[k], multiplier).calculate(series)}.
      *
-     * @param values The list of values.
-     * @return The mean of the values.
+     * @param series     The candle series.
+     * @param multiplier The standard deviation multiplier.
+     * @param periods    The periods to evaluate.
+     * @return A 3D array indexed by [period][upper, middle, lower][bar].
      */
-    private double calculateMean(List<Double> values) {
-        double sum = 0;
-        for (double value : values) {
-            sum += value;
+    public static double[][][] sweep(CandleSeries series, double multiplier, int... periods) {
+        int maxPeriod = IndicatorUtils.checkPeriods(periods);
+        if (multiplier <= 0) {
+            throw new IllegalArgumentException("Period and multiplier must be greater than 0.");
+        }
+        if (series == null || series.size() < maxPeriod) {
+            throw new IllegalArgumentException("Not enough data to calculate Bollinger Bands.");
+        }
+
+        int size = series.size();
+        double[][][] bands = new double[periods.length][3][size];
+        double[][] mean = new double[periods.length][];
+        double[][] stdDev = new double[periods.length][];
+        for (int k = 0; k < periods.length; k++) {
+            mean[k] = bands[k][1];
+            // The upper band holds the standard deviation until the bands are expanded
+            stdDev[k] = bands[k][0];
         }
-        return sum / values.size();
+        RollingStatistics.computeAll(series.closes(), size, periods, mean, stdDev);
+        for (int k = 0; k < periods.length; k++) {
+            VectorKernels.bands(mean[k], stdDev[k], multiplier, periods[k] - 1, size, bands[k][0], bands[k][2]);
+        }
+        return bands;
     }
 
     /**
-     * Calculates the standard deviation of a list of values.
+     * Calculates only the latest Bollinger Bands from the last {@code period} closing prices.
      *
-     * @param values The list of values.
-     * @param mean   The mean of the values.
-     * @return The standard deviation of the values.
+     * @param series The candle series.
+     * @return An array containing the latest upper band, middle band, and lower band values.
      */
-    private double calculateStandardDeviation(List<Double> values, double mean) {
-        double sum = 0;
-        for (double value : values) {
-            sum += Math.pow(value - mean, 2);
+    public double[] calculateLatest(CandleSeries series) {
+        return calculateLatest(series, new double[3]);
+    }
+
+    /**
+     * Calculates only the latest Bollinger Bands into a caller-owned buffer.
+     *
+     * @param series The candle series.
+     * @param out    A buffer of at least 3 values for the upper, middle and lower band.
+     * @return The output buffer.
+     */
+    public double[] calculateLatest(CandleSeries series, double[] out) {
+        IndicatorUtils.checkOutput(out, 3);
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate Bollinger Bands.");
         }
-        return Math.sqrt(sum / values.size());
+        int size = series.size();
+        double mean = RollingStatistics.windowMean(series.closes(), size - period, size);
+        double stdDev = Math.sqrt(RollingStatistics.windowSquaredDeviations(series.closes(), size - period, size, mean) / period);
+        out[0] = mean + (multiplier * stdDev);
+        out[1] = mean;
+        out[2] = mean - (multiplier * stdDev);
+        return out;
+    }
+
+    /**
+     * Creates a streaming counterpart of this indicator with the same parameters.
+     *
+     * @return A new, unseeded StreamingBollingerBandsIndicator.
+     */
+    public StreamingBollingerBandsIndicator stream() {
+        return new StreamingBollingerBandsIndicator(period, multiplier);
     }
 
     /**
@@ -1,5 +1,8 @@
 package com.tradingbot.indicators;
 
+import com.tradingbot.data.CandleSeries;
+
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -31,25 +34,215 @@ public class EMAIndicator {
         if (prices == null || prices.size() < period) {
             throw new IllegalArgumentException("Not enough data to calculate EMA.");
         }
+        return calculate(IndicatorUtils.toArray(prices), prices.size());
+    }
+
+    /**
+     * Calculates the EMA for an array of prices.
+     *
+     * @param prices The array of prices.
+     * @return An array of EMA values corresponding to the input prices.
+     */
+    public double[] calculate(double[] prices) {
+        if (prices == null || prices.length < period) {
+            throw new IllegalArgumentException("Not enough data to calculate EMA.");
+        }
+        return calculate(prices, prices.length);
+    }
+
+    /**
+     * Calculates the EMA of the closing prices in a candle series.
+     *
+     * @param series The candle series.
+     * @return An array of EMA values corresponding to the bars in the series.
+     */
+    public double[] calculate(CandleSeries series) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate EMA.");
+        }
+        return calculate(series.closes(), series.size());
+    }
 
-        double[] emaValues = new double[prices.size()];
+    /**
+     * Calculates the EMA of the closing prices in a candle series into a caller-owned buffer.
+     *
+     * @param series The candle series.
+     * @param out    The output buffer; must hold at least series.size() values.
+     * @return The output buffer, with the first series.size() entries filled.
+     */
+    public double[] calculate(CandleSeries series, double[] out) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate EMA.");
+        }
+        IndicatorUtils.checkOutput(out, series.size());
+        return calculate(series.closes(), series.size(), out);
+    }
+
+    /**
+     * Calculates the EMA over the first {@code length} entries of an array.
+     *
+     * @param prices The array of prices.
+     * @param length The number of valid entries.
+     * @return An array of EMA values of the given length.
+     */
+    double[] calculate(double[] prices, int length) {
+        return calculate(prices, length, new double[length]);
+    }
+
+    /**
+     * Calculates the EMA over the first {@code length} entries of an array into {@code emaValues}.
+     * Entries before the first full period are zeroed, so the buffer may be reused.
+     *
+     * @param prices    The array of prices.
+     * @param length    The number of valid entries.
+     * @param emaValues The output buffer.
+     * @return The output buffer.
+     */
+    double[] calculate(double[] prices, int length, double[] emaValues) {
         double multiplier = 2.0 / (period + 1);
+        Arrays.fill(emaValues, 0, period - 1, 0);
 
         // Initialize the first EMA value with the SMA of the first period
         double sum = 0;
         for (int i = 0; i < period; i++) {
-            sum += prices.get(i);
+            sum += prices[i];
         }
         emaValues[period - 1] = sum / period;
 
         // Calculate EMA for the rest of the values
-        for (int i = period; i < prices.size(); i++) {
-            emaValues[i] = ((prices.get(i) - emaValues[i - 1]) * multiplier) + emaValues[i - 1];
+        for (int i = period; i < length; i++) {
+            emaValues[i] = ((prices[i] - emaValues[i - 1]) * multiplier) + emaValues[i - 1];
         }
 
         return emaValues;
     }
 
+    /**
+     * Calculates the EMA of the closing prices for several periods in a single pass over the series.
+     * Each row equals {@code new EMAIndicator(periods[k]).calculate(series)}.
+     *
+     * @param series  The candle series.
+     * @param periods The periods to evaluate.
+     * @return A matrix indexed by [period][bar].
+     */
+    public static double[][] sweep(CandleSeries series, int... periods) {
+        int maxPeriod = IndicatorUtils.checkPeriods(periods);
+        if (series == null || series.size() < maxPeriod) {
+            throw new IllegalArgumentException("Not enough data to calculate EMA.");
+        }
+
+        int size = series.size();
+        int count = periods.length;
+        double[] close = series.closes();
+        double[][] emaValues = new double[count][size];
+        double[] ema = new double[count];
+
+        // Walk the series in cache-sized blocks, advancing every period across each block in turn
+        for (int start = 0; start < size; start += IndicatorUtils.SWEEP_BLOCK) {
+            int end = Math.min(size, start + IndicatorUtils.SWEEP_BLOCK);
+
+            // Periods are advanced in pairs so their independent recurrences overlap in the pipeline
+            int k = 0;
+            for (; k + 1 < count; k += 2) {
+                int shared = Math.min(end, Math.max(start, Math.max(periods[k], periods[k + 1])));
+                advance(close, periods[k], start, shared, ema, k, emaValues[k]);
+                advance(close, periods[k + 1], start, shared, ema, k + 1, emaValues[k + 1]);
+
+                double firstMultiplier = 2.0 / (periods[k] + 1);
+                double secondMultiplier = 2.0 / (periods[k + 1] + 1);
+                double[] firstRow = emaValues[k];
+                double[] secondRow = emaValues[k + 1];
+                double first = ema[k];
+                double second = ema[k + 1];
+                for (int i = shared; i < end; i++) {
+                    double price = close[i];
+                    first = ((price - first) * firstMultiplier) + first;
+                    second = ((price - second) * secondMultiplier) + second;
+                    firstRow[i] = first;
+                    secondRow[i] = second;
+                }
+                ema[k] = first;
+                ema[k + 1] = second;
+            }
+            if (k < count) {
+                advance(close, periods[k], start, end, ema, k, emaValues[k]);
+            }
+        }
+        return emaValues;
+    }
+
+    /**
+     * Advances one period of a sweep from the start of the current block up to bar {@code to}.
+     */
+    private static void advance(double[] close, int period, int from, int to, double[] ema, int k, double[] row) {
+        double multiplier = 2.0 / (period + 1);
+        double value = ema[k];
+        int i = from;
+        // Accumulate the seed SMA until the first period is complete
+        for (; i < to && i < period; i++) {
+            value += close[i];
+            if (i == period - 1) {
+                value /= period;
+                row[i] = value;
+            }
+        }
+        for (; i < to; i++) {
+            value = ((close[i] - value) * multiplier) + value;
+            row[i] = value;
+        }
+        ema[k] = value;
+    }
+
+    /**
+     * Gets the number of trailing bars {@link #calculateLatest(CandleSeries)} reads.
+     *
+     * @return The lookback in bars.
+     */
+    public int getLookback() {
+        return IndicatorUtils.CONVERGENCE_PERIODS * period;
+    }
+
+    /**
+     * Calculates only the latest EMA value, warming up over the last {@link #getLookback()} bars
+     * instead of the whole series. The result matches {@link #calculate(CandleSeries)} exactly when
+     * the series is no longer than the lookback, and converges to it otherwise.
+     *
+     * @param series The candle series.
+     * @return The EMA value at the latest bar.
+     */
+    public double calculateLatest(CandleSeries series) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate EMA.");
+        }
+        int size = series.size();
+        return latest(series.closes(), Math.max(0, size - getLookback()), size);
+    }
+
+    /**
+     * Calculates the EMA of {@code values[from..to)} and returns its last value.
+     */
+    double latest(double[] values, int from, int to) {
+        double multiplier = 2.0 / (period + 1);
+        double sum = 0;
+        for (int i = from; i < from + period; i++) {
+            sum += values[i];
+        }
+        double ema = sum / period;
+        for (int i = from + period; i < to; i++) {
+            ema = ((values[i] - ema) * multiplier) + ema;
+        }
+        return ema;
+    }
+
+    /**
+     * Creates a streaming counterpart of this indicator with the same parameters.
+     *
+     * @return A new, unseeded StreamingEMAIndicator.
+     */
+    public StreamingEMAIndicator stream() {
+        return new StreamingEMAIndicator(period);
+    }
+
     /**
      * Gets the period for this EMA indicator.
      *
@@ -1,8 +1,9 @@
 package com.tradingbot.indicators;
 
+import com.tradingbot.data.CandleSeries;
 import com.tradingbot.data.OHLCVData;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -43,53 +44,147 @@ public class IchimokuIndicator {
         if (data == null || data.size() < Math.max(tenkanPeriod, Math.max(kijunPeriod, senkouSpanBPeriod))) {
             throw new IllegalArgumentException("Not enough data to calculate Ichimoku components.");
         }
+        return calculate(CandleSeries.of(data));
+    }
 
-        double[] tenkanSen = calculateLine(data, tenkanPeriod);
-        double[] kijunSen = calculateLine(data, kijunPeriod);
+    /**
+     * Calculates the Ichimoku Cloud components for a candle series.
+     *
+     * @param series The candle series.
+     * @return A 2D array containing Ichimoku components: [Tenkan-sen, Kijun-sen, Senkou Span A, Senkou Span B, Chikou Span].
+     */
+    public double[][] calculate(CandleSeries series) {
+        if (series == null || series.size() < Math.max(tenkanPeriod, Math.max(kijunPeriod, senkouSpanBPeriod))) {
+            throw new IllegalArgumentException("Not enough data to calculate Ichimoku components.");
+        }
 
-        // Senkou Span A: Average of Tenkan-sen and Kijun-sen, plotted forward KijunPeriod
-        double[] senkouSpanA = new double[data.size()];
-        for (int i = 0; i < data.size(); i++) {
-            if (i >= kijunPeriod - 1) {
-                senkouSpanA[i] = (tenkanSen[i] + kijunSen[i]) / 2;
-            }
+        int size = series.size();
+        double[][] out = new double[5][size];
+        return calculate(series, out, new IndicatorWorkspace());
+    }
+
+    /**
+     * Calculates the Ichimoku Cloud components for a candle series into caller-owned buffers.
+     *
+     * @param series    The candle series.
+     * @param out       Buffers for [Tenkan-sen, Kijun-sen, Senkou Span A, Senkou Span B, Chikou Span];
+     *                  each must hold at least series.size() values.
+     * @param workspace Scratch space for the rolling extremes.
+     * @return The output buffers, with the first series.size() entries of each filled.
+     */
+    public double[][] calculate(CandleSeries series, double[][] out, IndicatorWorkspace workspace) {
+        if (series == null || series.size() < Math.max(tenkanPeriod, Math.max(kijunPeriod, senkouSpanBPeriod))) {
+            throw new IllegalArgumentException("Not enough data to calculate Ichimoku components.");
+        }
+        int size = series.size();
+        if (out == null || out.length < 5) {
+            throw new IllegalArgumentException("Output must provide a buffer for each Ichimoku component.");
+        }
+        for (int line = 0; line < 5; line++) {
+            IndicatorUtils.checkOutput(out[line], size);
         }
 
+        double[] tenkanSen = calculateLine(series, tenkanPeriod, out[0], workspace);
+        double[] kijunSen = calculateLine(series, kijunPeriod, out[1], workspace);
+
+        // Senkou Span A: Average of Tenkan-sen and Kijun-sen, plotted forward KijunPeriod
+        double[] senkouSpanA = out[2];
+        Arrays.fill(senkouSpanA, 0, kijunPeriod - 1, 0);
+        VectorKernels.average(tenkanSen, kijunSen, kijunPeriod - 1, size, senkouSpanA);
+
         // Senkou Span B: Highest High + Lowest Low over SenkouSpanBPeriod, plotted forward KijunPeriod
-        double[] senkouSpanB = calculateLine(data, senkouSpanBPeriod);
+        calculateLine(series, senkouSpanBPeriod, out[3], workspace);
 
         // Chikou Span: Closing price, plotted backward ChikouSpanLag periods
-        double[] chikouSpan = new double[data.size()];
-        for (int i = 0; i < data.size() - chikouSpanLag; i++) {
-            chikouSpan[i] = data.get(i + chikouSpanLag).getClose();
+        double[] close = series.closes();
+        double[] chikouSpan = out[4];
+        for (int i = 0; i < size; i++) {
+            chikouSpan[i] = i < size - chikouSpanLag ? close[i + chikouSpanLag] : 0;
         }
 
-        return new double[][] { tenkanSen, kijunSen, senkouSpanA, senkouSpanB, chikouSpan };
+        return out;
     }
 
     /**
      * Calculates a line (Tenkan-sen, Kijun-sen, or Senkou Span B) for a given period.
      *
-     * @param data The list of OHLCV data.
-     * @param period The lookback period for the line calculation.
-     * @return An array of line values.
+     * @param series    The candle series.
+     * @param period    The lookback period for the line calculation.
+     * @param line      The output buffer.
+     * @param workspace Scratch space for the lowest lows.
+     * @return The output buffer holding the line values.
      */
-    private double[] calculateLine(List<OHLCVData> data, int period) {
-        double[] line = new double[data.size()];
-        for (int i = period - 1; i < data.size(); i++) {
-            double highestHigh = Double.MIN_VALUE;
-            double lowestLow = Double.MAX_VALUE;
-
-            for (int j = i - period + 1; j <= i; j++) {
-                highestHigh = Math.max(highestHigh, data.get(j).getHigh());
-                lowestLow = Math.min(lowestLow, data.get(j).getLow());
-            }
-
-            line[i] = (highestHigh + lowestLow) / 2;
-        }
+    private double[] calculateLine(CandleSeries series, int period, double[] line, IndicatorWorkspace workspace) {
+        int size = series.size();
+        double[] lowestLow = workspace.doubles(0, size);
+        int[] deque = workspace.ints(0, period);
+        // The highest highs are written straight into the line buffer and averaged in place
+        SlidingWindowExtremum.max(series.highs(), size, period, line, deque);
+        SlidingWindowExtremum.min(series.lows(), size, period, lowestLow, deque);
+
+        Arrays.fill(line, 0, period - 1, 0);
+        VectorKernels.average(line, lowestLow, period - 1, size, line);
         return line;
     }
 
+    /**
+     * Calculates only the latest Ichimoku components from the longest line period of trailing bars.
+     * The Chikou Span of the latest bar lies in the future and is therefore 0, as in
+     * {@link #calculate(CandleSeries)}.
+     *
+     * @param series The candle series.
+     * @return An array containing the latest [Tenkan-sen, Kijun-sen, Senkou Span A, Senkou Span B, Chikou Span].
+     */
+    public double[] calculateLatest(CandleSeries series) {
+        return calculateLatest(series, new double[5]);
+    }
+
+    /**
+     * Calculates only the latest Ichimoku components into a caller-owned buffer.
+     *
+     * @param series The candle series.
+     * @param out    A buffer of at least 5 values for [Tenkan-sen, Kijun-sen, Senkou Span A, Senkou Span B, Chikou Span].
+     * @return The output buffer.
+     */
+    public double[] calculateLatest(CandleSeries series, double[] out) {
+        IndicatorUtils.checkOutput(out, 5);
+        if (series == null || series.size() < Math.max(tenkanPeriod, Math.max(kijunPeriod, senkouSpanBPeriod))) {
+            throw new IllegalArgumentException("Not enough data to calculate Ichimoku components.");
+        }
+        double tenkanSen = latestLine(series, tenkanPeriod);
+        double kijunSen = latestLine(series, kijunPeriod);
+        double senkouSpanA = (tenkanSen + kijunSen) / 2;
+        double senkouSpanB = latestLine(series, senkouSpanBPeriod);
+        out[0] = tenkanSen;
+        out[1] = kijunSen;
+        out[2] = senkouSpanA;
+        out[3] = senkouSpanB;
+        out[4] = 0;
+        return out;
+    }
+
+    private double latestLine(CandleSeries series, int period) {
+        double[] high = series.highs();
+        double[] low = series.lows();
+        int size = series.size();
+        double highestHigh = Double.NEGATIVE_INFINITY;
+        double lowestLow = Double.POSITIVE_INFINITY;
+        for (int i = size - period; i < size; i++) {
+            highestHigh = Math.max(highestHigh, high[i]);
+            lowestLow = Math.min(lowestLow, low[i]);
+        }
+        return (highestHigh + lowestLow) / 2;
+    }
+
+    /**
+     * Creates a streaming counterpart of this indicator with the same parameters.
+     *
+     * @return A new, unseeded StreamingIchimokuIndicator.
+     */
+    public StreamingIchimokuIndicator stream() {
+        return new StreamingIchimokuIndicator(tenkanPeriod, kijunPeriod, senkouSpanBPeriod, chikouSpanLag);
+    }
+
     /**
      * Gets the period for Tenkan-sen.
      *
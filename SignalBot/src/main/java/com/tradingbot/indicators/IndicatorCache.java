@@ -0,0 +1,218 @@
+package com.tradingbot.indicators;
+
+import com.tradingbot.data.CandleSeries;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Size-bounded LRU cache of indicator results, keyed by symbol, interval and {@link IndicatorKey}.
+ * <p>
+ * Each entry remembers the {@link CandleSeries#getVersion() version} of the series it was computed
+ * from. A read against a newer version, i.e. after candles were added or revised, is a miss: the
+ * indicator is recomputed and replaces the stale entry. Repeated reads against the same version
+ * are served from the cache without recomputation.
+ * <p>
+ * Cached arrays are shared between callers and must not be modified.
+ */
+public class IndicatorCache {
+
+    private final int maxEntries;
+    private final Map<CacheKey, Entry> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor for IndicatorCache.
+     *
+     * @param maxEntries The maximum number of indicator results kept before the least recently used is evicted.
+     */
+    public IndicatorCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entries must be greater than 0.");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<CacheKey, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+                if (size() > IndicatorCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the lines of an indicator for a series, computing them only if the cache holds no
+     * result for the current version of the series.
+     *
+     * @param symbol   The trading pair (e.g., "BTC_USDT").
+     * @param interval The timeframe interval (e.g., "1m", "1h").
+     * @param series   The candle series of the symbol and interval.
+     * @param key      The indicator key.
+     * @return The indicator lines, indexed by [line][bar], in the layout of {@link IndicatorValues#get}.
+     */
+    public double[][] get(String symbol, String interval, CandleSeries series, IndicatorKey key) {
+        if (symbol == null || interval == null || series == null || key == null) {
+            throw new IllegalArgumentException("Symbol, interval, series and key cannot be null.");
+        }
+        CacheKey cacheKey = new CacheKey(symbol, interval, key);
+        long version = series.getVersion();
+        synchronized (this) {
+            Entry entry = entries.get(cacheKey);
+            if (entry != null && entry.version == version) {
+                hits++;
+                return entry.lines;
+            }
+            misses++;
+        }
+
+        // Computed outside the lock so a slow indicator does not block reads of other entries
+        IndicatorGraph graph = new IndicatorGraph();
+        graph.require(key);
+        double[][] lines = graph.evaluate(series).get(key);
+
+        synchronized (this) {
+            Entry current = entries.get(cacheKey);
+            // Keep whichever result belongs to the newer series state if another thread raced us
+            if (current == null || current.version <= version) {
+                entries.put(cacheKey, new Entry(version, lines));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the value of an indicator line at the latest bar of a series.
+     *
+     * @param symbol   The trading pair (e.g., "BTC_USDT").
+     * @param interval The timeframe interval (e.g., "1m", "1h").
+     * @param series   The candle series of the symbol and interval.
+     * @param key      The indicator key.
+     * @param line     The line index.
+     * @return The latest value of the line.
+     */
+    public double latest(String symbol, String interval, CandleSeries series, IndicatorKey key, int line) {
+        return get(symbol, interval, series, key)[line][series.size() - 1];
+    }
+
+    /**
+     * Drops every cached result of one symbol and interval, e.g. when its series is replaced.
+     *
+     * @param symbol   The trading pair.
+     * @param interval The timeframe interval.
+     */
+    public synchronized void invalidate(String symbol, String interval) {
+        Iterator<CacheKey> iterator = entries.keySet().iterator();
+        while (iterator.hasNext()) {
+            CacheKey cacheKey = iterator.next();
+            if (cacheKey.symbol.equals(symbol) && cacheKey.interval.equals(interval)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops every cached result. The hit, miss and eviction counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return The number of entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of reads served from the cache.
+     *
+     * @return The hit count.
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of reads that had to compute the indicator, including reads of stale entries.
+     *
+     * @return The miss count.
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of entries evicted to respect the size bound.
+     *
+     * @return The eviction count.
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Gets the fraction of reads served from the cache.
+     *
+     * @return The hit rate, or 0 if there were no reads.
+     */
+    public synchronized double getHitRate() {
+        long reads = hits + misses;
+        return reads == 0 ? 0 : (double) hits / reads;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "IndicatorCache{" +
+                "size=" + entries.size() +
+                ", maxEntries=" + maxEntries +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+
+    private static final class CacheKey {
+        private final String symbol;
+        private final String interval;
+        private final IndicatorKey key;
+
+        private CacheKey(String symbol, String interval, IndicatorKey key) {
+            this.symbol = symbol;
+            this.interval = interval;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CacheKey other = (CacheKey) o;
+            return symbol.equals(other.symbol) && interval.equals(other.interval) && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(symbol, interval, key);
+        }
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final double[][] lines;
+
+        private Entry(long version, double[][] lines) {
+            this.version = version;
+            this.lines = lines;
+        }
+    }
+}
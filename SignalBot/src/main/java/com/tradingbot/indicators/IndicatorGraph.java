@@ -0,0 +1,255 @@
+package com.tradingbot.indicators;
+
+import com.tradingbot.data.CandleSeries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declarative indicator graph that evaluates every requested indicator once per series.
+ * <p>
+ * Strategies request indicators by {@link IndicatorKey}. Requests for the same key, and the
+ * intermediate nodes indicators are built from (the close column, EMA(12) and EMA(26) under
+ * MACD(12, 26, 9), the rolling statistics under Bollinger Bands, the RSI under Stochastic RSI),
+ * collapse into a single node, so work shared by many strategies is done only once.
+ */
+public class IndicatorGraph {
+
+    private final Map<IndicatorKey, Node> nodes = new HashMap<>();
+    // Registration order is a valid evaluation order: dependencies are registered before dependents
+    private final List<Node> order = new ArrayList<>();
+
+    /**
+     * Requests an indicator, registering it and its dependencies if they are not yet in the graph.
+     *
+     * @param key The indicator key.
+     * @return The same key, to be used to read the indicator from {@link IndicatorValues}.
+     */
+    public IndicatorKey require(IndicatorKey key) {
+        if (nodes.containsKey(key)) {
+            return key;
+        }
+        List<IndicatorKey> dependencies = dependenciesOf(key);
+        int[] dependencyIndices = new int[dependencies.size()];
+        for (int i = 0; i < dependencyIndices.length; i++) {
+            require(dependencies.get(i));
+            dependencyIndices[i] = nodes.get(dependencies.get(i)).index;
+        }
+        Node node = new Node(key, order.size(), dependencyIndices, createIndicator(key));
+        nodes.put(key, node);
+        order.add(node);
+        return key;
+    }
+
+    /**
+     * Gets the number of distinct nodes in the graph.
+     *
+     * @return The number of nodes.
+     */
+    public int size() {
+        return order.size();
+    }
+
+    /**
+     * Evaluates every node of the graph over a candle series.
+     *
+     * @param series The candle series.
+     * @return The computed values of every node.
+     */
+    public IndicatorValues evaluate(CandleSeries series) {
+        return evaluate(series, newValues());
+    }
+
+    /**
+     * Creates an empty set of values for this graph. Passing the same instance to
+     * {@link #evaluate(CandleSeries, IndicatorValues)} on every update reuses its buffers,
+     * so once they have grown to the series length an evaluation allocates nothing.
+     *
+     * @return A new, empty IndicatorValues bound to this graph.
+     */
+    public IndicatorValues newValues() {
+        return new IndicatorValues(this);
+    }
+
+    /**
+     * Evaluates every node of the graph over a candle series into reusable buffers.
+     * The previous contents of {@code values} are overwritten.
+     *
+     * @param series The candle series.
+     * @param values Values created by {@link #newValues()} on this graph.
+     * @return The same values instance, holding the computed values of every node.
+     */
+    public IndicatorValues evaluate(CandleSeries series, IndicatorValues values) {
+        if (series == null || series.isEmpty()) {
+            throw new IllegalArgumentException("Data cannot be null or empty.");
+        }
+        if (values == null || values.getGraph() != this) {
+            throw new IllegalArgumentException("Values must be created by this graph.");
+        }
+        values.reset(order.size(), series.size());
+        for (int i = 0; i < order.size(); i++) {
+            compute(order.get(i), series, values);
+        }
+        return values;
+    }
+
+    /**
+     * Gets the evaluation index of a node.
+     *
+     * @param key The indicator key.
+     * @return The node index, or -1 if the key was not requested.
+     */
+    int indexOf(IndicatorKey key) {
+        Node node = nodes.get(key);
+        return node == null ? -1 : node.index;
+    }
+
+    private static List<IndicatorKey> dependenciesOf(IndicatorKey key) {
+        List<IndicatorKey> dependencies = new ArrayList<>();
+        switch (key.getType()) {
+            case EMA:
+            case ROLLING_STATISTICS:
+                dependencies.add(IndicatorKey.close());
+                break;
+            case MACD:
+                dependencies.add(IndicatorKey.ema(key.intParam(0)));
+                dependencies.add(IndicatorKey.ema(key.intParam(1)));
+                break;
+            case BOLLINGER_BANDS:
+                dependencies.add(IndicatorKey.rollingStatistics(key.intParam(0)));
+                break;
+            case STOCHASTIC_RSI:
+                dependencies.add(IndicatorKey.rsi(key.intParam(0)));
+                break;
+            default:
+                break;
+        }
+        return dependencies;
+    }
+
+    /**
+     * Creates the indicator instance a node computes with, once, when the node is registered.
+     */
+    private static Object createIndicator(IndicatorKey key) {
+        switch (key.getType()) {
+            case CLOSE:
+            case TYPICAL_PRICE:
+            case ROLLING_STATISTICS:
+                return null;
+            case EMA:
+                return new EMAIndicator(key.intParam(0));
+            case RSI:
+                return new RSIIndicator(key.intParam(0));
+            case MACD:
+                return new MACDIndicator(key.intParam(0), key.intParam(1), key.intParam(2));
+            case BOLLINGER_BANDS:
+                return new BollingerBandsIndicator(key.intParam(0), key.param(1));
+            case STOCHASTIC_RSI:
+                return new StochasticRSIIndicator(key.intParam(1));
+            case ADX:
+                return new ADXIndicator(key.intParam(0));
+            case MFI:
+                return new MFIIndicator(key.intParam(0));
+            case VWAP:
+                return new VWAPIndicator();
+            case MOMENTUM:
+                return new MomentumIndicator(key.intParam(0));
+            case ICHIMOKU:
+                return new IchimokuIndicator(key.intParam(0), key.intParam(1), key.intParam(2), key.intParam(3));
+            default:
+                throw new IllegalArgumentException("Unsupported indicator: " + key);
+        }
+    }
+
+    private static void compute(Node node, CandleSeries series, IndicatorValues values) {
+        int size = series.size();
+        IndicatorKey key = node.key;
+        switch (key.getType()) {
+            case CLOSE:
+                System.arraycopy(series.closes(), 0, values.buffer(node.index, 1, 0, size), 0, size);
+                break;
+            case TYPICAL_PRICE:
+                series.typicalPrices(values.buffer(node.index, 1, 0, size));
+                break;
+            case EMA: {
+                EMAIndicator ema = (EMAIndicator) node.indicator;
+                requireSize(size, ema.getPeriod(), "EMA");
+                ema.calculate(values.lines(node.dependencies[0])[0], size, values.buffer(node.index, 1, 0, size));
+                break;
+            }
+            case RSI:
+                ((RSIIndicator) node.indicator).calculate(series, values.buffer(node.index, 1, 0, size));
+                break;
+            case MACD:
+                ((MACDIndicator) node.indicator).combine(values.lines(node.dependencies[0])[0],
+                        values.lines(node.dependencies[1])[0], size, values.buffers(node.index, 3, size));
+                break;
+            case ROLLING_STATISTICS: {
+                int period = key.intParam(0);
+                requireSize(size, period, "rolling statistics");
+                double[][] statistics = values.buffers(node.index, 2, size);
+                Arrays.fill(statistics[0], 0, period - 1, 0);
+                Arrays.fill(statistics[1], 0, period - 1, 0);
+                RollingStatistics.compute(values.lines(node.dependencies[0])[0], size, period, statistics[0], statistics[1]);
+                break;
+            }
+            case BOLLINGER_BANDS: {
+                BollingerBandsIndicator bollinger = (BollingerBandsIndicator) node.indicator;
+                double[][] statistics = values.lines(node.dependencies[0]);
+                double[][] bands = values.lines(node.index, 3);
+                // The middle band is the rolling mean itself
+                bands[1] = statistics[0];
+                bollinger.bands(statistics[0], statistics[1], size, bollinger.getMultiplier(),
+                        values.buffer(node.index, 3, 0, size), values.buffer(node.index, 3, 2, size));
+                break;
+            }
+            case STOCHASTIC_RSI:
+                ((StochasticRSIIndicator) node.indicator).calculate(values.lines(node.dependencies[0])[0], size,
+                        values.buffer(node.index, 1, 0, size), values.getWorkspace());
+                break;
+            case ADX:
+                ((ADXIndicator) node.indicator).calculate(series, values.buffer(node.index, 1, 0, size), values.getWorkspace());
+                break;
+            case MFI:
+                ((MFIIndicator) node.indicator).calculate(series, values.buffer(node.index, 1, 0, size), values.getWorkspace());
+                break;
+            case VWAP:
+                ((VWAPIndicator) node.indicator).calculate(series, values.buffer(node.index, 1, 0, size));
+                break;
+            case MOMENTUM:
+                ((MomentumIndicator) node.indicator).calculate(series, values.buffer(node.index, 1, 0, size));
+                break;
+            case ICHIMOKU:
+                ((IchimokuIndicator) node.indicator).calculate(series, values.buffers(node.index, 5, size), values.getWorkspace());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported indicator: " + key);
+        }
+    }
+
+    private static void requireSize(int size, int period, String name) {
+        if (size < period) {
+            throw new IllegalArgumentException("Not enough data to calculate " + name + ".");
+        }
+    }
+
+    /**
+     * A registered indicator with the indices of the nodes it reads from.
+     */
+    private static final class Node {
+        final IndicatorKey key;
+        final int index;
+        final int[] dependencies;
+        final Object indicator;
+
+        Node(IndicatorKey key, int index, int[] dependencies, Object indicator) {
+            this.key = key;
+            this.index = index;
+            this.dependencies = dependencies;
+            this.indicator = indicator;
+        }
+    }
+}
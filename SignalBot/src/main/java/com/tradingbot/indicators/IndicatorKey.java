@@ -0,0 +1,231 @@
+package com.tradingbot.indicators;
+
+import java.util.Arrays;
+
+/**
+ * Identifies an indicator by its type and parameters, e.g. EMA(12) or MACD(12, 26, 9).
+ * Two keys with the same type and parameters are equal, which is what lets an
+ * {@link IndicatorGraph} share one computation between every consumer of it.
+ */
+public final class IndicatorKey {
+
+    /**
+     * The indicator types an {@link IndicatorGraph} can evaluate.
+     */
+    public enum Type {
+        CLOSE,
+        TYPICAL_PRICE,
+        EMA,
+        RSI,
+        MACD,
+        ROLLING_STATISTICS,
+        BOLLINGER_BANDS,
+        STOCHASTIC_RSI,
+        ADX,
+        MFI,
+        VWAP,
+        MOMENTUM,
+        ICHIMOKU
+    }
+
+    private final Type type;
+    private final double[] params;
+
+    private IndicatorKey(Type type, double... params) {
+        this.type = type;
+        this.params = params;
+    }
+
+    /**
+     * Key for the closing price column.
+     *
+     * @return The key.
+     */
+    public static IndicatorKey close() {
+        return new IndicatorKey(Type.CLOSE);
+    }
+
+    /**
+     * Key for the typical price column, (high + low + close) / 3.
+     *
+     * @return The key.
+     */
+    public static IndicatorKey typicalPrice() {
+        return new IndicatorKey(Type.TYPICAL_PRICE);
+    }
+
+    /**
+     * Key for the EMA of the closing prices.
+     *
+     * @param period The lookback period.
+     * @return The key.
+     */
+    public static IndicatorKey ema(int period) {
+        return new IndicatorKey(Type.EMA, period);
+    }
+
+    /**
+     * Key for the RSI of the closing prices.
+     *
+     * @param period The lookback period.
+     * @return The key.
+     */
+    public static IndicatorKey rsi(int period) {
+        return new IndicatorKey(Type.RSI, period);
+    }
+
+    /**
+     * Key for MACD, yielding [MACD Line, Signal Line, Histogram].
+     *
+     * @param shortPeriod  The short EMA period.
+     * @param longPeriod   The long EMA period.
+     * @param signalPeriod The signal line EMA period.
+     * @return The key.
+     */
+    public static IndicatorKey macd(int shortPeriod, int longPeriod, int signalPeriod) {
+        return new IndicatorKey(Type.MACD, shortPeriod, longPeriod, signalPeriod);
+    }
+
+    /**
+     * Rolling mean and standard deviation of the closing prices, yielding [mean, stdDev].
+     *
+     * @param period The window size.
+     * @return The key.
+     */
+    public static IndicatorKey rollingStatistics(int period) {
+        return new IndicatorKey(Type.ROLLING_STATISTICS, period);
+    }
+
+    /**
+     * Key for Bollinger Bands, yielding [upper band, middle band, lower band].
+     *
+     * @param period     The lookback period.
+     * @param multiplier The standard deviation multiplier.
+     * @return The key.
+     */
+    public static IndicatorKey bollingerBands(int period, double multiplier) {
+        return new IndicatorKey(Type.BOLLINGER_BANDS, period, multiplier);
+    }
+
+    /**
+     * Key for the Stochastic RSI of RSI(rsiPeriod) over a window of period bars.
+     *
+     * @param rsiPeriod The lookback period of the underlying RSI.
+     * @param period    The lookback period.
+     * @return The key.
+     */
+    public static IndicatorKey stochasticRsi(int rsiPeriod, int period) {
+        return new IndicatorKey(Type.STOCHASTIC_RSI, rsiPeriod, period);
+    }
+
+    /**
+     * Key for the ADX.
+     *
+     * @param period The lookback period.
+     * @return The key.
+     */
+    public static IndicatorKey adx(int period) {
+        return new IndicatorKey(Type.ADX, period);
+    }
+
+    /**
+     * Key for the MFI.
+     *
+     * @param period The lookback period.
+     * @return The key.
+     */
+    public static IndicatorKey mfi(int period) {
+        return new IndicatorKey(Type.MFI, period);
+    }
+
+    /**
+     * Key for the cumulative VWAP.
+     *
+     * @return The key.
+     */
+    public static IndicatorKey vwap() {
+        return new IndicatorKey(Type.VWAP);
+    }
+
+    /**
+     * Key for the Momentum of the closing prices.
+     *
+     * @param period The lookback period.
+     * @return The key.
+     */
+    public static IndicatorKey momentum(int period) {
+        return new IndicatorKey(Type.MOMENTUM, period);
+    }
+
+    /**
+     * Key for the Ichimoku Cloud, yielding [Tenkan-sen, Kijun-sen, Senkou Span A, Senkou Span B, Chikou Span].
+     *
+     * @param tenkanPeriod      The period for the Conversion Line (Tenkan-sen).
+     * @param kijunPeriod       The period for the Base Line (Kijun-sen).
+     * @param senkouSpanBPeriod The period for the Leading Span B (Senkou Span B).
+     * @param chikouSpanLag     The lagging period for the Chikou Span.
+     * @return The key.
+     */
+    public static IndicatorKey ichimoku(int tenkanPeriod, int kijunPeriod, int senkouSpanBPeriod, int chikouSpanLag) {
+        return new IndicatorKey(Type.ICHIMOKU, tenkanPeriod, kijunPeriod, senkouSpanBPeriod, chikouSpanLag);
+    }
+
+    /**
+     * Gets the indicator type.
+     *
+     * @return The indicator type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets a parameter of this key as an integer period.
+     *
+     * @param index The parameter position.
+     * @return The parameter value.
+     */
+    public int intParam(int index) {
+        return (int) params[index];
+    }
+
+    /**
+     * Gets a parameter of this key.
+     *
+     * @param index The parameter position.
+     * @return The parameter value.
+     */
+    public double param(int index) {
+        return params[index];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof IndicatorKey)) {
+            return false;
+        }
+        IndicatorKey key = (IndicatorKey) other;
+        return type == key.type && Arrays.equals(params, key.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + Arrays.hashCode(params);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(type.name()).append('(');
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            double value = params[i];
+            builder.append(value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value));
+        }
+        return builder.append(')').toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.tradingbot.indicators;
+
+import java.util.List;
+
+/**
+ * Shared helpers for converting boxed inputs into the primitive arrays the indicators compute on,
+ * and for validating caller-owned output buffers.
+ */
+final class IndicatorUtils {
+
+    /**
+     * Number of periods of history an exponentially smoothed indicator is warmed up over when only
+     * its latest value is computed. After ten periods the weight left on older bars is about
+     * e^-20 for an EMA, and twice as many periods give Wilder smoothing the same bound.
+     */
+    static final int CONVERGENCE_PERIODS = 10;
+
+    /**
+     * Number of bars a parameter sweep advances every parameter over before moving on, sized so
+     * the block of input and per-block scratch stay in L1/L2 cache while all parameters pass over it.
+     */
+    static final int SWEEP_BLOCK = 2048;
+
+    private IndicatorUtils() {
+    }
+
+    /**
+     * Copies a list of values into a primitive array.
+     *
+     * @param values The list of values.
+     * @return A primitive array holding the same values.
+     */
+    static double[] toArray(List<Double> values) {
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Validates the parameter vector of a sweep.
+     *
+     * @param periods The periods to sweep.
+     * @return The largest period.
+     */
+    static int checkPeriods(int[] periods) {
+        if (periods == null || periods.length == 0) {
+            throw new IllegalArgumentException("At least one period is required.");
+        }
+        int maxPeriod = 0;
+        for (int period : periods) {
+            if (period <= 0) {
+                throw new IllegalArgumentException("Period must be greater than 0.");
+            }
+            maxPeriod = Math.max(maxPeriod, period);
+        }
+        return maxPeriod;
+    }
+
+    /**
+     * Checks that a caller-owned output buffer can hold the given number of values.
+     *
+     * @param out    The output buffer.
+     * @param length The number of values to be written.
+     */
+    static void checkOutput(double[] out, int length) {
+        if (out == null || out.length < length) {
+            throw new IllegalArgumentException("Output buffer must hold at least " + length + " values.");
+        }
+    }
+}
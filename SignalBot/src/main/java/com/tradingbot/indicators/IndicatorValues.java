@@ -0,0 +1,127 @@
+package com.tradingbot.indicators;
+
+import java.util.Arrays;
+
+/**
+ * The outputs of an {@link IndicatorGraph} evaluation, keyed by indicator.
+ * Each indicator yields one or more lines, in the same order as the corresponding
+ * indicator class returns them (e.g. MACD gives [MACD Line, Signal Line, Histogram]).
+ * <p>
+ * An instance obtained from {@link IndicatorGraph#newValues()} can be evaluated into
+ * repeatedly; its line buffers are then reused and may be longer than {@link #size()},
+ * in which case only the first size() entries are valid.
+ */
+public class IndicatorValues {
+
+    private final IndicatorGraph graph;
+    private final IndicatorWorkspace workspace = new IndicatorWorkspace();
+    private double[][][] lines = new double[0][][];
+    private int size;
+
+    IndicatorValues(IndicatorGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Gets every line computed for an indicator.
+     *
+     * @param key The indicator key.
+     * @return The indicator lines, indexed by [line][bar].
+     */
+    public double[][] get(IndicatorKey key) {
+        int index = graph.indexOf(key);
+        if (index < 0 || index >= lines.length || lines[index] == null) {
+            throw new IllegalArgumentException("Indicator was not requested from the graph: " + key);
+        }
+        return lines[index];
+    }
+
+    /**
+     * Gets one line computed for an indicator.
+     *
+     * @param key  The indicator key.
+     * @param line The line index.
+     * @return The line values, one per bar.
+     */
+    public double[] line(IndicatorKey key, int line) {
+        return get(key)[line];
+    }
+
+    /**
+     * Gets the value of an indicator line at the latest bar.
+     *
+     * @param key  The indicator key.
+     * @param line The line index.
+     * @return The latest value of the line.
+     */
+    public double latest(IndicatorKey key, int line) {
+        return get(key)[line][size - 1];
+    }
+
+    /**
+     * Gets the number of bars the graph was evaluated over.
+     *
+     * @return The number of bars.
+     */
+    public int size() {
+        return size;
+    }
+
+    IndicatorGraph getGraph() {
+        return graph;
+    }
+
+    IndicatorWorkspace getWorkspace() {
+        return workspace;
+    }
+
+    /**
+     * Prepares for an evaluation of a graph with the given number of nodes over the given number of bars.
+     */
+    void reset(int nodeCount, int size) {
+        if (lines.length < nodeCount) {
+            lines = Arrays.copyOf(lines, nodeCount);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Gets the line array of a node, creating it on first use.
+     */
+    double[][] lines(int index, int lineCount) {
+        if (lines[index] == null) {
+            lines[index] = new double[lineCount][];
+        }
+        return lines[index];
+    }
+
+    /**
+     * Gets the line array of an already evaluated node.
+     */
+    double[][] lines(int index) {
+        return lines[index];
+    }
+
+    /**
+     * Gets one line buffer of a node with room for at least {@code length} values.
+     */
+    double[] buffer(int index, int lineCount, int line, int length) {
+        double[][] nodeLines = lines(index, lineCount);
+        double[] buffer = nodeLines[line];
+        if (buffer == null || buffer.length < length) {
+            buffer = new double[IndicatorWorkspace.grownLength(buffer == null ? 0 : buffer.length, length)];
+            nodeLines[line] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * Gets every line buffer of a node with room for at least {@code length} values each.
+     */
+    double[][] buffers(int index, int lineCount, int length) {
+        for (int line = 0; line < lineCount; line++) {
+            buffer(index, lineCount, line, length);
+        }
+        return lines[index];
+    }
+}
@@ -0,0 +1,62 @@
+package com.tradingbot.indicators;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch buffers for indicator calculations that need intermediate arrays.
+ * Buffers are grown on demand and kept between calls, so once a workspace has seen the
+ * largest series it will be used with, calculations through it allocate nothing.
+ * <p>
+ * A workspace is not thread-safe; keep one per thread (e.g. in a ThreadLocal).
+ */
+public class IndicatorWorkspace {
+
+    private double[][] doubleBuffers = new double[8][];
+    private int[][] intBuffers = new int[2][];
+
+    /**
+     * Gets a scratch double buffer of at least the given length. Its contents are unspecified.
+     *
+     * @param slot   The buffer slot; distinct slots never alias each other.
+     * @param length The minimum length.
+     * @return The buffer.
+     */
+    public double[] doubles(int slot, int length) {
+        if (slot >= doubleBuffers.length) {
+            doubleBuffers = Arrays.copyOf(doubleBuffers, slot + 1);
+        }
+        double[] buffer = doubleBuffers[slot];
+        if (buffer == null || buffer.length < length) {
+            buffer = new double[grownLength(buffer == null ? 0 : buffer.length, length)];
+            doubleBuffers[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * Gets a scratch int buffer of at least the given length. Its contents are unspecified.
+     *
+     * @param slot   The buffer slot; distinct slots never alias each other.
+     * @param length The minimum length.
+     * @return The buffer.
+     */
+    public int[] ints(int slot, int length) {
+        if (slot >= intBuffers.length) {
+            intBuffers = Arrays.copyOf(intBuffers, slot + 1);
+        }
+        int[] buffer = intBuffers[slot];
+        if (buffer == null || buffer.length < length) {
+            buffer = new int[grownLength(buffer == null ? 0 : buffer.length, length)];
+            intBuffers[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * Leaves headroom when a buffer has to grow, so a series growing bar by bar does not
+     * reallocate on every call.
+     */
+    static int grownLength(int currentLength, int minLength) {
+        return currentLength == 0 ? minLength : Math.max(minLength, currentLength + (currentLength >> 1));
+    }
+}
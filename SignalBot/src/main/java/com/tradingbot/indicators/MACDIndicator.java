@@ -1,6 +1,7 @@
 package com.tradingbot.indicators;
 
-import java.util.ArrayList;
+import com.tradingbot.data.CandleSeries;
+
 import java.util.List;
 
 /**
@@ -11,6 +12,9 @@ public class MACDIndicator {
     private final int shortPeriod;
     private final int longPeriod;
     private final int signalPeriod;
+    private final EMAIndicator shortEma;
+    private final EMAIndicator longEma;
+    private final EMAIndicator signalEma;
 
     /**
      * Constructor for MACDIndicator.
@@ -29,6 +33,9 @@ public class MACDIndicator {
         this.shortPeriod = shortPeriod;
         this.longPeriod = longPeriod;
         this.signalPeriod = signalPeriod;
+        this.shortEma = new EMAIndicator(shortPeriod);
+        this.longEma = new EMAIndicator(longPeriod);
+        this.signalEma = new EMAIndicator(signalPeriod);
     }
 
     /**
@@ -41,50 +48,196 @@ public class MACDIndicator {
         if (closingPrices == null || closingPrices.size() < longPeriod) {
             throw new IllegalArgumentException("Not enough data to calculate MACD.");
         }
+        return calculate(IndicatorUtils.toArray(closingPrices), closingPrices.size());
+    }
 
-        double[] shortEma = calculateEMA(closingPrices, shortPeriod);
-        double[] longEma = calculateEMA(closingPrices, longPeriod);
-
-        double[] macdLine = new double[closingPrices.size()];
-        for (int i = 0; i < closingPrices.size(); i++) {
-            macdLine[i] = shortEma[i] - longEma[i];
+    /**
+     * Calculates the MACD values for the closing prices in a candle series.
+     *
+     * @param series The candle series.
+     * @return A 2D array containing MACD Line, Signal Line, and Histogram values.
+     */
+    public double[][] calculate(CandleSeries series) {
+        if (series == null || series.size() < longPeriod) {
+            throw new IllegalArgumentException("Not enough data to calculate MACD.");
         }
+        return calculate(series.closes(), series.size());
+    }
 
-        // Convert macdLine (double[]) to List<Double>
-        List<Double> macdLineList = new ArrayList<>();
-        for (double value : macdLine) {
-            macdLineList.add(value);
+    /**
+     * Calculates the MACD values for a candle series into caller-owned buffers.
+     * The histogram buffer doubles as scratch space for the long EMA, so no intermediate
+     * arrays are allocated.
+     *
+     * @param series The candle series.
+     * @param out    The MACD Line, Signal Line, and Histogram buffers; each must hold at least series.size() values.
+     * @return The output buffers, with the first series.size() entries of each filled.
+     */
+    public double[][] calculate(CandleSeries series, double[][] out) {
+        if (series == null || series.size() < longPeriod) {
+            throw new IllegalArgumentException("Not enough data to calculate MACD.");
         }
-
-        double[] signalLine = calculateEMA(macdLineList, signalPeriod);
-        double[] histogram = new double[closingPrices.size()];
-        for (int i = 0; i < closingPrices.size(); i++) {
-            histogram[i] = macdLine[i] - signalLine[i];
+        int length = series.size();
+        if (out == null || out.length < 3) {
+            throw new IllegalArgumentException("Output must provide MACD, signal and histogram buffers.");
         }
+        double[] macdLine = out[0];
+        double[] signalLine = out[1];
+        double[] histogram = out[2];
+        IndicatorUtils.checkOutput(macdLine, length);
+        IndicatorUtils.checkOutput(signalLine, length);
+        IndicatorUtils.checkOutput(histogram, length);
+
+        double[] closingPrices = series.closes();
+        shortEma.calculate(closingPrices, length, macdLine);
+        double[] longEmaValues = longEma.calculate(closingPrices, length, histogram);
+        VectorKernels.subtract(macdLine, longEmaValues, 0, length, macdLine);
+        finish(macdLine, signalLine, histogram, length);
+        return out;
+    }
+
+    /**
+     * Calculates the MACD values over the first {@code length} entries of an array.
+     *
+     * @param closingPrices The array of closing prices.
+     * @param length        The number of valid entries.
+     * @return A 2D array containing MACD Line, Signal Line, and Histogram values.
+     */
+    private double[][] calculate(double[] closingPrices, int length) {
+        return combine(shortEma.calculate(closingPrices, length), longEma.calculate(closingPrices, length), length);
+    }
+
+    /**
+     * Builds the MACD, signal and histogram lines from precomputed short and long EMAs,
+     * so callers that already hold those EMAs do not compute them again.
+     *
+     * @param shortEmaValues The short-period EMA of the closing prices.
+     * @param longEmaValues  The long-period EMA of the closing prices.
+     * @param length         The number of valid entries.
+     * @return A 2D array containing MACD Line, Signal Line, and Histogram values.
+     */
+    double[][] combine(double[] shortEmaValues, double[] longEmaValues, int length) {
+        double[][] out = { new double[length], new double[length], new double[length] };
+        combine(shortEmaValues, longEmaValues, length, out);
+        return out;
+    }
+
+    /**
+     * Builds the MACD, signal and histogram lines from precomputed EMAs into caller-owned buffers.
+     *
+     * @param shortEmaValues The short-period EMA of the closing prices.
+     * @param longEmaValues  The long-period EMA of the closing prices.
+     * @param length         The number of valid entries.
+     * @param out            The MACD Line, Signal Line, and Histogram buffers.
+     */
+    void combine(double[] shortEmaValues, double[] longEmaValues, int length, double[][] out) {
+        VectorKernels.subtract(shortEmaValues, longEmaValues, 0, length, out[0]);
+        finish(out[0], out[1], out[2], length);
+    }
+
+    /**
+     * Fills the signal line and histogram from a complete MACD line.
+     */
+    private void finish(double[] macdLine, double[] signalLine, double[] histogram, int length) {
+        signalEma.calculate(macdLine, length, signalLine);
+        VectorKernels.subtract(macdLine, signalLine, 0, length, histogram);
+    }
 
-        return new double[][] { macdLine, signalLine, histogram };
+    /**
+     * Gets the number of trailing bars {@link #calculateLatest(CandleSeries)} reads.
+     *
+     * @return The lookback in bars.
+     */
+    public int getLookback() {
+        return IndicatorUtils.CONVERGENCE_PERIODS * (longPeriod + signalPeriod);
+    }
+
+    /**
+     * Calculates only the latest MACD values, warming up over the last {@link #getLookback()} bars
+     * instead of the whole series. The result matches {@link #calculate(CandleSeries)} exactly when
+     * the series is no longer than the lookback, and converges to it otherwise.
+     *
+     * @param series The candle series.
+     * @return An array containing the latest MACD Line, Signal Line, and Histogram values.
+     */
+    public double[] calculateLatest(CandleSeries series) {
+        return calculateLatest(series, new double[3]);
     }
 
     /**
-     * Calculates the Exponential Moving Average (EMA) for a list of values.
+     * Calculates only the latest MACD values into a caller-owned buffer.
      *
-     * @param values The list of values.
-     * @param period The period for the EMA.
-     * @return An array of EMA values.
+     * @param series The candle series.
+     * @param out    A buffer of at least 3 values for the MACD Line, Signal Line, and Histogram.
+     * @return The output buffer.
+     * @see #calculateLatest(CandleSeries)
      */
-    private double[] calculateEMA(List<Double> values, int period) {
-        double[] ema = new double[values.size()];
-        double multiplier = 2.0 / (period + 1);
+    public double[] calculateLatest(CandleSeries series, double[] out) {
+        IndicatorUtils.checkOutput(out, 3);
+        if (series == null || series.size() < longPeriod) {
+            throw new IllegalArgumentException("Not enough data to calculate MACD.");
+        }
+
+        double[] close = series.closes();
+        int size = series.size();
+        int from = Math.max(0, size - getLookback());
+
+        double shortMultiplier = 2.0 / (shortPeriod + 1);
+        double longMultiplier = 2.0 / (longPeriod + 1);
+        double signalMultiplier = 2.0 / (signalPeriod + 1);
+        double shortValue = 0;
+        double longValue = 0;
+        double signalValue = 0;
+        double shortSum = 0;
+        double longSum = 0;
+        double signalSum = 0;
+        double macd = 0;
 
-        // Initialize the first EMA value with the first closing price
-        ema[period - 1] = values.stream().limit(period).mapToDouble(Double::doubleValue).average().orElse(0.0);
+        // Same recurrences as calculate(), with every line running over the MACD of each bar
+        for (int i = from; i < size; i++) {
+            int n = i - from + 1;
+            if (n <= shortPeriod) {
+                shortSum += close[i];
+            }
+            if (n <= longPeriod) {
+                longSum += close[i];
+            }
+            shortValue = step(close[i], n, shortPeriod, shortMultiplier, shortValue, shortSum);
+            longValue = step(close[i], n, longPeriod, longMultiplier, longValue, longSum);
 
-        // Calculate EMA for the rest of the values
-        for (int i = period; i < values.size(); i++) {
-            ema[i] = ((values.get(i) - ema[i - 1]) * multiplier) + ema[i - 1];
+            macd = shortValue - longValue;
+            if (n <= signalPeriod) {
+                signalSum += macd;
+            }
+            signalValue = step(macd, n, signalPeriod, signalMultiplier, signalValue, signalSum);
         }
 
-        return ema;
+        out[0] = macd;
+        out[1] = signalValue;
+        out[2] = macd - signalValue;
+        return out;
+    }
+
+    /**
+     * Advances one EMA, seeded with the SMA of its first period, to its n-th value (0 before the seed).
+     */
+    private static double step(double value, int n, int period, double multiplier, double ema, double seedSum) {
+        if (n < period) {
+            return 0;
+        }
+        if (n == period) {
+            return seedSum / period;
+        }
+        return ((value - ema) * multiplier) + ema;
+    }
+
+    /**
+     * Creates a streaming counterpart of this indicator with the same parameters.
+     *
+     * @return A new, unseeded StreamingMACDIndicator.
+     */
+    public StreamingMACDIndicator stream() {
+        return new StreamingMACDIndicator(shortPeriod, longPeriod, signalPeriod);
     }
 
     /**
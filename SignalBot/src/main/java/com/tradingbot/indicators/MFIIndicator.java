@@ -1,7 +1,9 @@
 package com.tradingbot.indicators;
 
+import com.tradingbot.data.CandleSeries;
 import com.tradingbot.data.OHLCVData;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -33,39 +35,138 @@ public class MFIIndicator {
         if (data == null || data.size() < period) {
             throw new IllegalArgumentException("Not enough data to calculate MFI.");
         }
+        return calculate(CandleSeries.of(data));
+    }
 
-        double[] mfiValues = new double[data.size()];
+    /**
+     * Calculates the MFI for a candle series.
+     *
+     * @param series The candle series.
+     * @return An array of MFI values corresponding to the bars in the series.
+     */
+    public double[] calculate(CandleSeries series) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate MFI.");
+        }
+        return calculate(series, new double[series.size()]);
+    }
+
+    /**
+     * Calculates the MFI for a candle series into a caller-owned buffer.
+     *
+     * @param series    The candle series.
+     * @param mfiValues The output buffer; must hold at least series.size() values.
+     * @return The output buffer, with the first series.size() entries filled.
+     */
+    public double[] calculate(CandleSeries series, double[] mfiValues) {
+        return calculate(series, mfiValues, new IndicatorWorkspace());
+    }
 
-        for (int i = period; i < data.size(); i++) {
-            double positiveFlow = 0;
-            double negativeFlow = 0;
+    /**
+     * Calculates the MFI for a candle series into a caller-owned buffer.
+     * The typical price column is taken from the workspace, so repeated calls with the same
+     * buffers allocate nothing.
+     *
+     * @param series    The candle series.
+     * @param mfiValues The output buffer; must hold at least series.size() values.
+     * @param workspace Scratch space for the typical price column.
+     * @return The output buffer, with the first series.size() entries filled.
+     */
+    public double[] calculate(CandleSeries series, double[] mfiValues, IndicatorWorkspace workspace) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate MFI.");
+        }
 
-            for (int j = i - period + 1; j <= i; j++) {
-                OHLCVData current = data.get(j);
-                OHLCVData previous = data.get(j - 1);
+        int size = series.size();
+        IndicatorUtils.checkOutput(mfiValues, size);
+        double[] typicalPrice = series.typicalPrices(workspace.doubles(0, size));
+        double[] volume = series.volumes();
+        Arrays.fill(mfiValues, 0, Math.min(period, size), 0);
 
-                // Calculate typical price: (High + Low + Close) / 3
-                double currentTypicalPrice = (current.getHigh() + current.getLow() + current.getClose()) / 3;
-                double previousTypicalPrice = (previous.getHigh() + previous.getLow() + previous.getClose()) / 3;
+        // Rolling sums over the money flows of bars i - period + 1 .. i
+        double positiveFlow = 0;
+        double negativeFlow = 0;
+        int positiveCount = 0;
+        int negativeCount = 0;
 
-                // Calculate money flow: Typical Price * Volume
-                double moneyFlow = currentTypicalPrice * current.getVolume();
+        for (int i = 1; i < size; i++) {
+            // Money flow: Typical Price * Volume, signed by the typical price change
+            double moneyFlow = typicalPrice[i] * volume[i];
+            if (typicalPrice[i] > typicalPrice[i - 1]) {
+                positiveFlow += moneyFlow;
+                positiveCount++;
+            } else if (typicalPrice[i] < typicalPrice[i - 1]) {
+                negativeFlow += moneyFlow;
+                negativeCount++;
+            }
 
-                if (currentTypicalPrice > previousTypicalPrice) {
-                    positiveFlow += moneyFlow;
-                } else if (currentTypicalPrice < previousTypicalPrice) {
-                    negativeFlow += moneyFlow;
+            int leaving = i - period;
+            if (leaving >= 1) {
+                double leavingFlow = typicalPrice[leaving] * volume[leaving];
+                if (typicalPrice[leaving] > typicalPrice[leaving - 1]) {
+                    positiveFlow -= leavingFlow;
+                    positiveCount--;
+                } else if (typicalPrice[leaving] < typicalPrice[leaving - 1]) {
+                    negativeFlow -= leavingFlow;
+                    negativeCount--;
                 }
             }
 
-            // Calculate Money Flow Ratio and MFI
-            double moneyFlowRatio = positiveFlow / (negativeFlow == 0 ? 1 : negativeFlow);
-            mfiValues[i] = 100 - (100 / (1 + moneyFlowRatio));
+            // Clear rounding residue once a side has no flows left in the window
+            if (positiveCount == 0) {
+                positiveFlow = 0;
+            }
+            if (negativeCount == 0) {
+                negativeFlow = 0;
+            }
+
+            if (i >= period) {
+                // Calculate Money Flow Ratio and MFI
+                double moneyFlowRatio = positiveFlow / (negativeFlow == 0 ? 1 : negativeFlow);
+                mfiValues[i] = 100 - (100 / (1 + moneyFlowRatio));
+            }
         }
 
         return mfiValues;
     }
 
+    /**
+     * Calculates only the latest MFI value from the last {@code period + 1} bars.
+     *
+     * @param series The candle series.
+     * @return The MFI value at the latest bar.
+     */
+    public double calculateLatest(CandleSeries series) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate MFI.");
+        }
+        int last = series.size() - 1;
+        if (last < period) {
+            return 0;
+        }
+
+        double[] high = series.highs();
+        double[] low = series.lows();
+        double[] close = series.closes();
+        double[] volume = series.volumes();
+
+        double positiveFlow = 0;
+        double negativeFlow = 0;
+        double previousTypicalPrice = (high[last - period] + low[last - period] + close[last - period]) / 3;
+        for (int j = last - period + 1; j <= last; j++) {
+            double typicalPrice = (high[j] + low[j] + close[j]) / 3;
+            if (typicalPrice > previousTypicalPrice) {
+                positiveFlow += typicalPrice * volume[j];
+            } else if (typicalPrice < previousTypicalPrice) {
+                negativeFlow += typicalPrice * volume[j];
+            }
+            previousTypicalPrice = typicalPrice;
+        }
+
+        double moneyFlowRatio = positiveFlow / (negativeFlow == 0 ? 1 : negativeFlow);
+        return 100 - (100 / (1 + moneyFlowRatio));
+    }
+
     /**
      * Gets the period for this MFI indicator.
      *
@@ -1,5 +1,8 @@
 package com.tradingbot.indicators;
 
+import com.tradingbot.data.CandleSeries;
+
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -31,16 +34,69 @@ public class MomentumIndicator {
         if (prices == null || prices.size() < period) {
             throw new IllegalArgumentException("Not enough data to calculate Momentum.");
         }
+        return calculate(IndicatorUtils.toArray(prices), prices.size());
+    }
 
-        double[] momentumValues = new double[prices.size()];
+    /**
+     * Calculates the Momentum indicator for the closing prices in a candle series.
+     *
+     * @param series The candle series.
+     * @return An array of Momentum values corresponding to the bars in the series.
+     */
+    public double[] calculate(CandleSeries series) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate Momentum.");
+        }
+        return calculate(series.closes(), series.size());
+    }
 
-        for (int i = period; i < prices.size(); i++) {
-            momentumValues[i] = prices.get(i) - prices.get(i - period);
+    /**
+     * Calculates the Momentum indicator for the closing prices in a candle series into a caller-owned buffer.
+     *
+     * @param series The candle series.
+     * @param out    The output buffer; must hold at least series.size() values.
+     * @return The output buffer, with the first series.size() entries filled.
+     */
+    public double[] calculate(CandleSeries series, double[] out) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate Momentum.");
         }
+        IndicatorUtils.checkOutput(out, series.size());
+        return calculate(series.closes(), series.size(), out);
+    }
+
+    /**
+     * Calculates the Momentum indicator over the first {@code length} entries of an array.
+     *
+     * @param prices The array of prices.
+     * @param length The number of valid entries.
+     * @return An array of Momentum values of the given length.
+     */
+    private double[] calculate(double[] prices, int length) {
+        return calculate(prices, length, new double[length]);
+    }
+
+    private double[] calculate(double[] prices, int length, double[] momentumValues) {
+        Arrays.fill(momentumValues, 0, Math.min(period, length), 0);
+        VectorKernels.differenceAtLag(prices, period, period, length, momentumValues);
 
         return momentumValues;
     }
 
+    /**
+     * Calculates only the latest Momentum value.
+     *
+     * @param series The candle series.
+     * @return The Momentum value at the latest bar.
+     */
+    public double calculateLatest(CandleSeries series) {
+        if (series == null || series.size() < period) {
+            throw new IllegalArgumentException("Not enough data to calculate Momentum.");
+        }
+        int last = series.size() - 1;
+        return last >= period ? series.closes()[last] - series.closes()[last - period] : 0;
+    }
+
     /**
      * Gets the period for this Momentum indicator.
      *
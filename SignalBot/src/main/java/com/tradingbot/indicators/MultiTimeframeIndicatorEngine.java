@@ -0,0 +1,309 @@
+package com.tradingbot.indicators;
+
+import com.tradingbot.data.CandleInterval;
+import com.tradingbot.data.CandleResampler;
+import com.tradingbot.data.CandleSeries;
+import com.tradingbot.data.OHLCVData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains several timeframes of one trading pair from a single stream of base-interval bars.
+ * <p>
+ * Higher-timeframe bars are aggregated incrementally from the base bars, and the streaming
+ * indicators registered on a timeframe are advanced only when one of its bars closes. Fetching
+ * history once at the base interval therefore replaces one request per timeframe. When the first
+ * base bar falls partway into a higher-timeframe period, that incomplete bar is never closed, so
+ * the timeframe's indicators only see complete bars.
+ * <p>
+ * Each timeframe keeps only its most recent closed bars, so the engine can run indefinitely.
+ * Older bars are dropped in batches, so a series can briefly hold up to a quarter more bars
+ * than the limit. The streaming indicators do not depend on the retained bars.
+ */
+public class MultiTimeframeIndicatorEngine {
+
+    /**
+     * Receives a notification each time a bar of a timeframe closes.
+     */
+    public interface BarCloseListener {
+
+        /**
+         * Called once per base bar for each timeframe that closed a bar, after every timeframe has
+         * been updated. After a gap a timeframe can close several bars at once; all of them are in
+         * the series.
+         *
+         * @param interval The timeframe whose bar closed.
+         * @param series   The closed bars of the timeframe, the newest being the last one.
+         */
+        void onBarClose(CandleInterval interval, CandleSeries series);
+    }
+
+    /** The default number of closed bars kept per timeframe. */
+    public static final int DEFAULT_MAX_BARS = 10_000;
+
+    private final CandleInterval baseInterval;
+    private final int maxBars;
+    private final Map<CandleInterval, Timeframe> timeframes = new EnumMap<>(CandleInterval.class);
+    private final List<BarCloseListener> listeners = new ArrayList<>();
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    /**
+     * Constructor for a MultiTimeframeIndicatorEngine that keeps {@link #DEFAULT_MAX_BARS} closed
+     * bars per timeframe.
+     *
+     * @param baseInterval The interval of the incoming bars.
+     * @param intervals    Additional timeframes to maintain; each must be a multiple of the base interval.
+     */
+    public MultiTimeframeIndicatorEngine(CandleInterval baseInterval, CandleInterval... intervals) {
+        this(DEFAULT_MAX_BARS, baseInterval, intervals);
+    }
+
+    /**
+     * Constructor for MultiTimeframeIndicatorEngine.
+     *
+     * @param maxBars      The number of most recent closed bars kept per timeframe.
+     * @param baseInterval The interval of the incoming bars.
+     * @param intervals    Additional timeframes to maintain; each must be a multiple of the base interval.
+     */
+    public MultiTimeframeIndicatorEngine(int maxBars, CandleInterval baseInterval, CandleInterval... intervals) {
+        if (maxBars <= 0) {
+            throw new IllegalArgumentException("Maximum bars must be greater than 0.");
+        }
+        if (baseInterval == null) {
+            throw new IllegalArgumentException("Base interval cannot be null.");
+        }
+        this.maxBars = maxBars;
+        this.baseInterval = baseInterval;
+        addTimeframe(baseInterval);
+        for (CandleInterval interval : intervals) {
+            addTimeframe(interval);
+        }
+    }
+
+    /**
+     * Adds a timeframe to maintain. Bars already fed to the engine are not replayed into it.
+     *
+     * @param interval The timeframe; must be a multiple of the base interval.
+     */
+    public void addTimeframe(CandleInterval interval) {
+        if (interval == null || !interval.isMultipleOf(baseInterval)) {
+            throw new IllegalArgumentException("Timeframe must be a multiple of the base interval " + baseInterval + ".");
+        }
+        if (!timeframes.containsKey(interval)) {
+            timeframes.put(interval, new Timeframe(interval));
+        }
+    }
+
+    /**
+     * Registers a streaming indicator on a timeframe. The indicator is seeded with the closed bars
+     * the timeframe still retains and from then on advanced once per closed bar.
+     *
+     * @param interval  The timeframe.
+     * @param name      The name to look the indicator up by, unique within the timeframe.
+     * @param indicator The streaming indicator.
+     */
+    public void addIndicator(CandleInterval interval, String name, StreamingIndicator indicator) {
+        if (name == null || indicator == null) {
+            throw new IllegalArgumentException("Name and indicator cannot be null.");
+        }
+        Timeframe timeframe = timeframe(interval);
+        if (timeframe.indicators.containsKey(name)) {
+            throw new IllegalArgumentException("Indicator " + name + " is already registered on " + interval + ".");
+        }
+        indicator.seed(timeframe.series);
+        timeframe.indicators.put(name, indicator);
+    }
+
+    /**
+     * Registers a listener that is notified whenever a bar of any timeframe closes.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(BarCloseListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null.");
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Feeds a closed base-interval bar. Every timeframe whose bar is completed by it, or by the
+     * start of a later bar after a gap, closes that bar and advances its indicators.
+     *
+     * @param timestamp The bar timestamp in epoch milliseconds.
+     * @param open      The opening price.
+     * @param high      The highest price.
+     * @param low       The lowest price.
+     * @param close     The closing price.
+     * @param volume    The trading volume.
+     */
+    public void update(long timestamp, double open, double high, double low, double close, double volume) {
+        if (timestamp <= lastTimestamp) {
+            throw new IllegalArgumentException("Base bars must be fed in ascending time order.");
+        }
+        lastTimestamp = timestamp;
+        // Update every timeframe before notifying, so listeners see a consistent state across timeframes
+        for (Timeframe timeframe : timeframes.values()) {
+            timeframe.add(timestamp, open, high, low, close, volume);
+        }
+        if (listeners.isEmpty()) {
+            return;
+        }
+        for (Timeframe timeframe : timeframes.values()) {
+            if (timeframe.closedBars > 0) {
+                for (BarCloseListener listener : listeners) {
+                    listener.onBarClose(timeframe.interval, timeframe.series);
+                }
+            }
+        }
+    }
+
+    /**
+     * Feeds a closed base-interval bar.
+     *
+     * @param candle The OHLCV bar.
+     */
+    public void update(OHLCVData candle) {
+        update(candle.getTimestamp().toEpochMilli(), candle.getOpen(), candle.getHigh(),
+                candle.getLow(), candle.getClose(), candle.getVolume());
+    }
+
+    /**
+     * Feeds historical base-interval bars, oldest first.
+     *
+     * @param history The list of OHLCV data.
+     */
+    public void seed(List<OHLCVData> history) {
+        for (OHLCVData candle : history) {
+            update(candle);
+        }
+    }
+
+    /**
+     * Feeds historical base-interval bars from a candle series, oldest first.
+     *
+     * @param series The candle series.
+     */
+    public void seed(CandleSeries series) {
+        long[] timestamps = series.timestamps();
+        double[] open = series.opens();
+        double[] high = series.highs();
+        double[] low = series.lows();
+        double[] close = series.closes();
+        double[] volume = series.volumes();
+        for (int i = 0; i < series.size(); i++) {
+            update(timestamps[i], open[i], high[i], low[i], close[i], volume[i]);
+        }
+    }
+
+    /**
+     * Gets the closed bars of a timeframe.
+     *
+     * @param interval The timeframe.
+     * @return The live series of the retained closed bars; it must not be modified, and its
+     * oldest bars are dropped as new ones close.
+     */
+    public CandleSeries getSeries(CandleInterval interval) {
+        return timeframe(interval).series;
+    }
+
+    /**
+     * Gets an indicator registered on a timeframe.
+     *
+     * @param interval The timeframe.
+     * @param name     The indicator name.
+     * @return The streaming indicator.
+     */
+    public StreamingIndicator getIndicator(CandleInterval interval, String name) {
+        StreamingIndicator indicator = timeframe(interval).indicators.get(name);
+        if (indicator == null) {
+            throw new IllegalArgumentException("No indicator " + name + " is registered on " + interval + ".");
+        }
+        return indicator;
+    }
+
+    /**
+     * Gets the value of an indicator as of the last closed bar of its timeframe.
+     *
+     * @param interval The timeframe.
+     * @param name     The indicator name.
+     * @return The indicator value, or 0 while the indicator is not ready.
+     */
+    public double getValue(CandleInterval interval, String name) {
+        return getIndicator(interval, name).getValue();
+    }
+
+    /**
+     * Gets the number of most recent closed bars kept per timeframe.
+     *
+     * @return The maximum number of bars.
+     */
+    public int getMaxBars() {
+        return maxBars;
+    }
+
+    /**
+     * Gets the interval of the incoming bars.
+     *
+     * @return The base interval.
+     */
+    public CandleInterval getBaseInterval() {
+        return baseInterval;
+    }
+
+    /**
+     * Gets the maintained timeframes, finest first.
+     *
+     * @return An unmodifiable view of the timeframes.
+     */
+    public List<CandleInterval> getTimeframes() {
+        return Collections.unmodifiableList(new ArrayList<>(timeframes.keySet()));
+    }
+
+    private Timeframe timeframe(CandleInterval interval) {
+        Timeframe timeframe = timeframes.get(interval);
+        if (timeframe == null) {
+            throw new IllegalArgumentException("Timeframe " + interval + " is not maintained by this engine.");
+        }
+        return timeframe;
+    }
+
+    /**
+     * Resampler, closed bars and indicators of one timeframe.
+     */
+    private final class Timeframe {
+        private final CandleInterval interval;
+        private final CandleSeries series = new CandleSeries();
+        private final Map<String, StreamingIndicator> indicators = new LinkedHashMap<>();
+        private final CandleResampler resampler;
+
+        // Number of bars closed by the latest base bar; more than one after a gap
+        private int closedBars;
+
+        private Timeframe(CandleInterval interval) {
+            this.interval = interval;
+            this.resampler = new CandleResampler(baseInterval, interval, this::closeBar);
+        }
+
+        private void add(long timestamp, double open, double high, double low, double close, double volume) {
+            closedBars = 0;
+            resampler.accept(timestamp, open, high, low, close, volume);
+        }
+
+        private void closeBar(long start, double open, double high, double low, double close, double volume) {
+            series.add(start, open, high, low, close, volume);
+            if (series.size() > maxBars + maxBars / 4) {
+                series.removeFirst(series.size() - maxBars);
+            }
+            for (StreamingIndicator indicator : indicators.values()) {
+                indicator.update(start, open, high, low, close, volume);
+            }
+            closedBars++;
+        }
+    }
+}
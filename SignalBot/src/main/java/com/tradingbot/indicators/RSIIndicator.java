@@ -1,7 +1,9 @@
 package com.tradingbot.indicators;
 
+import com.tradingbot.data.CandleSeries;
 import com.tradingbot.data.OHLCVData;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -30,18 +32,48 @@ public class RSIIndicator {
      * @return An array of RSI values corresponding to the input data.
      */
     public double[] calculate(List<OHLCVData> data) {
-        if (data == null || data.size() < period) {
+        if (data == null || data.size() <= period) {
+            throw new IllegalArgumentException("Not enough data to calculate RSI.");
+        }
+        return calculate(CandleSeries.of(data));
+    }
+
+    /**
+     * Calculates the RSI for a candle series.
+     *
+     * @param series The candle series.
+     * @return An array of RSI values corresponding to the bars in the series.
+     */
+    public double[] calculate(CandleSeries series) {
+        if (series == null || series.size() <= period) {
+            throw new IllegalArgumentException("Not enough data to calculate RSI.");
+        }
+        return calculate(series, new double[series.size()]);
+    }
+
+    /**
+     * Calculates the RSI for a candle series into a caller-owned buffer.
+     *
+     * @param series    The candle series.
+     * @param rsiValues The output buffer; must hold at least series.size() values.
+     * @return The output buffer, with the first series.size() entries filled.
+     */
+    public double[] calculate(CandleSeries series, double[] rsiValues) {
+        if (series == null || series.size() <= period) {
             throw new IllegalArgumentException("Not enough data to calculate RSI.");
         }
 
-        double[] rsiValues = new double[data.size()];
+        double[] close = series.closes();
+        int size = series.size();
+        IndicatorUtils.checkOutput(rsiValues, size);
+        Arrays.fill(rsiValues, 0, period, 0);
 
         double gainSum = 0;
         double lossSum = 0;
 
         // Initialize with the first period gains/losses
         for (int i = 1; i <= period; i++) {
-            double change = data.get(i).getClose() - data.get(i - 1).getClose();
+            double change = close[i] - close[i - 1];
             if (change > 0) {
                 gainSum += change;
             } else {
@@ -56,8 +88,8 @@ public class RSIIndicator {
         rsiValues[period] = calculateRSI(avgGain, avgLoss);
 
         // Calculate RSI for subsequent points
-        for (int i = period + 1; i < data.size(); i++) {
-            double change = data.get(i).getClose() - data.get(i - 1).getClose();
+        for (int i = period + 1; i < size; i++) {
+            double change = close[i] - close[i - 1];
             double gain = Math.max(0, change);
             double loss = Math.max(0, -change);
 
@@ -77,7 +109,7 @@ public class RSIIndicator {
      * @param avgLoss The average loss.
      * @return The RSI value.
      */
-    private double calculateRSI(double avgGain, double avgLoss) {
+    private static double calculateRSI(double avgGain, double avgLoss) {
         if (avgLoss == 0) {
             return 100; // Overbought
         }
@@ -85,6 +117,161 @@ public class RSIIndicator {
         return 100 - (100 / (1 + rs));
     }
 
+    /**
+     * Calculates the RSI for several periods in a single pass over the series.
+     * Each price change is computed once and fed to every period's averages.
+     * Each row equals {@code new RSIIndicator(periods[k]).calculate(series)}.
+     *
+     * @param series  The candle series.
+     * @param periods The periods to evaluate.
+     * @return A matrix indexed by [period][bar].
+     */
+    public static double[][] sweep(CandleSeries series, int... periods) {
+        int maxPeriod = IndicatorUtils.checkPeriods(periods);
+        if (series == null || series.size() <= maxPeriod) {
+            throw new IllegalArgumentException("Not enough data to calculate RSI.");
+        }
+
+        int size = series.size();
+        int count = periods.length;
+        double[] close = series.closes();
+        double[][] rsiValues = new double[count][size];
+        // Running sums during the first period, Wilder averages afterwards
+        double[] avgGain = new double[count];
+        double[] avgLoss = new double[count];
+        double[] gains = new double[IndicatorUtils.SWEEP_BLOCK];
+        double[] losses = new double[IndicatorUtils.SWEEP_BLOCK];
+
+        // Walk the series in cache-sized blocks: compute each block's gains and losses once,
+        // then advance every period across the block in turn
+        for (int start = 1; start < size; start += IndicatorUtils.SWEEP_BLOCK) {
+            int end = Math.min(size, start + IndicatorUtils.SWEEP_BLOCK);
+            for (int i = start; i < end; i++) {
+                double change = close[i] - close[i - 1];
+                gains[i - start] = Math.max(0, change);
+                losses[i - start] = Math.max(0, -change);
+            }
+
+            // Periods are advanced in pairs so their independent recurrences overlap in the pipeline
+            int k = 0;
+            for (; k + 1 < count; k += 2) {
+                int first = periods[k];
+                int second = periods[k + 1];
+                int shared = Math.min(end, Math.max(start, Math.max(first, second) + 1));
+                advance(first, rsiValues[k], gains, losses, start, shared, avgGain, avgLoss, k);
+                advance(second, rsiValues[k + 1], gains, losses, start, shared, avgGain, avgLoss, k + 1);
+
+                double[] firstRow = rsiValues[k];
+                double[] secondRow = rsiValues[k + 1];
+                double firstGain = avgGain[k];
+                double firstLoss = avgLoss[k];
+                double secondGain = avgGain[k + 1];
+                double secondLoss = avgLoss[k + 1];
+                for (int i = shared; i < end; i++) {
+                    double gain = gains[i - start];
+                    double loss = losses[i - start];
+                    firstGain = (firstGain * (first - 1) + gain) / first;
+                    firstLoss = (firstLoss * (first - 1) + loss) / first;
+                    secondGain = (secondGain * (second - 1) + gain) / second;
+                    secondLoss = (secondLoss * (second - 1) + loss) / second;
+                    firstRow[i] = calculateRSI(firstGain, firstLoss);
+                    secondRow[i] = calculateRSI(secondGain, secondLoss);
+                }
+                avgGain[k] = firstGain;
+                avgLoss[k] = firstLoss;
+                avgGain[k + 1] = secondGain;
+                avgLoss[k + 1] = secondLoss;
+            }
+            if (k < count) {
+                advance(periods[k], rsiValues[k], gains, losses, start, end, avgGain, avgLoss, k);
+            }
+        }
+        return rsiValues;
+    }
+
+    /**
+     * Advances one period of a sweep from the start of the current block up to bar {@code to}.
+     */
+    private static void advance(int period, double[] row, double[] gains, double[] losses, int blockStart,
+                                int to, double[] avgGain, double[] avgLoss, int k) {
+        double gain = avgGain[k];
+        double loss = avgLoss[k];
+        int i = blockStart;
+        for (; i < to && i <= period; i++) {
+            gain += gains[i - blockStart];
+            loss += losses[i - blockStart];
+            if (i == period) {
+                gain /= period;
+                loss /= period;
+                row[i] = calculateRSI(gain, loss);
+            }
+        }
+        for (; i < to; i++) {
+            gain = (gain * (period - 1) + gains[i - blockStart]) / period;
+            loss = (loss * (period - 1) + losses[i - blockStart]) / period;
+            row[i] = calculateRSI(gain, loss);
+        }
+        avgGain[k] = gain;
+        avgLoss[k] = loss;
+    }
+
+    /**
+     * Gets the number of trailing bars {@link #calculateLatest(CandleSeries)} reads.
+     *
+     * @return The lookback in bars.
+     */
+    public int getLookback() {
+        return 2 * IndicatorUtils.CONVERGENCE_PERIODS * period + 1;
+    }
+
+    /**
+     * Calculates only the latest RSI value, warming up over the last {@link #getLookback()} bars
+     * instead of the whole series. The result matches {@link #calculate(CandleSeries)} exactly when
+     * the series is no longer than the lookback, and converges to it otherwise.
+     *
+     * @param series The candle series.
+     * @return The RSI value at the latest bar.
+     */
+    public double calculateLatest(CandleSeries series) {
+        if (series == null || series.size() <= period) {
+            throw new IllegalArgumentException("Not enough data to calculate RSI.");
+        }
+
+        double[] close = series.closes();
+        int size = series.size();
+        int from = Math.max(0, size - getLookback());
+
+        double gainSum = 0;
+        double lossSum = 0;
+        for (int i = from + 1; i <= from + period; i++) {
+            double change = close[i] - close[i - 1];
+            if (change > 0) {
+                gainSum += change;
+            } else {
+                lossSum += Math.abs(change);
+            }
+        }
+
+        double avgGain = gainSum / period;
+        double avgLoss = lossSum / period;
+        for (int i = from + period + 1; i < size; i++) {
+            double change = close[i] - close[i - 1];
+            avgGain = (avgGain * (period - 1) + Math.max(0, change)) / period;
+            avgLoss = (avgLoss * (period - 1) + Math.max(0, -change)) / period;
+        }
+
+        return calculateRSI(avgGain, avgLoss);
+    }
+
+    /**
+     * Creates a streaming counterpart of this indicator with the same parameters.
+     *
+     * @return A new, unseeded StreamingRSIIndicator.
+     */
+    public StreamingRSIIndicator stream() {
+        return new StreamingRSIIndicator(period);
+    }
+
     /**
      * Gets the period for this RSI indicator.
      *
@@ -0,0 +1,182 @@
+package com.tradingbot.indicators;
+
+/**
+ * Sliding-window mean and population standard deviation in O(1) per element.
+ * Uses Welford's update adapted to a fixed-size window, and recomputes the window exactly at a
+ * fixed interval so rounding drift cannot build up over long series.
+ */
+final class RollingStatistics {
+
+    /** Number of sliding updates after which the window is recomputed from scratch. */
+    static final int RESYNC_INTERVAL = 4096;
+
+    private RollingStatistics() {
+    }
+
+    /**
+     * Computes the rolling mean and standard deviation of the first {@code length} values.
+     * Entries before index {@code period - 1} are left untouched.
+     *
+     * @param values The input values.
+     * @param length The number of valid entries.
+     * @param period The window size.
+     * @param mean   The output array for the rolling mean.
+     * @param stdDev The output array for the rolling standard deviation.
+     */
+    static void compute(double[] values, int length, int period, double[] mean, double[] stdDev) {
+        if (length < period) {
+            return;
+        }
+
+        // Seed the first window with the standard Welford recurrence
+        double m = 0;
+        double m2 = 0;
+        for (int i = 0; i < period; i++) {
+            double delta = values[i] - m;
+            m += delta / (i + 1);
+            m2 += delta * (values[i] - m);
+        }
+        mean[period - 1] = m;
+        stdDev[period - 1] = Math.sqrt(Math.max(m2, 0) / period);
+
+        int sinceResync = 0;
+        for (int i = period; i < length; i++) {
+            if (++sinceResync == RESYNC_INTERVAL) {
+                m = windowMean(values, i - period + 1, i + 1);
+                m2 = windowSquaredDeviations(values, i - period + 1, i + 1, m);
+                sinceResync = 0;
+            } else {
+                double incoming = values[i];
+                double outgoing = values[i - period];
+                double previousMean = m;
+                m += (incoming - outgoing) / period;
+                m2 += (incoming - outgoing) * (incoming - m + outgoing - previousMean);
+            }
+            mean[i] = m;
+            stdDev[i] = Math.sqrt(Math.max(m2, 0) / period);
+        }
+    }
+
+    /**
+     * Computes the rolling mean and standard deviation for several window sizes in one pass.
+     * Row k holds exactly what {@link #compute} gives for {@code periods[k]}.
+     *
+     * @param values  The input values.
+     * @param length  The number of valid entries.
+     * @param periods The window sizes.
+     * @param mean    The output rows for the rolling mean, one per window size.
+     * @param stdDev  The output rows for the rolling standard deviation, one per window size.
+     */
+    static void computeAll(double[] values, int length, int[] periods, double[][] mean, double[][] stdDev) {
+        int count = periods.length;
+        // Per window size: running mean, sum of squared deviations, and sliding updates since the last resync
+        double[] windowMean = new double[count];
+        double[] windowM2 = new double[count];
+        int[] sinceResync = new int[count];
+
+        // Walk the values in cache-sized blocks, advancing every window size across each block in turn
+        for (int start = 0; start < length; start += IndicatorUtils.SWEEP_BLOCK) {
+            int end = Math.min(length, start + IndicatorUtils.SWEEP_BLOCK);
+
+            // Window sizes are advanced in pairs so their independent recurrences overlap in the pipeline
+            int k = 0;
+            for (; k + 1 < count; k += 2) {
+                int first = periods[k];
+                int second = periods[k + 1];
+                int shared = Math.min(end, Math.max(start, Math.max(first, second)));
+                advance(values, first, start, shared, windowMean, windowM2, sinceResync, k, mean[k], stdDev[k]);
+                advance(values, second, start, shared, windowMean, windowM2, sinceResync, k + 1, mean[k + 1], stdDev[k + 1]);
+
+                double firstMean = windowMean[k];
+                double firstM2 = windowM2[k];
+                double secondMean = windowMean[k + 1];
+                double secondM2 = windowM2[k + 1];
+                for (int i = shared; i < end; i++) {
+                    double incoming = values[i];
+                    if (++sinceResync[k] == RESYNC_INTERVAL) {
+                        firstMean = windowMean(values, i - first + 1, i + 1);
+                        firstM2 = windowSquaredDeviations(values, i - first + 1, i + 1, firstMean);
+                        sinceResync[k] = 0;
+                    } else {
+                        double outgoing = values[i - first];
+                        double previousMean = firstMean;
+                        firstMean += (incoming - outgoing) / first;
+                        firstM2 += (incoming - outgoing) * (incoming - firstMean + outgoing - previousMean);
+                    }
+                    if (++sinceResync[k + 1] == RESYNC_INTERVAL) {
+                        secondMean = windowMean(values, i - second + 1, i + 1);
+                        secondM2 = windowSquaredDeviations(values, i - second + 1, i + 1, secondMean);
+                        sinceResync[k + 1] = 0;
+                    } else {
+                        double outgoing = values[i - second];
+                        double previousMean = secondMean;
+                        secondMean += (incoming - outgoing) / second;
+                        secondM2 += (incoming - outgoing) * (incoming - secondMean + outgoing - previousMean);
+                    }
+                    mean[k][i] = firstMean;
+                    stdDev[k][i] = Math.sqrt(Math.max(firstM2, 0) / first);
+                    mean[k + 1][i] = secondMean;
+                    stdDev[k + 1][i] = Math.sqrt(Math.max(secondM2, 0) / second);
+                }
+                windowMean[k] = firstMean;
+                windowM2[k] = firstM2;
+                windowMean[k + 1] = secondMean;
+                windowM2[k + 1] = secondM2;
+            }
+            if (k < count) {
+                advance(values, periods[k], start, end, windowMean, windowM2, sinceResync, k, mean[k], stdDev[k]);
+            }
+        }
+    }
+
+    /**
+     * Advances one window size of {@link #computeAll} from the start of the current block up to index {@code to}.
+     */
+    private static void advance(double[] values, int period, int from, int to, double[] windowMean, double[] windowM2,
+                                int[] sinceResync, int k, double[] mean, double[] stdDev) {
+        double m = windowMean[k];
+        double m2 = windowM2[k];
+        int i = from;
+        // Seed the first window with the standard Welford recurrence
+        for (; i < to && i < period; i++) {
+            double delta = values[i] - m;
+            m += delta / (i + 1);
+            m2 += delta * (values[i] - m);
+            if (i == period - 1) {
+                mean[i] = m;
+                stdDev[i] = Math.sqrt(Math.max(m2, 0) / period);
+            }
+        }
+        for (; i < to; i++) {
+            if (++sinceResync[k] == RESYNC_INTERVAL) {
+                m = windowMean(values, i - period + 1, i + 1);
+                m2 = windowSquaredDeviations(values, i - period + 1, i + 1, m);
+                sinceResync[k] = 0;
+            } else {
+                double incoming = values[i];
+                double outgoing = values[i - period];
+                double previousMean = m;
+                m += (incoming - outgoing) / period;
+                m2 += (incoming - outgoing) * (incoming - m + outgoing - previousMean);
+            }
+            mean[i] = m;
+            stdDev[i] = Math.sqrt(Math.max(m2, 0) / period);
+        }
+        windowMean[k] = m;
+        windowM2[k] = m2;
+    }
+
+    /**
+     * Calculates the mean of a range of values.
+     */
+    static double windowMean(double[] values, int from, int to) {
+        return VectorKernels.sum(values, from, to) / (to - from);
+    }
+
+    /**
+     * Calculates the sum of squared deviations from the mean over a range of values.
+     */
+    static double windowSquaredDeviations(double[] values, int from, int to, double mean) {
+        return VectorKernels.sumSquaredDeviations(values, from, to, mean);
+    }
+}
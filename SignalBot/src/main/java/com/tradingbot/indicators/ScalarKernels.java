@@ -0,0 +1,87 @@
+package com.tradingbot.indicators;
+
+/**
+ * Plain-loop implementation of {@link VectorKernels}, and the tail handler for {@link SimdKernels}.
+ */
+class ScalarKernels {
+
+    double sum(double[] values, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    double sumSquaredDeviations(double[] values, int from, int to, double mean) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            double deviation = values[i] - mean;
+            sum += deviation * deviation;
+        }
+        return sum;
+    }
+
+    double sumTypicalPriceVolume(double[] high, double[] low, double[] close, double[] volume, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += ((high[i] + low[i] + close[i]) / 3) * volume[i];
+        }
+        return sum;
+    }
+
+    void multiply(double[] a, double[] b, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    void subtract(double[] a, double[] b, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    void differenceAtLag(double[] values, int lag, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            out[i] = values[i] - values[i - lag];
+        }
+    }
+
+    void average(double[] a, double[] b, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            out[i] = (a[i] + b[i]) / 2;
+        }
+    }
+
+    void bands(double[] mean, double[] stdDev, double multiplier, int from, int to, double[] upper, double[] lower) {
+        for (int i = from; i < to; i++) {
+            double width = multiplier * stdDev[i];
+            upper[i] = mean[i] + width;
+            lower[i] = mean[i] - width;
+        }
+    }
+
+    void trueRange(double[] high, double[] low, double[] close, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            out[i] = Math.max(high[i] - low[i],
+                    Math.max(Math.abs(high[i] - close[i - 1]), Math.abs(low[i] - close[i - 1])));
+        }
+    }
+
+    void directionalMovement(double[] high, double[] low, int from, int to, double[] plusDM, double[] minusDM) {
+        for (int i = from; i < to; i++) {
+            double highDiff = high[i] - high[i - 1];
+            double lowDiff = low[i - 1] - low[i];
+            plusDM[i] = highDiff > lowDiff && highDiff > 0 ? highDiff : 0;
+            minusDM[i] = lowDiff > highDiff && lowDiff > 0 ? lowDiff : 0;
+        }
+    }
+
+    void stochastic(double[] values, double[] min, double[] max, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            double range = max[i] - min[i];
+            out[i] = range == 0 ? 0 : (values[i] - min[i]) / range;
+        }
+    }
+}
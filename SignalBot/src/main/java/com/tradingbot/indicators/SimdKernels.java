@@ -0,0 +1,162 @@
+package com.tradingbot.indicators;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of {@link VectorKernels}. Each kernel processes whole vectors and
+ * hands the remaining tail to the scalar loop. Only loaded when jdk.incubator.vector is present.
+ */
+final class SimdKernels extends ScalarKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private static int bound(int from, int to) {
+        return from + SPECIES.loopBound(to - from);
+    }
+
+    @Override
+    double sum(double[] values, int from, int to) {
+        int bound = bound(from, to);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = from;
+        for (; i < bound; i += LANES) {
+            acc = acc.add(DoubleVector.fromArray(SPECIES, values, i));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + super.sum(values, i, to);
+    }
+
+    @Override
+    double sumSquaredDeviations(double[] values, int from, int to, double mean) {
+        int bound = bound(from, to);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = from;
+        for (; i < bound; i += LANES) {
+            DoubleVector deviation = DoubleVector.fromArray(SPECIES, values, i).sub(mean);
+            acc = acc.add(deviation.mul(deviation));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + super.sumSquaredDeviations(values, i, to, mean);
+    }
+
+    @Override
+    double sumTypicalPriceVolume(double[] high, double[] low, double[] close, double[] volume, int from, int to) {
+        int bound = bound(from, to);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = from;
+        for (; i < bound; i += LANES) {
+            DoubleVector typicalPrice = DoubleVector.fromArray(SPECIES, high, i)
+                    .add(DoubleVector.fromArray(SPECIES, low, i))
+                    .add(DoubleVector.fromArray(SPECIES, close, i))
+                    .div(3);
+            acc = acc.add(typicalPrice.mul(DoubleVector.fromArray(SPECIES, volume, i)));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + super.sumTypicalPriceVolume(high, low, close, volume, i, to);
+    }
+
+    @Override
+    void multiply(double[] a, double[] b, int from, int to, double[] out) {
+        int bound = bound(from, to);
+        int i = from;
+        for (; i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, a, i).mul(DoubleVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+        }
+        super.multiply(a, b, i, to, out);
+    }
+
+    @Override
+    void subtract(double[] a, double[] b, int from, int to, double[] out) {
+        int bound = bound(from, to);
+        int i = from;
+        for (; i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+        }
+        super.subtract(a, b, i, to, out);
+    }
+
+    @Override
+    void differenceAtLag(double[] values, int lag, int from, int to, double[] out) {
+        int bound = bound(from, to);
+        int i = from;
+        for (; i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, values, i)
+                    .sub(DoubleVector.fromArray(SPECIES, values, i - lag))
+                    .intoArray(out, i);
+        }
+        super.differenceAtLag(values, lag, i, to, out);
+    }
+
+    @Override
+    void average(double[] a, double[] b, int from, int to, double[] out) {
+        int bound = bound(from, to);
+        int i = from;
+        for (; i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, a, i).add(DoubleVector.fromArray(SPECIES, b, i)).div(2).intoArray(out, i);
+        }
+        super.average(a, b, i, to, out);
+    }
+
+    @Override
+    void bands(double[] mean, double[] stdDev, double multiplier, int from, int to, double[] upper, double[] lower) {
+        int bound = bound(from, to);
+        int i = from;
+        for (; i < bound; i += LANES) {
+            DoubleVector middle = DoubleVector.fromArray(SPECIES, mean, i);
+            DoubleVector width = DoubleVector.fromArray(SPECIES, stdDev, i).mul(multiplier);
+            middle.add(width).intoArray(upper, i);
+            middle.sub(width).intoArray(lower, i);
+        }
+        super.bands(mean, stdDev, multiplier, i, to, upper, lower);
+    }
+
+    @Override
+    void trueRange(double[] high, double[] low, double[] close, int from, int to, double[] out) {
+        int bound = bound(from, to);
+        int i = from;
+        for (; i < bound; i += LANES) {
+            DoubleVector h = DoubleVector.fromArray(SPECIES, high, i);
+            DoubleVector l = DoubleVector.fromArray(SPECIES, low, i);
+            DoubleVector previousClose = DoubleVector.fromArray(SPECIES, close, i - 1);
+            h.sub(l)
+                    .max(h.sub(previousClose).abs().max(l.sub(previousClose).abs()))
+                    .intoArray(out, i);
+        }
+        super.trueRange(high, low, close, i, to, out);
+    }
+
+    @Override
+    void directionalMovement(double[] high, double[] low, int from, int to, double[] plusDM, double[] minusDM) {
+        int bound = bound(from, to);
+        DoubleVector zero = DoubleVector.zero(SPECIES);
+        int i = from;
+        for (; i < bound; i += LANES) {
+            DoubleVector highDiff = DoubleVector.fromArray(SPECIES, high, i)
+                    .sub(DoubleVector.fromArray(SPECIES, high, i - 1));
+            DoubleVector lowDiff = DoubleVector.fromArray(SPECIES, low, i - 1)
+                    .sub(DoubleVector.fromArray(SPECIES, low, i));
+            VectorMask<Double> plus = highDiff.compare(VectorOperators.GT, lowDiff)
+                    .and(highDiff.compare(VectorOperators.GT, 0));
+            VectorMask<Double> minus = lowDiff.compare(VectorOperators.GT, highDiff)
+                    .and(lowDiff.compare(VectorOperators.GT, 0));
+            zero.blend(highDiff, plus).intoArray(plusDM, i);
+            zero.blend(lowDiff, minus).intoArray(minusDM, i);
+        }
+        super.directionalMovement(high, low, i, to, plusDM, minusDM);
+    }
+
+    @Override
+    void stochastic(double[] values, double[] min, double[] max, int from, int to, double[] out) {
+        int bound = bound(from, to);
+        DoubleVector zero = DoubleVector.zero(SPECIES);
+        int i = from;
+        for (; i < bound; i += LANES) {
+            DoubleVector lowest = DoubleVector.fromArray(SPECIES, min, i);
+            DoubleVector range = DoubleVector.fromArray(SPECIES, max, i).sub(lowest);
+            DoubleVector value = DoubleVector.fromArray(SPECIES, values, i).sub(lowest).div(range);
+            value.blend(zero, range.compare(VectorOperators.EQ, 0)).intoArray(out, i);
+        }
+        super.stochastic(values, min, max, i, to, out);
+    }
+}
@@ -0,0 +1,245 @@
+package com.tradingbot.indicators;
+
+/**
+ * Sliding-window maximum and minimum in amortized O(1) per element, built on monotonic deques.
+ * <p>
+ * The streaming form tracks the maximum of one input and the minimum of another, so a single
+ * instance yields the highest high and lowest low that Ichimoku, Stochastic, Donchian or
+ * Williams %R style indicators need. The static methods compute the same extrema over arrays.
+ */
+public class SlidingWindowExtremum {
+
+    private final int window;
+    private final double[] maxValues;
+    private final double[] minValues;
+
+    // Deques of sequence numbers, stored in circular arrays of capacity window
+    private final long[] maxDeque;
+    private final long[] minDeque;
+    private int maxHead;
+    private int maxSize;
+    private int minHead;
+    private int minSize;
+
+    private long count;
+
+    /**
+     * Constructor for SlidingWindowExtremum.
+     *
+     * @param window The number of most recent values the extrema are taken over.
+     */
+    public SlidingWindowExtremum(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be greater than 0.");
+        }
+        this.window = window;
+        this.maxValues = new double[window];
+        this.minValues = new double[window];
+        this.maxDeque = new long[window];
+        this.minDeque = new long[window];
+    }
+
+    /**
+     * Adds a value that takes part in both the maximum and the minimum.
+     *
+     * @param value The next value.
+     */
+    public void add(double value) {
+        add(value, value);
+    }
+
+    /**
+     * Adds one value to the maximum window and one to the minimum window, e.g. a bar's high and low.
+     *
+     * @param maxValue The next value for the maximum (e.g., the high).
+     * @param minValue The next value for the minimum (e.g., the low).
+     */
+    public void add(double maxValue, double minValue) {
+        long sequence = count++;
+        int slot = (int) (sequence % window);
+
+        // Expire the element leaving the window before its slot is overwritten
+        if (maxSize > 0 && maxDeque[maxHead] <= sequence - window) {
+            maxHead = (maxHead + 1) % window;
+            maxSize--;
+        }
+        if (minSize > 0 && minDeque[minHead] <= sequence - window) {
+            minHead = (minHead + 1) % window;
+            minSize--;
+        }
+
+        maxValues[slot] = maxValue;
+        minValues[slot] = minValue;
+
+        // Drop dominated elements from the back, then append
+        while (maxSize > 0 && maxValues[(int) (maxDeque[(maxHead + maxSize - 1) % window] % window)] <= maxValue) {
+            maxSize--;
+        }
+        maxDeque[(maxHead + maxSize) % window] = sequence;
+        maxSize++;
+
+        while (minSize > 0 && minValues[(int) (minDeque[(minHead + minSize - 1) % window] % window)] >= minValue) {
+            minSize--;
+        }
+        minDeque[(minHead + minSize) % window] = sequence;
+        minSize++;
+    }
+
+    /**
+     * Replaces the most recently added value. Costs O(window) since the deques are rebuilt
+     * from the retained window values.
+     *
+     * @param value The revised value.
+     */
+    public void replaceLast(double value) {
+        replaceLast(value, value);
+    }
+
+    /**
+     * Replaces the most recently added pair of values. Costs O(window) since the deques are
+     * rebuilt from the retained window values.
+     *
+     * @param maxValue The revised value for the maximum.
+     * @param minValue The revised value for the minimum.
+     */
+    public void replaceLast(double maxValue, double minValue) {
+        if (count == 0) {
+            add(maxValue, minValue);
+            return;
+        }
+        long last = count - 1;
+        long first = Math.max(0, last - window + 1);
+        maxValues[(int) (last % window)] = maxValue;
+        minValues[(int) (last % window)] = minValue;
+
+        count = first;
+        maxHead = 0;
+        maxSize = 0;
+        minHead = 0;
+        minSize = 0;
+        for (long sequence = first; sequence <= last; sequence++) {
+            int slot = (int) (sequence % window);
+            add(maxValues[slot], minValues[slot]);
+        }
+    }
+
+    /**
+     * Gets the maximum over the current window.
+     *
+     * @return The maximum, or NaN if nothing has been added.
+     */
+    public double getMax() {
+        return maxSize == 0 ? Double.NaN : maxValues[(int) (maxDeque[maxHead] % window)];
+    }
+
+    /**
+     * Gets the minimum over the current window.
+     *
+     * @return The minimum, or NaN if nothing has been added.
+     */
+    public double getMin() {
+        return minSize == 0 ? Double.NaN : minValues[(int) (minDeque[minHead] % window)];
+    }
+
+    /**
+     * Checks whether a full window of values has been added.
+     *
+     * @return true once at least {@code window} values have been added.
+     */
+    public boolean isFull() {
+        return count >= window;
+    }
+
+    /**
+     * Gets the window size.
+     *
+     * @return The window size.
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * Computes the sliding maximum of the first {@code length} values.
+     * Entries before index {@code window - 1} are left untouched.
+     *
+     * @param values The input values.
+     * @param length The number of valid entries.
+     * @param window The window size.
+     * @param out    The output array.
+     */
+    public static void max(double[] values, int length, int window, double[] out) {
+        max(values, length, window, out, new int[window]);
+    }
+
+    /**
+     * Computes the sliding maximum of the first {@code length} values using a caller-owned deque buffer.
+     * Entries before index {@code window - 1} are left untouched.
+     *
+     * @param values The input values.
+     * @param length The number of valid entries.
+     * @param window The window size.
+     * @param out    The output array.
+     * @param deque  Scratch space of at least {@code window} entries.
+     */
+    public static void max(double[] values, int length, int window, double[] out, int[] deque) {
+        int head = 0;
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (size > 0 && deque[head] <= i - window) {
+                head = (head + 1) % window;
+                size--;
+            }
+            while (size > 0 && values[deque[(head + size - 1) % window]] <= values[i]) {
+                size--;
+            }
+            deque[(head + size) % window] = i;
+            size++;
+            if (i >= window - 1) {
+                out[i] = values[deque[head]];
+            }
+        }
+    }
+
+    /**
+     * Computes the sliding minimum of the first {@code length} values.
+     * Entries before index {@code window - 1} are left untouched.
+     *
+     * @param values The input values.
+     * @param length The number of valid entries.
+     * @param window The window size.
+     * @param out    The output array.
+     */
+    public static void min(double[] values, int length, int window, double[] out) {
+        min(values, length, window, out, new int[window]);
+    }
+
+    /**
+     * Computes the sliding minimum of the first {@code length} values using a caller-owned deque buffer.
+     * Entries before index {@code window - 1} are left untouched.
+     *
+     * @param values The input values.
+     * @param length The number of valid entries.
+     * @param window The window size.
+     * @param out    The output array.
+     * @param deque  Scratch space of at least {@code window} entries.
+     */
+    public static void min(double[] values, int length, int window, double[] out, int[] deque) {
+        int head = 0;
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (size > 0 && deque[head] <= i - window) {
+                head = (head + 1) % window;
+                size--;
+            }
+            while (size > 0 && values[deque[(head + size - 1) % window]] >= values[i]) {
+                size--;
+            }
+            deque[(head + size) % window] = i;
+            size++;
+            if (i >= window - 1) {
+                out[i] = values[deque[head]];
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.tradingbot.indicators;
 
+import com.tradingbot.data.CandleSeries;
+
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -31,30 +34,94 @@ public class StochasticRSIIndicator {
         if (rsiValues == null || rsiValues.size() < period) {
             throw new IllegalArgumentException("Not enough data to calculate Stochastic RSI.");
         }
+        return calculate(IndicatorUtils.toArray(rsiValues));
+    }
 
-        double[] stochasticRSIValues = new double[rsiValues.size()];
-
-        for (int i = period - 1; i < rsiValues.size(); i++) {
-            double minRSI = Double.MAX_VALUE;
-            double maxRSI = Double.MIN_VALUE;
+    /**
+     * Calculates the Stochastic RSI for the RSI of a candle series.
+     *
+     * @param series       The candle series.
+     * @param rsiIndicator The RSI indicator applied to the series.
+     * @return An array of Stochastic RSI values corresponding to the bars in the series.
+     */
+    public double[] calculate(CandleSeries series, RSIIndicator rsiIndicator) {
+        return calculate(rsiIndicator.calculate(series));
+    }
 
-            // Calculate min and max RSI over the lookback period
-            for (int j = i - period + 1; j <= i; j++) {
-                minRSI = Math.min(minRSI, rsiValues.get(j));
-                maxRSI = Math.max(maxRSI, rsiValues.get(j));
-            }
+    /**
+     * Calculates the Stochastic RSI for an array of RSI values.
+     *
+     * @param rsiValues The array of RSI values.
+     * @return An array of Stochastic RSI values corresponding to the input RSI values.
+     */
+    public double[] calculate(double[] rsiValues) {
+        if (rsiValues == null || rsiValues.length < period) {
+            throw new IllegalArgumentException("Not enough data to calculate Stochastic RSI.");
+        }
+        int length = rsiValues.length;
+        return calculate(rsiValues, length, new double[length], new IndicatorWorkspace());
+    }
 
-            // Calculate Stochastic RSI
-            if (maxRSI - minRSI == 0) {
-                stochasticRSIValues[i] = 0; // Prevent division by zero
-            } else {
-                stochasticRSIValues[i] = (rsiValues.get(i) - minRSI) / (maxRSI - minRSI);
-            }
+    /**
+     * Calculates the Stochastic RSI over the first {@code length} RSI values into a caller-owned buffer.
+     * The rolling minimum and maximum are kept in workspace buffers.
+     *
+     * @param rsiValues           The array of RSI values.
+     * @param length              The number of valid entries.
+     * @param stochasticRSIValues The output buffer; must hold at least {@code length} values.
+     * @param workspace           Scratch space for the rolling extremes.
+     * @return The output buffer, with the first {@code length} entries filled.
+     */
+    public double[] calculate(double[] rsiValues, int length, double[] stochasticRSIValues, IndicatorWorkspace workspace) {
+        if (rsiValues == null || length < period || rsiValues.length < length) {
+            throw new IllegalArgumentException("Not enough data to calculate Stochastic RSI.");
         }
+        IndicatorUtils.checkOutput(stochasticRSIValues, length);
+
+        double[] minRSI = workspace.doubles(0, length);
+        double[] maxRSI = workspace.doubles(1, length);
+        int[] deque = workspace.ints(0, period);
+        SlidingWindowExtremum.min(rsiValues, length, period, minRSI, deque);
+        SlidingWindowExtremum.max(rsiValues, length, period, maxRSI, deque);
+        Arrays.fill(stochasticRSIValues, 0, period - 1, 0);
+
+        // Calculate Stochastic RSI, 0 where the range is 0 to prevent division by zero
+        VectorKernels.stochastic(rsiValues, minRSI, maxRSI, period - 1, length, stochasticRSIValues);
 
         return stochasticRSIValues;
     }
 
+    /**
+     * Calculates only the latest Stochastic RSI value from the last {@code period} RSI values.
+     *
+     * @param rsiValues The array of RSI values.
+     * @return The Stochastic RSI value at the last RSI value.
+     */
+    public double calculateLatest(double[] rsiValues) {
+        if (rsiValues == null || rsiValues.length < period) {
+            throw new IllegalArgumentException("Not enough data to calculate Stochastic RSI.");
+        }
+        int last = rsiValues.length - 1;
+        double minRSI = Double.POSITIVE_INFINITY;
+        double maxRSI = Double.NEGATIVE_INFINITY;
+        for (int i = last - period + 1; i <= last; i++) {
+            minRSI = Math.min(minRSI, rsiValues[i]);
+            maxRSI = Math.max(maxRSI, rsiValues[i]);
+        }
+        double range = maxRSI - minRSI;
+        return range == 0 ? 0 : (rsiValues[last] - minRSI) / range;
+    }
+
+    /**
+     * Creates a streaming counterpart of this indicator that computes its own RSI.
+     *
+     * @param rsiPeriod The lookback period of the underlying RSI.
+     * @return A new, unseeded StreamingStochasticRSIIndicator.
+     */
+    public StreamingStochasticRSIIndicator stream(int rsiPeriod) {
+        return new StreamingStochasticRSIIndicator(rsiPeriod, period);
+    }
+
     /**
      * Gets the period for this Stochastic RSI indicator.
      *
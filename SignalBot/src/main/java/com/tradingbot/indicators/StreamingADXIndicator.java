@@ -0,0 +1,164 @@
+package com.tradingbot.indicators;
+
+/**
+ * Incremental Average Directional Index (ADX) updated in O(1) per bar.
+ * Keeps ring buffers of the last {@code period} TR, +DM, -DM and DX values so the rolling
+ * smoothing of ADXIndicator can be maintained without rescanning the history, and remembers the
+ * entries the latest bar evicted so it can be revised.
+ */
+public class StreamingADXIndicator implements StreamingIndicator {
+
+    private final int period;
+
+    private final double[] trWindow;
+    private final double[] plusDMWindow;
+    private final double[] minusDMWindow;
+    private final double[] dxWindow;
+
+    private double trSum;
+    private double plusDMSum;
+    private double minusDMSum;
+    private double dxSum;
+
+    private int count;
+    private double previousHigh;
+    private double previousLow;
+    private double previousClose;
+    private double adx;
+
+    // State committed before the latest bar, restored by replaceLast
+    private double savedTRSum;
+    private double savedPlusDMSum;
+    private double savedMinusDMSum;
+    private double savedDXSum;
+    private double savedHigh;
+    private double savedLow;
+    private double savedClose;
+    private double evictedTR;
+    private double evictedPlusDM;
+    private double evictedMinusDM;
+    private double evictedDX;
+
+    /**
+     * Constructor for StreamingADXIndicator.
+     *
+     * @param period The lookback period for ADX calculation.
+     */
+    public StreamingADXIndicator(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be greater than 0.");
+        }
+        this.period = period;
+        this.trWindow = new double[period];
+        this.plusDMWindow = new double[period];
+        this.minusDMWindow = new double[period];
+        this.dxWindow = new double[period];
+    }
+
+    @Override
+    public void update(long timestamp, double open, double high, double low, double close, double volume) {
+        int index = count;
+        int slot = index % period;
+
+        savedTRSum = trSum;
+        savedPlusDMSum = plusDMSum;
+        savedMinusDMSum = minusDMSum;
+        savedDXSum = dxSum;
+        savedHigh = previousHigh;
+        savedLow = previousLow;
+        savedClose = previousClose;
+        evictedTR = trWindow[slot];
+        evictedPlusDM = plusDMWindow[slot];
+        evictedMinusDM = minusDMWindow[slot];
+        evictedDX = dxWindow[slot];
+
+        double tr = 0;
+        double plusDM = 0;
+        double minusDM = 0;
+        if (index > 0) {
+            double highDiff = high - previousHigh;
+            double lowDiff = previousLow - low;
+
+            tr = Math.max(high - low,
+                    Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+            plusDM = highDiff > lowDiff && highDiff > 0 ? highDiff : 0;
+            minusDM = lowDiff > highDiff && lowDiff > 0 ? lowDiff : 0;
+        }
+
+        trSum = roll(trWindow, slot, index, trSum, tr);
+        plusDMSum = roll(plusDMWindow, slot, index, plusDMSum, plusDM);
+        minusDMSum = roll(minusDMWindow, slot, index, minusDMSum, minusDM);
+
+        double dx = 0;
+        if (index >= period) {
+            double smoothedTR = trSum / period;
+            double plusDI = ((plusDMSum / period) / smoothedTR) * 100;
+            double minusDI = ((minusDMSum / period) / smoothedTR) * 100;
+            dx = (Math.abs(plusDI - minusDI) / (plusDI + minusDI)) * 100;
+        }
+
+        dxSum = roll(dxWindow, slot, index, dxSum, dx);
+        adx = index >= period - 1 ? dxSum / period : 0;
+
+        previousHigh = high;
+        previousLow = low;
+        previousClose = close;
+        count++;
+    }
+
+    @Override
+    public void replaceLast(long timestamp, double open, double high, double low, double close, double volume) {
+        if (count > 0) {
+            count--;
+            int slot = count % period;
+            trWindow[slot] = evictedTR;
+            plusDMWindow[slot] = evictedPlusDM;
+            minusDMWindow[slot] = evictedMinusDM;
+            dxWindow[slot] = evictedDX;
+            trSum = savedTRSum;
+            plusDMSum = savedPlusDMSum;
+            minusDMSum = savedMinusDMSum;
+            dxSum = savedDXSum;
+            previousHigh = savedHigh;
+            previousLow = savedLow;
+            previousClose = savedClose;
+        }
+        update(timestamp, open, high, low, close, volume);
+    }
+
+    /**
+     * Adds a value to a rolling window sum, evicting the value that falls out of the window.
+     *
+     * @return The updated rolling sum.
+     */
+    private double roll(double[] window, int slot, int index, double sum, double value) {
+        sum += value;
+        if (index >= period) {
+            sum -= window[slot];
+        }
+        window[slot] = value;
+        return sum;
+    }
+
+    @Override
+    public double getValue() {
+        return adx;
+    }
+
+    /**
+     * The ADX is considered ready once its DX window holds no warmup zeros.
+     */
+    @Override
+    public boolean isReady() {
+        return count >= 2 * period;
+    }
+
+    /**
+     * Gets the period for this ADX indicator.
+     *
+     * @return The lookback period.
+     */
+    public int getPeriod() {
+        return period;
+    }
+}
@@ -0,0 +1,147 @@
+package com.tradingbot.indicators;
+
+/**
+ * Incremental Bollinger Bands over a fixed-size window of closing prices, updated in O(1) per bar
+ * with the same sliding Welford recurrence as BollingerBandsIndicator.
+ */
+public class StreamingBollingerBandsIndicator implements StreamingIndicator {
+
+    private final int period;
+    private final double multiplier;
+    private final double[] window;
+
+    private int count;
+    private int sinceResync;
+    private double mean;
+    private double squaredDeviations;
+    private double upperBand;
+    private double middleBand;
+    private double lowerBand;
+
+    // State committed before the latest close, restored by replaceLast
+    private double evicted;
+    private int savedSinceResync;
+    private double savedMean;
+    private double savedSquaredDeviations;
+
+    /**
+     * Constructor for StreamingBollingerBandsIndicator.
+     *
+     * @param period     The lookback period for calculating the moving average and standard deviation.
+     * @param multiplier The multiplier for the standard deviation to determine band width.
+     */
+    public StreamingBollingerBandsIndicator(int period, double multiplier) {
+        if (period <= 0 || multiplier <= 0) {
+            throw new IllegalArgumentException("Period and multiplier must be greater than 0.");
+        }
+        this.period = period;
+        this.multiplier = multiplier;
+        this.window = new double[period];
+    }
+
+    @Override
+    public void update(long timestamp, double open, double high, double low, double close, double volume) {
+        update(close);
+    }
+
+    /**
+     * Advances the bands by one closing price.
+     *
+     * @param close The next closing price.
+     */
+    public void update(double close) {
+        int slot = count % period;
+        evicted = window[slot];
+        savedSinceResync = sinceResync;
+        savedMean = mean;
+        savedSquaredDeviations = squaredDeviations;
+
+        window[slot] = close;
+        count++;
+        if (count <= period) {
+            // Seed the first window with the standard Welford recurrence
+            double delta = close - mean;
+            mean += delta / count;
+            squaredDeviations += delta * (close - mean);
+        } else if (++sinceResync == RollingStatistics.RESYNC_INTERVAL) {
+            mean = RollingStatistics.windowMean(window, 0, period);
+            squaredDeviations = RollingStatistics.windowSquaredDeviations(window, 0, period, mean);
+            sinceResync = 0;
+        } else {
+            double previousMean = mean;
+            mean += (close - evicted) / period;
+            squaredDeviations += (close - evicted) * (close - mean + evicted - previousMean);
+        }
+        if (count < period) {
+            return;
+        }
+
+        double stdDev = Math.sqrt(Math.max(squaredDeviations, 0) / period);
+        middleBand = mean;
+        upperBand = mean + (multiplier * stdDev);
+        lowerBand = mean - (multiplier * stdDev);
+    }
+
+    @Override
+    public void replaceLast(long timestamp, double open, double high, double low, double close, double volume) {
+        replaceLast(close);
+    }
+
+    /**
+     * Replaces the most recently added closing price with a revised one.
+     *
+     * @param close The revised closing price.
+     */
+    public void replaceLast(double close) {
+        if (count > 0) {
+            count--;
+            window[count % period] = evicted;
+            sinceResync = savedSinceResync;
+            mean = savedMean;
+            squaredDeviations = savedSquaredDeviations;
+        }
+        update(close);
+    }
+
+    /**
+     * Gets the middle band value for the latest bar.
+     *
+     * @return The middle band value.
+     */
+    @Override
+    public double getValue() {
+        return middleBand;
+    }
+
+    /**
+     * Gets the upper band value for the latest bar.
+     *
+     * @return The upper band value.
+     */
+    public double getUpperBand() {
+        return upperBand;
+    }
+
+    /**
+     * Gets the middle band value for the latest bar.
+     *
+     * @return The middle band value.
+     */
+    public double getMiddleBand() {
+        return middleBand;
+    }
+
+    /**
+     * Gets the lower band value for the latest bar.
+     *
+     * @return The lower band value.
+     */
+    public double getLowerBand() {
+        return lowerBand;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count >= period;
+    }
+}
@@ -0,0 +1,96 @@
+package com.tradingbot.indicators;
+
+/**
+ * Incremental Exponential Moving Average (EMA) that is updated in O(1) per bar.
+ */
+public class StreamingEMAIndicator implements StreamingIndicator {
+
+    private final int period;
+    private final double multiplier;
+
+    private int count;
+    private double sum;
+    private double ema;
+
+    // State committed before the latest value, restored by replaceLast
+    private double previousSum;
+    private double previousEma;
+
+    /**
+     * Constructor for StreamingEMAIndicator.
+     *
+     * @param period The lookback period for EMA calculation.
+     */
+    public StreamingEMAIndicator(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be greater than 0.");
+        }
+        this.period = period;
+        this.multiplier = 2.0 / (period + 1);
+    }
+
+    @Override
+    public void update(long timestamp, double open, double high, double low, double close, double volume) {
+        update(close);
+    }
+
+    /**
+     * Advances the EMA by one value.
+     *
+     * @param price The next price.
+     */
+    public void update(double price) {
+        previousSum = sum;
+        previousEma = ema;
+        count++;
+        if (count < period) {
+            sum += price;
+        } else if (count == period) {
+            // Initialize the first EMA value with the SMA of the first period
+            sum += price;
+            ema = sum / period;
+        } else {
+            ema = ((price - ema) * multiplier) + ema;
+        }
+    }
+
+    @Override
+    public void replaceLast(long timestamp, double open, double high, double low, double close, double volume) {
+        replaceLast(close);
+    }
+
+    /**
+     * Replaces the most recently added value with a revised one.
+     *
+     * @param price The revised price.
+     */
+    public void replaceLast(double price) {
+        if (count == 0) {
+            update(price);
+            return;
+        }
+        sum = previousSum;
+        ema = previousEma;
+        count--;
+        update(price);
+    }
+
+    @Override
+    public double getValue() {
+        return isReady() ? ema : 0;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count >= period;
+    }
+
+    /**
+     * Gets the period for this EMA indicator.
+     *
+     * @return The lookback period.
+     */
+    public int getPeriod() {
+        return period;
+    }
+}
@@ -0,0 +1,123 @@
+package com.tradingbot.indicators;
+
+/**
+ * Incremental Ichimoku Cloud updated in amortized O(1) per bar.
+ * Each line keeps a sliding highest-high / lowest-low window instead of rescanning its lookback.
+ */
+public class StreamingIchimokuIndicator implements StreamingIndicator {
+
+    private final int chikouSpanLag;
+
+    private final SlidingWindowExtremum tenkanWindow;
+    private final SlidingWindowExtremum kijunWindow;
+    private final SlidingWindowExtremum senkouSpanBWindow;
+
+    private double latestClose;
+
+    /**
+     * Constructor for StreamingIchimokuIndicator.
+     *
+     * @param tenkanPeriod The period for the Conversion Line (Tenkan-sen).
+     * @param kijunPeriod The period for the Base Line (Kijun-sen).
+     * @param senkouSpanBPeriod The period for the Leading Span B (Senkou Span B).
+     * @param chikouSpanLag The lagging period for the Chikou Span.
+     */
+    public StreamingIchimokuIndicator(int tenkanPeriod, int kijunPeriod, int senkouSpanBPeriod, int chikouSpanLag) {
+        if (tenkanPeriod <= 0 || kijunPeriod <= 0 || senkouSpanBPeriod <= 0 || chikouSpanLag <= 0) {
+            throw new IllegalArgumentException("All periods must be greater than 0.");
+        }
+        this.chikouSpanLag = chikouSpanLag;
+        this.tenkanWindow = new SlidingWindowExtremum(tenkanPeriod);
+        this.kijunWindow = new SlidingWindowExtremum(kijunPeriod);
+        this.senkouSpanBWindow = new SlidingWindowExtremum(senkouSpanBPeriod);
+    }
+
+    @Override
+    public void update(long timestamp, double open, double high, double low, double close, double volume) {
+        tenkanWindow.add(high, low);
+        kijunWindow.add(high, low);
+        senkouSpanBWindow.add(high, low);
+        latestClose = close;
+    }
+
+    @Override
+    public void replaceLast(long timestamp, double open, double high, double low, double close, double volume) {
+        tenkanWindow.replaceLast(high, low);
+        kijunWindow.replaceLast(high, low);
+        senkouSpanBWindow.replaceLast(high, low);
+        latestClose = close;
+    }
+
+    private static double line(SlidingWindowExtremum window) {
+        return window.isFull() ? (window.getMax() + window.getMin()) / 2 : 0;
+    }
+
+    /**
+     * Gets the Tenkan-sen value for the latest bar.
+     *
+     * @return The Tenkan-sen value.
+     */
+    @Override
+    public double getValue() {
+        return getTenkanSen();
+    }
+
+    /**
+     * Gets the Tenkan-sen (Conversion Line) value for the latest bar.
+     *
+     * @return The Tenkan-sen value.
+     */
+    public double getTenkanSen() {
+        return line(tenkanWindow);
+    }
+
+    /**
+     * Gets the Kijun-sen (Base Line) value for the latest bar.
+     *
+     * @return The Kijun-sen value.
+     */
+    public double getKijunSen() {
+        return line(kijunWindow);
+    }
+
+    /**
+     * Gets the Senkou Span A (Leading Span A) value for the latest bar.
+     *
+     * @return The Senkou Span A value.
+     */
+    public double getSenkouSpanA() {
+        return kijunWindow.isFull() ? (getTenkanSen() + getKijunSen()) / 2 : 0;
+    }
+
+    /**
+     * Gets the Senkou Span B (Leading Span B) value for the latest bar.
+     *
+     * @return The Senkou Span B value.
+     */
+    public double getSenkouSpanB() {
+        return line(senkouSpanBWindow);
+    }
+
+    /**
+     * Gets the latest close, which is the Chikou Span value plotted {@code chikouSpanLag} bars back.
+     *
+     * @return The Chikou Span value belonging to the bar {@code chikouSpanLag} bars ago.
+     */
+    public double getChikouSpan() {
+        return latestClose;
+    }
+
+    /**
+     * Gets the lagging period for Chikou Span.
+     *
+     * @return The lagging period for the Chikou Span.
+     */
+    public int getChikouSpanLag() {
+        return chikouSpanLag;
+    }
+
+    @Override
+    public boolean isReady() {
+        return tenkanWindow.isFull() && kijunWindow.isFull() && senkouSpanBWindow.isFull();
+    }
+}
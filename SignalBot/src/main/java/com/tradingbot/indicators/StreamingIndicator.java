@@ -0,0 +1,103 @@
+package com.tradingbot.indicators;
+
+import com.tradingbot.data.CandleSeries;
+import com.tradingbot.data.OHLCVData;
+
+import java.util.List;
+
+/**
+ * Stateful indicator that is advanced one bar at a time instead of recomputing the whole history.
+ * Implementations produce the same values as their batch counterparts for the latest bar.
+ * <p>
+ * The latest bar may still be forming: {@link #replaceLast} revises it in O(1) by rolling back to
+ * the state committed before it, so any number of revisions leaves the earlier bars untouched.
+ */
+public interface StreamingIndicator {
+
+    /**
+     * Appends a new bar to the indicator.
+     *
+     * @param timestamp The bar timestamp in epoch milliseconds.
+     * @param open      The opening price.
+     * @param high      The highest price.
+     * @param low       The lowest price.
+     * @param close     The closing price.
+     * @param volume    The trading volume.
+     */
+    void update(long timestamp, double open, double high, double low, double close, double volume);
+
+    /**
+     * Replaces the most recently added bar with a revised version of it.
+     * Behaves like {@link #update(long, double, double, double, double, double)} if no bar has been added yet.
+     *
+     * @param timestamp The bar timestamp in epoch milliseconds.
+     * @param open      The opening price.
+     * @param high      The highest price.
+     * @param low       The lowest price.
+     * @param close     The closing price.
+     * @param volume    The trading volume.
+     */
+    void replaceLast(long timestamp, double open, double high, double low, double close, double volume);
+
+    /**
+     * Gets the indicator value for the latest bar.
+     *
+     * @return The current value, or 0 while the indicator is not ready.
+     */
+    double getValue();
+
+    /**
+     * Checks whether enough bars have been seen for the current value to be meaningful.
+     *
+     * @return true once the warmup period has been consumed, false otherwise.
+     */
+    boolean isReady();
+
+    /**
+     * Appends a new bar to the indicator.
+     *
+     * @param candle The OHLCV bar.
+     */
+    default void update(OHLCVData candle) {
+        update(candle.getTimestamp().toEpochMilli(), candle.getOpen(), candle.getHigh(),
+                candle.getLow(), candle.getClose(), candle.getVolume());
+    }
+
+    /**
+     * Replaces the most recently added bar with a revised version of it.
+     *
+     * @param candle The revised OHLCV bar.
+     */
+    default void replaceLast(OHLCVData candle) {
+        replaceLast(candle.getTimestamp().toEpochMilli(), candle.getOpen(), candle.getHigh(),
+                candle.getLow(), candle.getClose(), candle.getVolume());
+    }
+
+    /**
+     * Seeds the indicator from historical bars, oldest first.
+     *
+     * @param history The list of OHLCV data.
+     */
+    default void seed(List<OHLCVData> history) {
+        for (OHLCVData candle : history) {
+            update(candle);
+        }
+    }
+
+    /**
+     * Seeds the indicator from a candle series, oldest first.
+     *
+     * @param series The candle series.
+     */
+    default void seed(CandleSeries series) {
+        long[] timestamps = series.timestamps();
+        double[] open = series.opens();
+        double[] high = series.highs();
+        double[] low = series.lows();
+        double[] close = series.closes();
+        double[] volume = series.volumes();
+        for (int i = 0; i < series.size(); i++) {
+            update(timestamps[i], open[i], high[i], low[i], close[i], volume[i]);
+        }
+    }
+}
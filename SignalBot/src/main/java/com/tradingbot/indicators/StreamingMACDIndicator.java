@@ -0,0 +1,100 @@
+package com.tradingbot.indicators;
+
+/**
+ * Incremental Moving Average Convergence Divergence (MACD) updated in O(1) per bar.
+ */
+public class StreamingMACDIndicator implements StreamingIndicator {
+
+    private final StreamingEMAIndicator shortEma;
+    private final StreamingEMAIndicator longEma;
+    private final StreamingEMAIndicator signalEma;
+
+    private double macd;
+
+    /**
+     * Constructor for StreamingMACDIndicator.
+     *
+     * @param shortPeriod  The short EMA period.
+     * @param longPeriod   The long EMA period.
+     * @param signalPeriod The signal line EMA period.
+     */
+    public StreamingMACDIndicator(int shortPeriod, int longPeriod, int signalPeriod) {
+        if (shortPeriod <= 0 || longPeriod <= 0 || signalPeriod <= 0) {
+            throw new IllegalArgumentException("Periods must be greater than 0.");
+        }
+        if (shortPeriod >= longPeriod) {
+            throw new IllegalArgumentException("Short period must be less than long period.");
+        }
+        this.shortEma = new StreamingEMAIndicator(shortPeriod);
+        this.longEma = new StreamingEMAIndicator(longPeriod);
+        this.signalEma = new StreamingEMAIndicator(signalPeriod);
+    }
+
+    @Override
+    public void update(long timestamp, double open, double high, double low, double close, double volume) {
+        update(close);
+    }
+
+    /**
+     * Advances the MACD by one closing price.
+     *
+     * @param close The next closing price.
+     */
+    public void update(double close) {
+        shortEma.update(close);
+        longEma.update(close);
+        // The signal line runs over every MACD value, matching MACDIndicator
+        macd = shortEma.getValue() - longEma.getValue();
+        signalEma.update(macd);
+    }
+
+    @Override
+    public void replaceLast(long timestamp, double open, double high, double low, double close, double volume) {
+        replaceLast(close);
+    }
+
+    /**
+     * Replaces the most recently added closing price with a revised one.
+     *
+     * @param close The revised closing price.
+     */
+    public void replaceLast(double close) {
+        shortEma.replaceLast(close);
+        longEma.replaceLast(close);
+        macd = shortEma.getValue() - longEma.getValue();
+        signalEma.replaceLast(macd);
+    }
+
+    /**
+     * Gets the MACD line value for the latest bar.
+     *
+     * @return The MACD line value.
+     */
+    @Override
+    public double getValue() {
+        return macd;
+    }
+
+    /**
+     * Gets the signal line value for the latest bar.
+     *
+     * @return The signal line value.
+     */
+    public double getSignal() {
+        return signalEma.getValue();
+    }
+
+    /**
+     * Gets the histogram value for the latest bar.
+     *
+     * @return The MACD line minus the signal line.
+     */
+    public double getHistogram() {
+        return macd - signalEma.getValue();
+    }
+
+    @Override
+    public boolean isReady() {
+        return longEma.isReady() && signalEma.isReady();
+    }
+}
@@ -0,0 +1,150 @@
+package com.tradingbot.indicators;
+
+/**
+ * Incremental Relative Strength Index (RSI) using Wilder smoothing, updated in O(1) per bar.
+ */
+public class StreamingRSIIndicator implements StreamingIndicator {
+
+    private final int period;
+
+    private int count;
+    private double previousClose;
+    private double gainSum;
+    private double lossSum;
+    private double avgGain;
+    private double avgLoss;
+    private double rsi;
+
+    // State committed before the latest close, restored by replaceLast
+    private double savedPreviousClose;
+    private double savedGainSum;
+    private double savedLossSum;
+    private double savedAvgGain;
+    private double savedAvgLoss;
+    private double savedRsi;
+
+    /**
+     * Constructor for StreamingRSIIndicator.
+     *
+     * @param period The lookback period for RSI calculation.
+     */
+    public StreamingRSIIndicator(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be greater than 0.");
+        }
+        this.period = period;
+    }
+
+    @Override
+    public void update(long timestamp, double open, double high, double low, double close, double volume) {
+        update(close);
+    }
+
+    /**
+     * Advances the RSI by one closing price.
+     *
+     * @param close The next closing price.
+     */
+    public void update(double close) {
+        savedPreviousClose = previousClose;
+        savedGainSum = gainSum;
+        savedLossSum = lossSum;
+        savedAvgGain = avgGain;
+        savedAvgLoss = avgLoss;
+        savedRsi = rsi;
+
+        if (count == 0) {
+            previousClose = close;
+            count++;
+            return;
+        }
+
+        double change = close - previousClose;
+        previousClose = close;
+
+        if (count < period) {
+            accumulate(change);
+        } else if (count == period) {
+            // Initialize with the first period gains/losses
+            accumulate(change);
+            avgGain = gainSum / period;
+            avgLoss = lossSum / period;
+            rsi = calculateRSI(avgGain, avgLoss);
+        } else {
+            double gain = Math.max(0, change);
+            double loss = Math.max(0, -change);
+
+            avgGain = (avgGain * (period - 1) + gain) / period;
+            avgLoss = (avgLoss * (period - 1) + loss) / period;
+            rsi = calculateRSI(avgGain, avgLoss);
+        }
+        count++;
+    }
+
+    @Override
+    public void replaceLast(long timestamp, double open, double high, double low, double close, double volume) {
+        replaceLast(close);
+    }
+
+    /**
+     * Replaces the most recently added closing price with a revised one.
+     *
+     * @param close The revised closing price.
+     */
+    public void replaceLast(double close) {
+        if (count == 0) {
+            update(close);
+            return;
+        }
+        previousClose = savedPreviousClose;
+        gainSum = savedGainSum;
+        lossSum = savedLossSum;
+        avgGain = savedAvgGain;
+        avgLoss = savedAvgLoss;
+        rsi = savedRsi;
+        count--;
+        update(close);
+    }
+
+    private void accumulate(double change) {
+        if (change > 0) {
+            gainSum += change;
+        } else {
+            lossSum += Math.abs(change);
+        }
+    }
+
+    /**
+     * Calculates the RSI value given average gains and losses.
+     *
+     * @param avgGain The average gain.
+     * @param avgLoss The average loss.
+     * @return The RSI value.
+     */
+    private double calculateRSI(double avgGain, double avgLoss) {
+        if (avgLoss == 0) {
+            return 100; // Overbought
+        }
+        double rs = avgGain / avgLoss;
+        return 100 - (100 / (1 + rs));
+    }
+
+    @Override
+    public double getValue() {
+        return isReady() ? rsi : 0;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count > period;
+    }
+
+    /**
+     * Gets the period for this RSI indicator.
+     *
+     * @return The lookback period.
+     */
+    public int getPeriod() {
+        return period;
+    }
+}
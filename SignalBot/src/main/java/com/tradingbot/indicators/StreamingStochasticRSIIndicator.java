@@ -0,0 +1,60 @@
+package com.tradingbot.indicators;
+
+/**
+ * Incremental Stochastic RSI updated in amortized O(1) per bar.
+ * The RSI of each bar, including the zeros emitted during RSI warmup, is fed into a sliding
+ * min/max window, matching StochasticRSIIndicator applied to RSIIndicator output.
+ */
+public class StreamingStochasticRSIIndicator implements StreamingIndicator {
+
+    private final StreamingRSIIndicator rsi;
+    private final SlidingWindowExtremum extremum;
+
+    private double stochasticRSI;
+
+    /**
+     * Constructor for StreamingStochasticRSIIndicator.
+     *
+     * @param rsiPeriod The lookback period of the underlying RSI.
+     * @param period    The lookback period for the Stochastic RSI calculation.
+     */
+    public StreamingStochasticRSIIndicator(int rsiPeriod, int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be greater than 0.");
+        }
+        this.rsi = new StreamingRSIIndicator(rsiPeriod);
+        this.extremum = new SlidingWindowExtremum(period);
+    }
+
+    @Override
+    public void update(long timestamp, double open, double high, double low, double close, double volume) {
+        rsi.update(close);
+        extremum.add(rsi.getValue());
+        refresh();
+    }
+
+    @Override
+    public void replaceLast(long timestamp, double open, double high, double low, double close, double volume) {
+        rsi.replaceLast(close);
+        extremum.replaceLast(rsi.getValue());
+        refresh();
+    }
+
+    private void refresh() {
+        if (!extremum.isFull()) {
+            return;
+        }
+        double range = extremum.getMax() - extremum.getMin();
+        stochasticRSI = range == 0 ? 0 : (rsi.getValue() - extremum.getMin()) / range;
+    }
+
+    @Override
+    public double getValue() {
+        return stochasticRSI;
+    }
+
+    @Override
+    public boolean isReady() {
+        return rsi.isReady() && extremum.isFull();
+    }
+}
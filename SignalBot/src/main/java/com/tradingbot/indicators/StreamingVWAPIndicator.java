@@ -0,0 +1,50 @@
+package com.tradingbot.indicators;
+
+/**
+ * Incremental Volume Weighted Average Price (VWAP) updated in O(1) per bar.
+ */
+public class StreamingVWAPIndicator implements StreamingIndicator {
+
+    private double cumulativeTPV; // Cumulative Typical Price * Volume
+    private double cumulativeVolume; // Cumulative Volume
+    private double vwap;
+    private boolean ready;
+
+    // State committed before the latest bar, restored by replaceLast
+    private double previousTPV;
+    private double previousVolume;
+
+    @Override
+    public void update(long timestamp, double open, double high, double low, double close, double volume) {
+        // Calculate typical price: (High + Low + Close) / 3
+        double typicalPrice = (high + low + close) / 3;
+
+        previousTPV = cumulativeTPV;
+        previousVolume = cumulativeVolume;
+
+        cumulativeTPV += typicalPrice * volume;
+        cumulativeVolume += volume;
+
+        vwap = cumulativeVolume > 0 ? cumulativeTPV / cumulativeVolume : 0;
+        ready = true;
+    }
+
+    @Override
+    public void replaceLast(long timestamp, double open, double high, double low, double close, double volume) {
+        if (ready) {
+            cumulativeTPV = previousTPV;
+            cumulativeVolume = previousVolume;
+        }
+        update(timestamp, open, high, low, close, volume);
+    }
+
+    @Override
+    public double getValue() {
+        return vwap;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+}
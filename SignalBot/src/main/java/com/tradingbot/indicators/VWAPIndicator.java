@@ -1,5 +1,6 @@
 package com.tradingbot.indicators;
 
+import com.tradingbot.data.CandleSeries;
 import com.tradingbot.data.OHLCVData;
 
 import java.util.List;
@@ -19,20 +20,48 @@ public class VWAPIndicator {
         if (data == null || data.isEmpty()) {
             throw new IllegalArgumentException("Data cannot be null or empty.");
         }
+        return calculate(CandleSeries.of(data));
+    }
 
-        double[] vwapValues = new double[data.size()];
-        double cumulativeTPV = 0; // Cumulative Typical Price * Volume
-        double cumulativeVolume = 0; // Cumulative Volume
+    /**
+     * Calculates the VWAP for a candle series.
+     *
+     * @param series The candle series.
+     * @return An array of VWAP values corresponding to the bars in the series.
+     */
+    public double[] calculate(CandleSeries series) {
+        if (series == null || series.isEmpty()) {
+            throw new IllegalArgumentException("Data cannot be null or empty.");
+        }
+        return calculate(series, new double[series.size()]);
+    }
+
+    /**
+     * Calculates the VWAP for a candle series into a caller-owned buffer.
+     *
+     * @param series     The candle series.
+     * @param vwapValues The output buffer; must hold at least series.size() values.
+     * @return The output buffer, with the first series.size() entries filled.
+     */
+    public double[] calculate(CandleSeries series, double[] vwapValues) {
+        if (series == null || series.isEmpty()) {
+            throw new IllegalArgumentException("Data cannot be null or empty.");
+        }
 
-        for (int i = 0; i < data.size(); i++) {
-            OHLCVData ohlcv = data.get(i);
+        int size = series.size();
+        IndicatorUtils.checkOutput(vwapValues, size);
+        double[] volume = series.volumes();
 
-            // Calculate typical price: (High + Low + Close) / 3
-            double typicalPrice = (ohlcv.getHigh() + ohlcv.getLow() + ohlcv.getClose()) / 3;
+        double cumulativeTPV = 0; // Cumulative Typical Price * Volume
+        double cumulativeVolume = 0; // Cumulative Volume
 
+        // Vectorized Typical Price * Volume products, accumulated in place below
+        series.typicalPrices(vwapValues);
+        VectorKernels.multiply(vwapValues, volume, 0, size, vwapValues);
+        for (int i = 0; i < size; i++) {
             // Update cumulative TPV and volume
-            cumulativeTPV += typicalPrice * ohlcv.getVolume();
-            cumulativeVolume += ohlcv.getVolume();
+            cumulativeTPV += vwapValues[i];
+            cumulativeVolume += volume[i];
 
             // Calculate VWAP
             vwapValues[i] = cumulativeVolume > 0 ? cumulativeTPV / cumulativeVolume : 0;
@@ -40,4 +69,35 @@ public class VWAPIndicator {
 
         return vwapValues;
     }
+
+    /**
+     * Calculates only the latest VWAP value without allocating the full output array.
+     * VWAP is cumulative from the first bar, so unlike the windowed indicators this still
+     * reads the whole series; keep a {@link StreamingVWAPIndicator} to avoid that.
+     *
+     * @param series The candle series.
+     * @return The VWAP value at the latest bar.
+     */
+    public double calculateLatest(CandleSeries series) {
+        if (series == null || series.isEmpty()) {
+            throw new IllegalArgumentException("Data cannot be null or empty.");
+        }
+        double[] high = series.highs();
+        double[] low = series.lows();
+        double[] close = series.closes();
+        double[] volume = series.volumes();
+
+        double cumulativeTPV = VectorKernels.sumTypicalPriceVolume(high, low, close, volume, 0, series.size());
+        double cumulativeVolume = VectorKernels.sum(volume, 0, series.size());
+        return cumulativeVolume > 0 ? cumulativeTPV / cumulativeVolume : 0;
+    }
+
+    /**
+     * Creates a streaming counterpart of this indicator.
+     *
+     * @return A new, unseeded StreamingVWAPIndicator.
+     */
+    public StreamingVWAPIndicator stream() {
+        return new StreamingVWAPIndicator();
+    }
 }
@@ -0,0 +1,197 @@
+package com.tradingbot.indicators;
+
+/**
+ * Element-wise and reduction kernels over columnar price arrays.
+ * <p>
+ * When the JVM is started with {@code --add-modules jdk.incubator.vector} the kernels run on the
+ * Vector API using the platform's preferred SIMD width; otherwise, or when the system property
+ * {@code signalbot.vector.disabled} is set, they fall back to plain loops. Element-wise kernels
+ * give identical results either way. Reductions sum in a different order when vectorized, so
+ * they may differ from the scalar loops in the last few bits.
+ * <p>
+ * Every kernel works on the half-open index range {@code [from, to)}.
+ */
+public final class VectorKernels {
+
+    private static final ScalarKernels KERNELS = load();
+
+    private VectorKernels() {
+    }
+
+    private static ScalarKernels load() {
+        if (!Boolean.getBoolean("signalbot.vector.disabled")
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded reflectively so the scalar path never links against the incubator module
+                return (ScalarKernels) Class.forName("com.tradingbot.indicators.SimdKernels")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("Vector API unavailable, using scalar kernels: " + e);
+            }
+        }
+        return new ScalarKernels();
+    }
+
+    /**
+     * Checks whether the kernels run on the Vector API.
+     *
+     * @return true if SIMD kernels are in use, false if the scalar fallback is.
+     */
+    public static boolean isVectorized() {
+        return KERNELS.getClass() != ScalarKernels.class;
+    }
+
+    /**
+     * Sums a range of values.
+     *
+     * @param values The input values.
+     * @param from   The first index, inclusive.
+     * @param to     The last index, exclusive.
+     * @return The sum.
+     */
+    public static double sum(double[] values, int from, int to) {
+        return KERNELS.sum(values, from, to);
+    }
+
+    /**
+     * Sums the squared deviations of a range of values from a mean.
+     *
+     * @param values The input values.
+     * @param from   The first index, inclusive.
+     * @param to     The last index, exclusive.
+     * @param mean   The mean to measure deviations from.
+     * @return The sum of squared deviations.
+     */
+    public static double sumSquaredDeviations(double[] values, int from, int to, double mean) {
+        return KERNELS.sumSquaredDeviations(values, from, to, mean);
+    }
+
+    /**
+     * Sums typical price times volume, ((high + low + close) / 3) * volume, over a range of bars.
+     *
+     * @param high   The high prices.
+     * @param low    The low prices.
+     * @param close  The closing prices.
+     * @param volume The volumes.
+     * @param from   The first index, inclusive.
+     * @param to     The last index, exclusive.
+     * @return The sum of typical price times volume.
+     */
+    public static double sumTypicalPriceVolume(double[] high, double[] low, double[] close, double[] volume,
+                                               int from, int to) {
+        return KERNELS.sumTypicalPriceVolume(high, low, close, volume, from, to);
+    }
+
+    /**
+     * Computes {@code out[i] = a[i] * b[i]}.
+     *
+     * @param a    The first operand.
+     * @param b    The second operand.
+     * @param from The first index, inclusive.
+     * @param to   The last index, exclusive.
+     * @param out  The output array; may be {@code a} or {@code b}.
+     */
+    public static void multiply(double[] a, double[] b, int from, int to, double[] out) {
+        KERNELS.multiply(a, b, from, to, out);
+    }
+
+    /**
+     * Computes {@code out[i] = a[i] - b[i]}.
+     *
+     * @param a    The minuend.
+     * @param b    The subtrahend.
+     * @param from The first index, inclusive.
+     * @param to   The last index, exclusive.
+     * @param out  The output array; may be {@code a} or {@code b}.
+     */
+    public static void subtract(double[] a, double[] b, int from, int to, double[] out) {
+        KERNELS.subtract(a, b, from, to, out);
+    }
+
+    /**
+     * Computes {@code out[i] = values[i] - values[i - lag]}.
+     *
+     * @param values The input values.
+     * @param lag    The lag; {@code from} must be at least {@code lag}.
+     * @param from   The first index, inclusive.
+     * @param to     The last index, exclusive.
+     * @param out    The output array; must not be {@code values}.
+     */
+    public static void differenceAtLag(double[] values, int lag, int from, int to, double[] out) {
+        KERNELS.differenceAtLag(values, lag, from, to, out);
+    }
+
+    /**
+     * Computes {@code out[i] = (a[i] + b[i]) / 2}.
+     *
+     * @param a    The first operand.
+     * @param b    The second operand.
+     * @param from The first index, inclusive.
+     * @param to   The last index, exclusive.
+     * @param out  The output array; may be {@code a} or {@code b}.
+     */
+    public static void average(double[] a, double[] b, int from, int to, double[] out) {
+        KERNELS.average(a, b, from, to, out);
+    }
+
+    /**
+     * Expands a rolling mean and standard deviation into bands
+     * {@code mean[i] +/- multiplier * stdDev[i]}.
+     *
+     * @param mean       The rolling mean.
+     * @param stdDev     The rolling standard deviation.
+     * @param multiplier The standard deviation multiplier.
+     * @param from       The first index, inclusive.
+     * @param to         The last index, exclusive.
+     * @param upper      The output array for the upper band; may be {@code stdDev}.
+     * @param lower      The output array for the lower band.
+     */
+    public static void bands(double[] mean, double[] stdDev, double multiplier, int from, int to,
+                             double[] upper, double[] lower) {
+        KERNELS.bands(mean, stdDev, multiplier, from, to, upper, lower);
+    }
+
+    /**
+     * Computes the True Range of each bar, {@code max(high - low, |high - prevClose|, |low - prevClose|)}.
+     *
+     * @param high  The high prices.
+     * @param low   The low prices.
+     * @param close The closing prices.
+     * @param from  The first index, inclusive; must be at least 1.
+     * @param to    The last index, exclusive.
+     * @param out   The output array.
+     */
+    public static void trueRange(double[] high, double[] low, double[] close, int from, int to, double[] out) {
+        KERNELS.trueRange(high, low, close, from, to, out);
+    }
+
+    /**
+     * Computes the +DM and -DM of each bar.
+     *
+     * @param high    The high prices.
+     * @param low     The low prices.
+     * @param from    The first index, inclusive; must be at least 1.
+     * @param to      The last index, exclusive.
+     * @param plusDM  The output array for +DM.
+     * @param minusDM The output array for -DM.
+     */
+    public static void directionalMovement(double[] high, double[] low, int from, int to,
+                                           double[] plusDM, double[] minusDM) {
+        KERNELS.directionalMovement(high, low, from, to, plusDM, minusDM);
+    }
+
+    /**
+     * Computes the stochastic oscillator {@code (values[i] - min[i]) / (max[i] - min[i])},
+     * or 0 where the range is 0.
+     *
+     * @param values The input values.
+     * @param min    The rolling minimum of the values.
+     * @param max    The rolling maximum of the values.
+     * @param from   The first index, inclusive.
+     * @param to     The last index, exclusive.
+     * @param out    The output array.
+     */
+    public static void stochastic(double[] values, double[] min, double[] max, int from, int to, double[] out) {
+        KERNELS.stochastic(values, min, max, from, to, out);
+    }
+}
@@ -0,0 +1,251 @@
+package com.tradingbot.integration;
+
+import com.tradingbot.data.CandleSink;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming parser for Gate.io candlestick responses.
+ * <p>
+ * Reads the JSON array of rows straight from the response bytes and passes each candle to a
+ * {@link CandleSink}, without building a JSON tree or strings. Fields are mapped as in
+ * {@link GateIOAPI#fetchHistoricalData(String, String, int)}: timestamp, open, high, low, close and
+ * volume; any further fields of a row are skipped. Numbers may be quoted, as Gate.io sends them, or
+ * bare. Timestamps arrive in epoch seconds and are passed on in epoch milliseconds.
+ * <p>
+ * Decimals whose significant digits fit in a double's 53-bit mantissa, which covers exchange
+ * prices and volumes, are converted exactly without allocating; anything else falls back to
+ * {@link Double#parseDouble}, so the values always match the org.json path. A parser reuses its
+ * buffers but is not thread-safe.
+ */
+public class CandleJsonParser {
+
+    private static final int FIELDS = 6;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final byte[] buffer = new byte[8192];
+    private final byte[] token = new byte[64];
+    private final double[] row = new double[FIELDS];
+    private InputStream in;
+    private int position;
+    private int limit;
+    private long consumed;
+
+    /**
+     * Parses a candlestick response.
+     *
+     * @param in   The response body; read to the end of the array but not closed.
+     * @param sink The consumer of the candles, in response order.
+     * @return The number of candles parsed.
+     * @throws IOException If the stream cannot be read or is not a candlestick array.
+     */
+    public int parse(InputStream in, CandleSink sink) throws IOException {
+        if (in == null || sink == null) {
+            throw new IllegalArgumentException("Input stream and sink cannot be null.");
+        }
+        this.in = in;
+        this.position = 0;
+        this.limit = 0;
+        this.consumed = 0;
+        try {
+            return parseRows(sink);
+        } finally {
+            this.in = null;
+        }
+    }
+
+    private int parseRows(CandleSink sink) throws IOException {
+        expect('[');
+        int count = 0;
+        int c = nextNonSpace();
+        if (c == ']') {
+            return 0;
+        }
+        while (true) {
+            if (c != '[') {
+                throw malformed("expected '['");
+            }
+            parseRow();
+            sink.accept((long) (row[0] * 1000), row[1], row[2], row[3], row[4], row[5]);
+            count++;
+            c = nextNonSpace();
+            if (c == ']') {
+                return count;
+            }
+            if (c != ',') {
+                throw malformed("expected ',' or ']'");
+            }
+            c = nextNonSpace();
+        }
+    }
+
+    /**
+     * Reads the fields of one row after its opening bracket, up to and including the closing bracket.
+     */
+    private void parseRow() throws IOException {
+        int field = 0;
+        int c = nextNonSpace();
+        if (c == ']') {
+            throw malformed("candle has fewer than " + FIELDS + " fields");
+        }
+        while (true) {
+            if (field < FIELDS) {
+                row[field] = parseNumber(c);
+            } else {
+                skipValue(c);
+            }
+            field++;
+            c = nextNonSpace();
+            if (c == ']') {
+                break;
+            }
+            if (c != ',') {
+                throw malformed("expected ',' or ']'");
+            }
+            c = nextNonSpace();
+        }
+        if (field < FIELDS) {
+            throw malformed("candle has fewer than " + FIELDS + " fields");
+        }
+    }
+
+    /**
+     * Parses a quoted or bare number whose first byte has been read.
+     */
+    private double parseNumber(int c) throws IOException {
+        boolean quoted = c == '"';
+        if (quoted) {
+            c = next();
+        }
+        int length = 0;
+        boolean negative = false;
+        boolean exact = true;
+        boolean point = false;
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        if (c == '-') {
+            negative = true;
+            token[length++] = (byte) c;
+            c = next();
+        }
+        while (true) {
+            if (c >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') {
+                    digits++;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (point) {
+                    scale++;
+                }
+                if (digits > 18) {
+                    exact = false;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else if (c == 'e' || c == 'E' || c == '+' || c == '-' || c == '.') {
+                exact = false;
+            } else {
+                break;
+            }
+            if (length == token.length) {
+                throw malformed("number too long");
+            }
+            token[length++] = (byte) c;
+            c = next();
+        }
+        if (quoted) {
+            if (c != '"') {
+                throw malformed("expected '\"'");
+            }
+        } else {
+            unread();
+        }
+        if (length == 0 || (negative && length == 1)) {
+            throw malformed("expected a number");
+        }
+        if (exact && mantissa < MAX_EXACT_MANTISSA && scale < POWERS_OF_TEN.length) {
+            // Both operands are exact, so the quotient is the correctly rounded value of the decimal
+            double value = scale == 0 ? mantissa : mantissa / POWERS_OF_TEN[scale];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(new String(token, 0, length, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            throw malformed("invalid number");
+        }
+    }
+
+    /**
+     * Skips a string, number or literal whose first byte has been read.
+     */
+    private void skipValue(int c) throws IOException {
+        if (c == '"') {
+            while ((c = next()) != '"') {
+                if (c == '\\') {
+                    next();
+                }
+            }
+            return;
+        }
+        if (c == '[' || c == '{' || c == ',' || c == ']') {
+            throw malformed("unexpected value");
+        }
+        while (c != ',' && c != ']' && !isSpace(c)) {
+            c = next();
+        }
+        unread();
+    }
+
+    private void expect(char expected) throws IOException {
+        if (nextNonSpace() != expected) {
+            throw malformed("expected '" + expected + "'");
+        }
+    }
+
+    private int nextNonSpace() throws IOException {
+        int c = next();
+        while (isSpace(c)) {
+            c = next();
+        }
+        return c;
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private int next() throws IOException {
+        if (position == limit) {
+            consumed += limit;
+            position = 0;
+            limit = in.read(buffer, 0, buffer.length);
+            if (limit <= 0) {
+                limit = 0;
+                throw malformed("unexpected end of input");
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * Steps back over the last byte read, which is always still in the buffer.
+     */
+    private void unread() {
+        position--;
+    }
+
+    private IOException malformed(String reason) {
+        return new IOException("Malformed candlestick JSON at byte " + (consumed + position) + ": " + reason);
+    }
+}
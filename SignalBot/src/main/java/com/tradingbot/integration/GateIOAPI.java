@@ -1,5 +1,7 @@
 package com.tradingbot.integration;
 
+import com.tradingbot.data.CandleSeries;
+import com.tradingbot.data.CandleSink;
 import okhttp3.*;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -7,20 +9,56 @@ import org.json.JSONObject;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Implements Gate.io-specific API logic for fetching live and historical data.
+ * Every request method has an asynchronous variant that returns a {@link CompletableFuture}
+ * without blocking a thread while the request is in flight.
  */
 public class GateIOAPI {
 
     private static final String BASE_URL = "https://api.gateio.ws/api/v4/spot";
+
+    /** The maximum number of candlesticks Gate.io returns for one request. */
+    public static final int MAX_CANDLES_PER_REQUEST = 1000;
+
     private final OkHttpClient httpClient;
+    private final String baseUrl;
 
     /**
      * Constructor for GateIOAPI.
      */
     public GateIOAPI() {
-        this.httpClient = new OkHttpClient();
+        this(BASE_URL);
+    }
+
+    /**
+     * Constructor for a GateIOAPI that talks to another endpoint with the same API, such as a
+     * regional mirror or a local mock server.
+     *
+     * @param baseUrl The spot API base URL (e.g., "https://api.gateio.ws/api/v4/spot").
+     */
+    public GateIOAPI(String baseUrl) {
+        this(baseUrl, HttpClients.shared());
+    }
+
+    /**
+     * Constructor for a GateIOAPI that sends its requests through a given client, such as one
+     * created by {@link HttpClients#create} with other connection limits.
+     *
+     * @param baseUrl    The spot API base URL (e.g., "https://api.gateio.ws/api/v4/spot").
+     * @param httpClient The client to send requests with.
+     */
+    public GateIOAPI(String baseUrl, OkHttpClient httpClient) {
+        if (baseUrl == null || HttpUrl.parse(baseUrl) == null) {
+            throw new IllegalArgumentException("Invalid base URL: " + baseUrl);
+        }
+        if (httpClient == null) {
+            throw new IllegalArgumentException("HTTP client cannot be null.");
+        }
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
     }
 
     /**
@@ -30,7 +68,7 @@ public class GateIOAPI {
      * @return A JSONObject containing live ticker data.
      */
     public JSONObject fetchLiveTicker(String tradingPair) {
-        String endpoint = BASE_URL + "/tickers";
+        String endpoint = baseUrl + "/tickers";
         HttpUrl url = HttpUrl.parse(endpoint).newBuilder()
                 .addQueryParameter("currency_pair", tradingPair)
                 .build();
@@ -59,6 +97,29 @@ public class GateIOAPI {
         return null; // Return null if no data is available
     }
 
+    /**
+     * Fetches the tickers of every trading pair in one request.
+     *
+     * @return A JSONArray of ticker objects, or null if the request failed.
+     */
+    public JSONArray fetchAllTickers() {
+        Request request = new Request.Builder()
+                .url(baseUrl + "/tickers")
+                .get()
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (response.isSuccessful() && response.body() != null) {
+                return new JSONArray(response.body().string());
+            }
+            System.err.println("Failed to fetch tickers: " + response.message());
+        } catch (IOException e) {
+            System.err.println("Error fetching tickers: " + e.getMessage());
+        }
+
+        return null;
+    }
+
     /**
      * Fetches historical candlestick data for a given trading pair and timeframe.
      *
@@ -68,41 +129,274 @@ public class GateIOAPI {
      * @return A list of OHLCV data arrays.
      */
     public List<double[]> fetchHistoricalData(String tradingPair, String interval, int limit) {
-        String endpoint = BASE_URL + "/candlesticks";
-        HttpUrl url = HttpUrl.parse(endpoint).newBuilder()
+        return fetchCandles(candlesUrl(tradingPair, interval, limit));
+    }
+
+    /**
+     * Fetches historical candlestick data for a given trading pair and timeframe into a columnar
+     * candle series, without intermediate row arrays.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param interval    The timeframe interval (e.g., "1m", "5m", "1h").
+     * @param limit       The number of candlesticks to fetch.
+     * @return A series with timestamps in epoch milliseconds, empty if the request failed.
+     */
+    public CandleSeries fetchCandleSeries(String tradingPair, String interval, int limit) {
+        CandleSeries series = new CandleSeries(Math.max(16, limit));
+        if (fetchCandles(candlesUrl(tradingPair, interval, limit), series::add) < 0) {
+            series.clear();
+        }
+        return series;
+    }
+
+    /**
+     * Fetches the candlesticks of a trading pair and timeframe that open within a time range.
+     * The range may span at most {@link #MAX_CANDLES_PER_REQUEST} candles.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param interval    The timeframe interval (e.g., "1m", "5m", "1h").
+     * @param from        The start of the range in epoch seconds, inclusive.
+     * @param to          The end of the range in epoch seconds, inclusive.
+     * @return A list of OHLCV data arrays, in the same layout as {@link #fetchHistoricalData(String, String, int)}.
+     */
+    public List<double[]> fetchHistoricalData(String tradingPair, String interval, long from, long to) {
+        return fetchCandles(candlesUrl(tradingPair, interval, from, to));
+    }
+
+    /**
+     * Streams the candlesticks of a trading pair and timeframe that open within a time range to a
+     * sink as they are parsed. The range may span at most {@link #MAX_CANDLES_PER_REQUEST} candles.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param interval    The timeframe interval (e.g., "1m", "5m", "1h").
+     * @param from        The start of the range in epoch seconds, inclusive.
+     * @param to          The end of the range in epoch seconds, inclusive.
+     * @param sink        The consumer of the candles, with timestamps in epoch milliseconds.
+     * @return The number of candles received, or -1 if the request failed. A failure may follow
+     * some candles that were already passed to the sink.
+     */
+    public int fetchHistoricalData(String tradingPair, String interval, long from, long to, CandleSink sink) {
+        return fetchCandles(candlesUrl(tradingPair, interval, from, to), sink);
+    }
+
+    private HttpUrl candlesUrl(String tradingPair, String interval, int limit) {
+        return HttpUrl.parse(baseUrl + "/candlesticks").newBuilder()
                 .addQueryParameter("currency_pair", tradingPair)
                 .addQueryParameter("interval", interval)
                 .addQueryParameter("limit", String.valueOf(limit))
                 .build();
+    }
 
+    private HttpUrl candlesUrl(String tradingPair, String interval, long from, long to) {
+        return HttpUrl.parse(baseUrl + "/candlesticks").newBuilder()
+                .addQueryParameter("currency_pair", tradingPair)
+                .addQueryParameter("interval", interval)
+                .addQueryParameter("from", String.valueOf(from))
+                .addQueryParameter("to", String.valueOf(to))
+                .build();
+    }
+
+    /**
+     * Requests a candlestick endpoint and collects the response rows.
+     *
+     * @param url The candlestick request URL.
+     * @return A list of OHLCV data arrays, empty if the request failed.
+     */
+    private List<double[]> fetchCandles(HttpUrl url) {
+        List<double[]> ohlcvData = new ArrayList<>();
+        int count = fetchCandles(url, (timestamp, open, high, low, close, volume) ->
+                ohlcvData.add(new double[]{timestamp / 1000, open, high, low, close, volume}));
+        if (count < 0) {
+            ohlcvData.clear();
+        }
+        return ohlcvData;
+    }
+
+    /**
+     * Requests a candlestick endpoint and streams the response rows to a sink.
+     * OkHttp asks for a gzip-encoded response and decompresses it while the parser reads.
+     *
+     * @param url  The candlestick request URL.
+     * @param sink The consumer of the candles.
+     * @return The number of candles received, or -1 if the request failed.
+     */
+    private int fetchCandles(HttpUrl url, CandleSink sink) {
         Request request = new Request.Builder()
                 .url(url)
                 .get()
                 .build();
 
-        List<double[]> ohlcvData = new ArrayList<>();
-
         try (Response response = httpClient.newCall(request).execute()) {
             if (response.isSuccessful() && response.body() != null) {
-                JSONArray jsonArray = new JSONArray(response.body().string());
-                for (int i = 0; i < jsonArray.length(); i++) {
-                    JSONArray candle = jsonArray.getJSONArray(i);
-                    double[] ohlcv = new double[6];
-                    ohlcv[0] = candle.getLong(0);   // Timestamp
-                    ohlcv[1] = candle.getDouble(1); // Open
-                    ohlcv[2] = candle.getDouble(2); // High
-                    ohlcv[3] = candle.getDouble(3); // Low
-                    ohlcv[4] = candle.getDouble(4); // Close
-                    ohlcv[5] = candle.getDouble(5); // Volume
-                    ohlcvData.add(ohlcv);
-                }
-            } else {
-                System.err.println("Failed to fetch historical data: " + response.message());
+                return new CandleJsonParser().parse(response.body().byteStream(), sink);
             }
+            System.err.println("Failed to fetch historical data: " + response.message());
         } catch (IOException e) {
             System.err.println("Error fetching historical data: " + e.getMessage());
         }
 
-        return ohlcvData;
+        return -1;
+    }
+
+    /**
+     * Fetches the order book of a trading pair.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param limit       The number of price levels per side.
+     * @return A JSONObject with "asks" and "bids" arrays of [price, amount] levels, or null if the request failed.
+     */
+    public JSONObject fetchOrderBook(String tradingPair, int limit) {
+        Request request = new Request.Builder()
+                .url(orderBookUrl(tradingPair, limit))
+                .get()
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (response.isSuccessful() && response.body() != null) {
+                return new JSONObject(response.body().string());
+            }
+            System.err.println("Failed to fetch order book: " + response.message());
+        } catch (IOException e) {
+            System.err.println("Error fetching order book: " + e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Fetches live ticker data for a given trading pair asynchronously.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @return A future of the ticker, or of null if the pair is unknown. It fails with an
+     * IOException if the request fails.
+     */
+    public CompletableFuture<JSONObject> fetchLiveTickerAsync(String tradingPair) {
+        HttpUrl url = HttpUrl.parse(baseUrl + "/tickers").newBuilder()
+                .addQueryParameter("currency_pair", tradingPair)
+                .build();
+        return call(url, body -> {
+            JSONArray jsonArray = new JSONArray(body.string());
+            for (int i = 0; i < jsonArray.length(); i++) {
+                JSONObject ticker = jsonArray.getJSONObject(i);
+                if (ticker.getString("currency_pair").equalsIgnoreCase(tradingPair)) {
+                    return ticker;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Fetches the tickers of every trading pair in one request asynchronously.
+     *
+     * @return A future of the ticker objects. It fails with an IOException if the request fails.
+     */
+    public CompletableFuture<JSONArray> fetchAllTickersAsync() {
+        return call(HttpUrl.parse(baseUrl + "/tickers"), body -> new JSONArray(body.string()));
+    }
+
+    /**
+     * Fetches historical candlestick data for a given trading pair and timeframe asynchronously.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param interval    The timeframe interval (e.g., "1m", "5m", "1h").
+     * @param limit       The number of candlesticks to fetch.
+     * @return A future of the OHLCV data arrays, in the same layout as
+     * {@link #fetchHistoricalData(String, String, int)}. It fails with an IOException if the request fails.
+     */
+    public CompletableFuture<List<double[]>> fetchHistoricalDataAsync(String tradingPair, String interval, int limit) {
+        return call(candlesUrl(tradingPair, interval, limit), body -> {
+            List<double[]> ohlcvData = new ArrayList<>();
+            new CandleJsonParser().parse(body.byteStream(), (timestamp, open, high, low, close, volume) ->
+                    ohlcvData.add(new double[]{timestamp / 1000, open, high, low, close, volume}));
+            return ohlcvData;
+        });
+    }
+
+    /**
+     * Fetches historical candlestick data for a given trading pair and timeframe into a columnar
+     * candle series asynchronously.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param interval    The timeframe interval (e.g., "1m", "5m", "1h").
+     * @param limit       The number of candlesticks to fetch.
+     * @return A future of a series with timestamps in epoch milliseconds. It fails with an
+     * IOException if the request fails.
+     */
+    public CompletableFuture<CandleSeries> fetchCandleSeriesAsync(String tradingPair, String interval, int limit) {
+        return call(candlesUrl(tradingPair, interval, limit), body -> {
+            CandleSeries series = new CandleSeries(Math.max(16, limit));
+            new CandleJsonParser().parse(body.byteStream(), series::add);
+            return series;
+        });
+    }
+
+    /**
+     * Fetches the order book of a trading pair asynchronously.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param limit       The number of price levels per side.
+     * @return A future of the order book, in the same format as {@link #fetchOrderBook(String, int)}.
+     * It fails with an IOException if the request fails.
+     */
+    public CompletableFuture<JSONObject> fetchOrderBookAsync(String tradingPair, int limit) {
+        return call(orderBookUrl(tradingPair, limit), body -> new JSONObject(body.string()));
+    }
+
+    private HttpUrl orderBookUrl(String tradingPair, int limit) {
+        return HttpUrl.parse(baseUrl + "/order_book").newBuilder()
+                .addQueryParameter("currency_pair", tradingPair)
+                .addQueryParameter("limit", String.valueOf(limit))
+                .build();
+    }
+
+    /**
+     * Enqueues a request on the client's dispatcher and parses the response on the thread that
+     * receives it. Cancelling the returned future cancels the request.
+     *
+     * @param url    The request URL.
+     * @param parser Parses a successful response body.
+     * @return A future of the parsed response.
+     */
+    private <T> CompletableFuture<T> call(HttpUrl url, BodyParser<T> parser) {
+        Request request = new Request.Builder()
+                .url(url)
+                .get()
+                .build();
+        Call call = httpClient.newCall(request);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, failure) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response r = response) {
+                    if (!r.isSuccessful() || r.body() == null) {
+                        future.completeExceptionally(new IOException("HTTP " + r.code() + " " + r.message()));
+                        return;
+                    }
+                    future.complete(parser.parse(r.body()));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Parses a response body.
+     */
+    @FunctionalInterface
+    private interface BodyParser<T> {
+        T parse(ResponseBody body) throws IOException;
     }
 }
@@ -0,0 +1,441 @@
+package com.tradingbot.integration;
+
+import com.tradingbot.data.CandleInterval;
+import com.tradingbot.data.CandleSink;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams live market data from Gate.io's spot v4 WebSocket API.
+ * <p>
+ * One connection carries the ticker, candlestick and trade channels for any number of trading
+ * pairs. Handlers are registered per pair (and per interval for candlesticks), and each update is
+ * dispatched only to the handlers of its pair. Pairs are matched regardless of case. If the connection drops, the client reconnects with
+ * exponential backoff and subscribes to every channel again. Handlers are called on the connection's
+ * reader thread, so they should return quickly.
+ */
+public class GateIOWebSocketClient implements AutoCloseable {
+
+    private static final String BASE_URL = "wss://api.gateio.ws/ws/v4/";
+    private static final String TICKERS = "spot.tickers";
+    private static final String CANDLESTICKS = "spot.candlesticks";
+    private static final String TRADES = "spot.trades";
+    private static final long MIN_RECONNECT_DELAY_MILLIS = 1000;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+
+    private final OkHttpClient httpClient;
+    private final String url;
+    private final ScheduledExecutorService scheduler;
+
+    // Handlers per channel, keyed by the pair, or by "<interval>_<pair>" for candlesticks
+    private final Map<String, List<TickerHandler>> tickerHandlers = new ConcurrentHashMap<>();
+    private final Map<String, List<CandleSink>> candleHandlers = new ConcurrentHashMap<>();
+    private final Map<String, List<TradeHandler>> tradeHandlers = new ConcurrentHashMap<>();
+
+    private WebSocket webSocket;
+    private boolean connected;
+    private boolean closed;
+    private int generation;
+    private long reconnectDelay = MIN_RECONNECT_DELAY_MILLIS;
+
+    /**
+     * Constructor for GateIOWebSocketClient.
+     */
+    public GateIOWebSocketClient() {
+        this(BASE_URL);
+    }
+
+    /**
+     * Constructor for a GateIOWebSocketClient that connects to another endpoint with the same
+     * protocol, such as a local mock server.
+     *
+     * @param url The WebSocket URL (e.g., "wss://api.gateio.ws/ws/v4/").
+     */
+    public GateIOWebSocketClient(String url) {
+        this(url, HttpClients.shared());
+    }
+
+    /**
+     * Constructor for a GateIOWebSocketClient that connects through a given client, sharing its
+     * connection pool and dispatcher.
+     *
+     * @param url        The WebSocket URL (e.g., "wss://api.gateio.ws/ws/v4/").
+     * @param httpClient The client to connect with.
+     */
+    public GateIOWebSocketClient(String url, OkHttpClient httpClient) {
+        if (url == null || !(url.startsWith("ws://") || url.startsWith("wss://"))) {
+            throw new IllegalArgumentException("Invalid WebSocket URL: " + url);
+        }
+        if (httpClient == null) {
+            throw new IllegalArgumentException("HTTP client cannot be null.");
+        }
+        this.url = url;
+        // Pings detect a silently dropped connection, which then fails and reconnects
+        this.httpClient = httpClient.newBuilder()
+                .pingInterval(15, TimeUnit.SECONDS)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gateio-websocket-reconnect");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the connection. Subscriptions made before or after connecting are sent once it is open.
+     */
+    public synchronized void connect() {
+        if (closed) {
+            throw new IllegalStateException("WebSocket client is closed.");
+        }
+        if (webSocket != null) {
+            return;
+        }
+        int current = ++generation;
+        webSocket = httpClient.newWebSocket(new Request.Builder().url(url).build(), new Listener(current));
+    }
+
+    /**
+     * Subscribes a handler to the ticker updates of a trading pair.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param handler     The handler for the pair's tickers.
+     */
+    public void subscribeTicker(String tradingPair, TickerHandler handler) {
+        subscribe(TICKERS, pairKey(tradingPair), handler, tickerHandlers);
+    }
+
+    /**
+     * Removes a ticker handler, and unsubscribes from the pair when it was the last one.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param handler     The handler to remove.
+     */
+    public void unsubscribeTicker(String tradingPair, TickerHandler handler) {
+        unsubscribe(TICKERS, pairKey(tradingPair), handler, tickerHandlers);
+    }
+
+    /**
+     * Subscribes a sink to the candlestick updates of a trading pair and interval. The forming
+     * candle is pushed repeatedly as it changes, so the sink sees the same timestamp several times
+     * before the next candle starts.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param interval    The candle interval.
+     * @param sink        The consumer of the candles, with timestamps in epoch milliseconds.
+     */
+    public void subscribeCandles(String tradingPair, CandleInterval interval, CandleSink sink) {
+        if (interval == null) {
+            throw new IllegalArgumentException("Interval cannot be null.");
+        }
+        subscribe(CANDLESTICKS, interval.getCode() + "_" + pairKey(tradingPair), sink, candleHandlers);
+    }
+
+    /**
+     * Removes a candlestick sink, and unsubscribes from the pair and interval when it was the last one.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param interval    The candle interval.
+     * @param sink        The sink to remove.
+     */
+    public void unsubscribeCandles(String tradingPair, CandleInterval interval, CandleSink sink) {
+        if (interval == null) {
+            throw new IllegalArgumentException("Interval cannot be null.");
+        }
+        unsubscribe(CANDLESTICKS, interval.getCode() + "_" + pairKey(tradingPair), sink, candleHandlers);
+    }
+
+    /**
+     * Subscribes a handler to the public trades of a trading pair.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param handler     The handler for the pair's trades.
+     */
+    public void subscribeTrades(String tradingPair, TradeHandler handler) {
+        subscribe(TRADES, pairKey(tradingPair), handler, tradeHandlers);
+    }
+
+    /**
+     * Removes a trade handler, and unsubscribes from the pair when it was the last one.
+     *
+     * @param tradingPair The trading pair (e.g., "BTC_USDT").
+     * @param handler     The handler to remove.
+     */
+    public void unsubscribeTrades(String tradingPair, TradeHandler handler) {
+        unsubscribe(TRADES, pairKey(tradingPair), handler, tradeHandlers);
+    }
+
+    /**
+     * Normalizes a trading pair to the upper case the exchange uses in its updates.
+     */
+    private static String pairKey(String tradingPair) {
+        if (tradingPair == null) {
+            throw new IllegalArgumentException("Trading pair cannot be null.");
+        }
+        return tradingPair.toUpperCase(Locale.ROOT);
+    }
+
+    private synchronized <T> void subscribe(String channel, String key, T handler, Map<String, List<T>> handlers) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler cannot be null.");
+        }
+        List<T> list = handlers.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+        list.add(handler);
+        if (list.size() == 1 && connected) {
+            send(channel, "subscribe", payload(channel, key));
+        }
+    }
+
+    private synchronized <T> void unsubscribe(String channel, String key, T handler, Map<String, List<T>> handlers) {
+        List<T> list = handlers.get(key);
+        if (list == null || !list.remove(handler) || !list.isEmpty()) {
+            return;
+        }
+        handlers.remove(key);
+        if (connected) {
+            send(channel, "unsubscribe", payload(channel, key));
+        }
+    }
+
+    /**
+     * Builds the request payload of one subscription. Candlestick payloads are [interval, pair].
+     */
+    private static JSONArray payload(String channel, String key) {
+        JSONArray payload = new JSONArray();
+        if (CANDLESTICKS.equals(channel)) {
+            int separator = key.indexOf('_');
+            payload.put(key.substring(0, separator)).put(key.substring(separator + 1));
+        } else {
+            payload.put(key);
+        }
+        return payload;
+    }
+
+    /**
+     * Sends every current subscription on a new connection; ticker and trade pairs are batched
+     * into one request per channel.
+     */
+    private synchronized void resubscribe() {
+        List<String> tickerPairs = new ArrayList<>(tickerHandlers.keySet());
+        if (!tickerPairs.isEmpty()) {
+            send(TICKERS, "subscribe", new JSONArray(tickerPairs));
+        }
+        List<String> tradePairs = new ArrayList<>(tradeHandlers.keySet());
+        if (!tradePairs.isEmpty()) {
+            send(TRADES, "subscribe", new JSONArray(tradePairs));
+        }
+        for (String key : candleHandlers.keySet()) {
+            send(CANDLESTICKS, "subscribe", payload(CANDLESTICKS, key));
+        }
+    }
+
+    private void send(String channel, String event, JSONArray payload) {
+        JSONObject message = new JSONObject()
+                .put("time", System.currentTimeMillis() / 1000)
+                .put("channel", channel)
+                .put("event", event)
+                .put("payload", payload);
+        webSocket.send(message.toString());
+    }
+
+    /**
+     * Dispatches an update message to the handlers of its pair.
+     */
+    private void dispatch(String text) {
+        JSONObject message = new JSONObject(text);
+        if (!message.isNull("error")) {
+            System.err.println("Gate.io WebSocket error on " + message.optString("channel") + ": " + message.get("error"));
+            return;
+        }
+        if (!"update".equals(message.optString("event"))) {
+            return;
+        }
+        String channel = message.optString("channel");
+        Object result = message.opt("result");
+        if (TICKERS.equals(channel)) {
+            JSONObject ticker = (JSONObject) result;
+            String pair = pairKey(ticker.getString("currency_pair"));
+            List<TickerHandler> handlers = tickerHandlers.get(pair);
+            if (handlers != null) {
+                for (TickerHandler handler : handlers) {
+                    handler.onTicker(pair, ticker);
+                }
+            }
+        } else if (CANDLESTICKS.equals(channel)) {
+            JSONObject candle = (JSONObject) result;
+            // The subscription name is the interval and the pair, e.g. "1m_BTC_USDT"
+            String name = candle.getString("n");
+            int separator = name.indexOf('_');
+            String key = name.substring(0, separator + 1) + pairKey(name.substring(separator + 1));
+            List<CandleSink> handlers = candleHandlers.get(key);
+            if (handlers != null) {
+                long timestamp = candle.getLong("t") * 1000;
+                double open = candle.getDouble("o");
+                double high = candle.getDouble("h");
+                double low = candle.getDouble("l");
+                double close = candle.getDouble("c");
+                // "a" is the base currency amount, "v" the quote currency volume
+                double volume = candle.optDouble("a", candle.getDouble("v"));
+                for (CandleSink handler : handlers) {
+                    handler.accept(timestamp, open, high, low, close, volume);
+                }
+            }
+        } else if (TRADES.equals(channel)) {
+            JSONObject trade = (JSONObject) result;
+            String pair = pairKey(trade.getString("currency_pair"));
+            List<TradeHandler> handlers = tradeHandlers.get(pair);
+            if (handlers != null) {
+                long timestamp = trade.has("create_time_ms")
+                        ? (long) trade.getDouble("create_time_ms")
+                        : trade.getLong("create_time") * 1000;
+                double price = trade.getDouble("price");
+                double amount = trade.getDouble("amount");
+                boolean buy = "buy".equals(trade.optString("side"));
+                for (TradeHandler handler : handlers) {
+                    handler.onTrade(pair, timestamp, price, amount, buy);
+                }
+            }
+        }
+    }
+
+    private synchronized void onOpen(int current, WebSocket socket) {
+        if (current != generation || closed) {
+            socket.close(1000, null);
+            return;
+        }
+        connected = true;
+        reconnectDelay = MIN_RECONNECT_DELAY_MILLIS;
+        resubscribe();
+    }
+
+    private synchronized void onDisconnect(int current, Throwable failure) {
+        if (current != generation || closed) {
+            return;
+        }
+        if (failure != null) {
+            System.err.println("Gate.io WebSocket connection failed: " + failure);
+        }
+        connected = false;
+        webSocket = null;
+        long delay = reconnectDelay;
+        reconnectDelay = Math.min(MAX_RECONNECT_DELAY_MILLIS, reconnectDelay * 2);
+        scheduler.schedule(this::reconnect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void reconnect() {
+        if (!closed && webSocket == null) {
+            connect();
+        }
+    }
+
+    /**
+     * Checks whether the connection is open.
+     *
+     * @return true if connected, false while connecting or reconnecting.
+     */
+    public synchronized boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Closes the connection and stops reconnecting. Handlers receive no further updates.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        connected = false;
+        if (webSocket != null) {
+            webSocket.close(1000, "Client closed");
+            webSocket = null;
+        }
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Receives the events of one connection attempt; events of superseded attempts are ignored.
+     */
+    private final class Listener extends WebSocketListener {
+        private final int generation;
+
+        private Listener(int generation) {
+            this.generation = generation;
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket, Response response) {
+            GateIOWebSocketClient.this.onOpen(generation, webSocket);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            try {
+                dispatch(text);
+            } catch (JSONException | ClassCastException e) {
+                System.err.println("Error parsing Gate.io WebSocket message: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            webSocket.close(1000, null);
+            onDisconnect(generation, null);
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+            onDisconnect(generation, t);
+        }
+    }
+
+    /**
+     * Handler for ticker updates.
+     */
+    @FunctionalInterface
+    public interface TickerHandler {
+
+        /**
+         * Receives a ticker update.
+         *
+         * @param tradingPair The trading pair.
+         * @param ticker      The ticker, in the same format as {@link GateIOAPI#fetchLiveTicker(String)} returns.
+         */
+        void onTicker(String tradingPair, JSONObject ticker);
+    }
+
+    /**
+     * Handler for public trades.
+     */
+    @FunctionalInterface
+    public interface TradeHandler {
+
+        /**
+         * Receives a trade.
+         *
+         * @param tradingPair The trading pair.
+         * @param timestamp   The trade time in epoch milliseconds.
+         * @param price       The trade price.
+         * @param amount      The traded amount in the base currency.
+         * @param buy         true if the taker bought, false if they sold.
+         */
+        void onTrade(String tradingPair, long timestamp, double price, double amount, boolean buy);
+    }
+}
@@ -0,0 +1,111 @@
+package com.tradingbot.integration;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the OkHttp clients used for exchange requests.
+ * <p>
+ * OkHttp clients are meant to be shared: each one owns a connection pool and a dispatcher, so one
+ * client per API instance wastes connections and threads. {@link #shared()} returns a process-wide
+ * client; clients derived from it with {@code newBuilder()} keep sharing its pool and dispatcher.
+ * HTTP/2 is preferred, so concurrent requests to the exchange are multiplexed over one connection.
+ * The dispatcher caps asynchronous calls and queues the rest without blocking threads, so fan-out
+ * is bounded by the limits below rather than by thread count. Its threads are daemon threads, so
+ * idle ones never keep the JVM alive after the application is done.
+ */
+public final class HttpClients {
+
+    /** The default number of idle connections kept open. */
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 8;
+
+    /** The default time an idle connection is kept open, in milliseconds. */
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /** The default maximum number of asynchronous calls running at once. */
+    public static final int DEFAULT_MAX_REQUESTS = 128;
+
+    /** The default maximum number of asynchronous calls running at once against one host. */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+
+    /** The default connect, read and write timeout, in milliseconds. */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 10_000;
+
+    private static volatile OkHttpClient shared;
+
+    private HttpClients() {
+    }
+
+    /**
+     * Gets the process-wide client with the default settings, creating it on first use.
+     *
+     * @return The shared client.
+     */
+    public static OkHttpClient shared() {
+        OkHttpClient client = shared;
+        if (client == null) {
+            synchronized (HttpClients.class) {
+                client = shared;
+                if (client == null) {
+                    client = create(DEFAULT_MAX_IDLE_CONNECTIONS, DEFAULT_KEEP_ALIVE_MILLIS, DEFAULT_MAX_REQUESTS,
+                            DEFAULT_MAX_REQUESTS_PER_HOST, DEFAULT_TIMEOUT_MILLIS);
+                    shared = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Creates a client with its own connection pool and dispatcher.
+     *
+     * @param maxIdleConnections The number of idle connections kept open.
+     * @param keepAliveMillis    The time an idle connection is kept open, in milliseconds.
+     * @param maxRequests        The maximum number of asynchronous calls running at once.
+     * @param maxRequestsPerHost The maximum number of asynchronous calls running at once against one host.
+     * @param timeoutMillis      The connect, read and write timeout, in milliseconds; a whole call
+     *                           may take up to three times as long.
+     * @return The new client.
+     */
+    public static OkHttpClient create(int maxIdleConnections, long keepAliveMillis, int maxRequests,
+                                      int maxRequestsPerHost, long timeoutMillis) {
+        if (maxIdleConnections < 0 || keepAliveMillis <= 0 || maxRequests <= 0 || maxRequestsPerHost <= 0
+                || timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Connection limits and timeouts must be greater than 0.");
+        }
+        Dispatcher dispatcher = new Dispatcher(newDispatcherExecutor());
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .readTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .writeTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .callTimeout(3 * timeoutMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Creates the same unbounded, idle-timeout pool OkHttp's dispatcher uses by default, but with
+     * daemon threads.
+     */
+    private static ExecutorService newDispatcherExecutor() {
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "okhttp-dispatcher-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
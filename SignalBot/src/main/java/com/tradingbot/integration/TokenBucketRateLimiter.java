@@ -0,0 +1,76 @@
+package com.tradingbot.integration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter for exchange requests.
+ * Tokens accrue at a fixed rate up to a burst capacity; each request takes one token and waits
+ * for it if the bucket is empty. Waiting happens outside the lock, so it suits many blocked
+ * virtual threads as well as a few platform threads.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double tokensPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Constructor for TokenBucketRateLimiter.
+     *
+     * @param permitsPerSecond The sustained request rate.
+     * @param burst            The number of requests that may be made at once after an idle period.
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0) || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be greater than 0.");
+        }
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes one token, waiting until one is available.
+     *
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Takes one token if one is available right now.
+     *
+     * @return true if a token was taken, false otherwise.
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Takes a token, possibly borrowing against future refills, and returns how long the caller
+     * has to wait until the borrowed token has accrued.
+     */
+    private synchronized long reserve() {
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
@@ -72,16 +72,21 @@ public class LogisticRegressionModel extends MLModel {
         List<Double> predictions = new ArrayList<>();
 
         for (double[] input : inputs) {
-            double linearOutput = bias;
-            for (int i = 0; i < input.length; i++) {
-                linearOutput += input[i] * weights[i];
-            }
-            predictions.add(sigmoid(linearOutput));
+            predictions.add(predict(input));
         }
 
         return predictions;
     }
 
+    @Override
+    public double predict(double[] input) {
+        double linearOutput = bias;
+        for (int i = 0; i < input.length; i++) {
+            linearOutput += input[i] * weights[i];
+        }
+        return sigmoid(linearOutput);
+    }
+
     @Override
     public double evaluate(List<double[]> inputs, List<Double> targets) {
         if (inputs == null || targets == null || inputs.size() != targets.size()) {
@@ -90,7 +95,7 @@ public class LogisticRegressionModel extends MLModel {
 
         int correct = 0;
         for (int i = 0; i < inputs.size(); i++) {
-            double prediction = predict(List.of(inputs.get(i))).get(0) >= 0.5 ? 1.0 : 0.0;
+            double prediction = predict(inputs.get(i)) >= 0.5 ? 1.0 : 0.0;
             if (prediction == targets.get(i)) {
                 correct++;
             }
@@ -23,6 +23,18 @@ public abstract class MLModel {
      */
     public abstract List<Double> predict(List<double[]> inputs);
 
+    /**
+     * Makes a prediction for a single input.
+     * The default implementation delegates to {@link #predict(List)}; models that can score an
+     * input without allocating override it so it can sit on a hot signal path.
+     *
+     * @param input The input for which a prediction is required.
+     * @return The prediction for the input.
+     */
+    public double predict(double[] input) {
+        return predict(List.of(input)).get(0);
+    }
+
     /**
      * Evaluates the model's performance using test data.
      *
@@ -143,7 +143,7 @@ public void train(List<double[]> inputList, List<Double> targetList) {
 
         double totalLoss = 0;
         for (int i = 0; i < inputList.size(); i++) {
-            double prediction = predict(List.of(inputList.get(i))).get(0);
+            double prediction = predict(inputList.get(i));
             totalLoss += Math.pow(prediction - targetList.get(i), 2) / 2;
         }
 
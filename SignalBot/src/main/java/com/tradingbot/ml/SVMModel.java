@@ -70,13 +70,18 @@ public class SVMModel extends MLModel {
         List<Double> predictions = new ArrayList<>();
 
         for (double[] input : inputs) {
-            double output = dotProduct(weights, input) + bias;
-            predictions.add(output >= 0 ? 1.0 : 0.0);
+            predictions.add(predict(input));
         }
 
         return predictions;
     }
 
+    @Override
+    public double predict(double[] input) {
+        double output = dotProduct(weights, input) + bias;
+        return output >= 0 ? 1.0 : 0.0;
+    }
+
     @Override
     public double evaluate(List<double[]> inputs, List<Double> targets) {
         if (inputs == null || targets == null || inputs.size() != targets.size()) {
@@ -85,7 +90,7 @@ public class SVMModel extends MLModel {
 
         int correct = 0;
         for (int i = 0; i < inputs.size(); i++) {
-            double prediction = predict(List.of(inputs.get(i))).get(0);
+            double prediction = predict(inputs.get(i));
             if (prediction == targets.get(i)) {
                 correct++;
             }
@@ -1,23 +1,46 @@
 package com.tradingbot.signals;
 
+import com.tradingbot.data.CandleSeries;
 import com.tradingbot.data.OHLCVData;
 import com.tradingbot.indicators.*;
 import com.tradingbot.ml.MLModel;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Generates trading signals based on indicators and machine learning models.
  */
 public class SignalGenerator {
 
+    /**
+     * How {@link #generateSignal(CandleSeries)} evaluates its indicators.
+     */
+    public enum EvaluationMode {
+        /** Compute every indicator over the whole history. */
+        FULL_HISTORY,
+        /** Compute only the latest value of each indicator from its warmup window. */
+        LATEST_ONLY
+    }
+
     private final RSIIndicator rsiIndicator;
     private final MACDIndicator macdIndicator;
     private final BollingerBandsIndicator bollingerBandsIndicator;
     private final MLModel mlModel;
+    private final IndicatorKey closeKey = IndicatorKey.close();
+    private final IndicatorKey rsiKey;
+    private final IndicatorKey macdKey;
+    private final IndicatorKey bollingerKey;
+    private final IndicatorGraph indicatorGraph = new IndicatorGraph();
+    private final EvaluationMode evaluationMode;
+    private final Map<String, StreamingState> streamingStates = new ConcurrentHashMap<>();
+    // Per-thread buffers, so repeated signal requests on a thread allocate nothing once warmed up
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(() -> new Scratch(indicatorGraph.newValues()));
 
     /**
-     * Constructor for SignalGenerator.
+     * Constructor for SignalGenerator that evaluates indicators over the whole history.
      *
      * @param rsiPeriod        Period for RSI calculation.
      * @param macdShortPeriod  Short period for MACD calculation.
@@ -29,10 +52,47 @@ public class SignalGenerator {
      */
     public SignalGenerator(int rsiPeriod, int macdShortPeriod, int macdLongPeriod, int macdSignalPeriod,
                            int bollingerPeriod, double bollingerMultiplier, MLModel mlModel) {
+        this(rsiPeriod, macdShortPeriod, macdLongPeriod, macdSignalPeriod, bollingerPeriod, bollingerMultiplier,
+                mlModel, EvaluationMode.FULL_HISTORY);
+    }
+
+    /**
+     * Constructor for SignalGenerator.
+     *
+     * @param rsiPeriod        Period for RSI calculation.
+     * @param macdShortPeriod  Short period for MACD calculation.
+     * @param macdLongPeriod   Long period for MACD calculation.
+     * @param macdSignalPeriod Signal line period for MACD calculation.
+     * @param bollingerPeriod  Period for Bollinger Bands calculation.
+     * @param bollingerMultiplier Multiplier for Bollinger Bands width.
+     * @param mlModel          Machine learning model for advanced predictions.
+     * @param evaluationMode   How indicators are evaluated for each signal request.
+     */
+    public SignalGenerator(int rsiPeriod, int macdShortPeriod, int macdLongPeriod, int macdSignalPeriod,
+                           int bollingerPeriod, double bollingerMultiplier, MLModel mlModel,
+                           EvaluationMode evaluationMode) {
         this.rsiIndicator = new RSIIndicator(rsiPeriod);
         this.macdIndicator = new MACDIndicator(macdShortPeriod, macdLongPeriod, macdSignalPeriod);
         this.bollingerBandsIndicator = new BollingerBandsIndicator(bollingerPeriod, bollingerMultiplier);
         this.mlModel = mlModel;
+        this.evaluationMode = evaluationMode;
+        this.rsiKey = IndicatorKey.rsi(rsiPeriod);
+        this.macdKey = IndicatorKey.macd(macdShortPeriod, macdLongPeriod, macdSignalPeriod);
+        this.bollingerKey = IndicatorKey.bollingerBands(bollingerPeriod, bollingerMultiplier);
+        registerIndicators(indicatorGraph);
+    }
+
+    /**
+     * Registers the indicators this generator reads in a graph, so several generators or
+     * strategies sharing one graph compute common indicators only once.
+     *
+     * @param graph The indicator graph.
+     */
+    public void registerIndicators(IndicatorGraph graph) {
+        graph.require(closeKey);
+        graph.require(rsiKey);
+        graph.require(macdKey);
+        graph.require(bollingerKey);
     }
 
     /**
@@ -45,30 +105,117 @@ public class SignalGenerator {
         if (data == null || data.size() < 1) {
             throw new IllegalArgumentException("Insufficient market data for signal generation.");
         }
+        return generateSignal(CandleSeries.of(data));
+    }
+
+    /**
+     * Generates a signal based on the latest bars of a candle series.
+     * In {@link EvaluationMode#LATEST_ONLY} the cost is bounded by the indicator lookbacks
+     * rather than by the length of the series.
+     *
+     * @param series The candle series.
+     * @return A trading signal: "Buy", "Sell", or "Hold".
+     */
+    public String generateSignal(CandleSeries series) {
+        if (series == null || series.size() < 1) {
+            throw new IllegalArgumentException("Insufficient market data for signal generation.");
+        }
+
+        Scratch buffers = scratch.get();
+        if (evaluationMode == EvaluationMode.FULL_HISTORY) {
+            return generateSignal(indicatorGraph.evaluate(series, buffers.values));
+        }
+
+        double[] macdValues = macdIndicator.calculateLatest(series, buffers.macd);
+        double[] bollingerValues = bollingerBandsIndicator.calculateLatest(series, buffers.bollinger);
+        return decide(rsiIndicator.calculateLatest(series), macdValues[0], macdValues[1],
+                series.getClose(series.size() - 1), bollingerValues[0], bollingerValues[2]);
+    }
+
+    /**
+     * Generates a signal from the values of a graph this generator registered its indicators in.
+     *
+     * @param values The evaluated indicator graph.
+     * @return A trading signal: "Buy", "Sell", or "Hold".
+     */
+    public String generateSignal(IndicatorValues values) {
+        double latestClose = values.latest(closeKey, 0);
+        double latestRSI = values.latest(rsiKey, 0);
+        double latestMACD = values.latest(macdKey, 0);
+        double macdSignal = values.latest(macdKey, 1);
+        double upperBand = values.latest(bollingerKey, 0);
+        double lowerBand = values.latest(bollingerKey, 2);
 
-        OHLCVData latestData = data.get(data.size() - 1);
+        return decide(latestRSI, latestMACD, macdSignal, latestClose, upperBand, lowerBand);
+    }
 
-        // Calculate indicators
-        double[] rsiValues = rsiIndicator.calculate(data);
-        double[][] macdValues = macdIndicator.calculate(data.stream().map(OHLCVData::getClose).toList());
-        double[][] bollingerValues = bollingerBandsIndicator.calculate(data.stream().map(OHLCVData::getClose).toList());
+    /**
+     * Seeds the streaming indicators for a symbol from its history, replacing any previous state.
+     *
+     * @param symbol  The trading pair (e.g., "BTC_USDT").
+     * @param history The list of OHLCV data, oldest first.
+     */
+    public void seed(String symbol, List<OHLCVData> history) {
+        StreamingState state = new StreamingState();
+        for (OHLCVData candle : history) {
+            state.update(candle);
+        }
+        streamingStates.put(symbol, state);
+    }
 
-        double latestRSI = rsiValues[rsiValues.length - 1];
-        double latestMACD = macdValues[0][macdValues[0].length - 1];
-        double macdSignal = macdValues[1][macdValues[1].length - 1];
-        double upperBand = bollingerValues[0][bollingerValues[0].length - 1];
-        double lowerBand = bollingerValues[2][bollingerValues[2].length - 1];
+    /**
+     * Advances the streaming indicators for a symbol by one bar and generates a signal.
+     * Unlike {@link #generateSignal(List)} this costs O(1) per bar. A candle with the same
+     * timestamp as the previous one is treated as a revision of the still-forming bar and
+     * replaces it instead of being appended. Until every indicator has seen enough bars the
+     * signal is "Hold".
+     *
+     * @param symbol The trading pair (e.g., "BTC_USDT").
+     * @param candle The newly closed bar, or a revision of the latest one.
+     * @return A trading signal: "Buy", "Sell", or "Hold".
+     */
+    public String update(String symbol, OHLCVData candle) {
+        StreamingState state = streamingStates.computeIfAbsent(symbol, key -> new StreamingState());
+        synchronized (state) {
+            state.update(candle);
+            if (!state.isReady()) {
+                return "Hold";
+            }
+            return decide(state.rsi.getValue(), state.macd.getValue(), state.macd.getSignal(),
+                    state.latestClose, state.bollinger.getUpperBand(), state.bollinger.getLowerBand());
+        }
+    }
 
+    /**
+     * Discards the streaming state kept for a symbol.
+     *
+     * @param symbol The trading pair (e.g., "BTC_USDT").
+     */
+    public void reset(String symbol) {
+        streamingStates.remove(symbol);
+    }
+
+    /**
+     * Combines the latest indicator values into a signal.
+     */
+    private String decide(double latestRSI, double latestMACD, double macdSignal, double latestClose,
+                          double upperBand, double lowerBand) {
         // Indicator-based decision
-        if (latestRSI < 30 && latestData.getClose() < lowerBand && latestMACD > macdSignal) {
+        if (latestRSI < 30 && latestClose < lowerBand && latestMACD > macdSignal) {
             return "Buy";
-        } else if (latestRSI > 70 && latestData.getClose() > upperBand && latestMACD < macdSignal) {
+        } else if (latestRSI > 70 && latestClose > upperBand && latestMACD < macdSignal) {
             return "Sell";
         }
 
         // Use machine learning model for additional validation
-        double[] features = { latestRSI, latestMACD, macdSignal, latestData.getClose(), upperBand, lowerBand };
-        double mlPrediction = mlModel.predict(List.of(features)).get(0);
+        double[] features = scratch.get().features;
+        features[0] = latestRSI;
+        features[1] = latestMACD;
+        features[2] = macdSignal;
+        features[3] = latestClose;
+        features[4] = upperBand;
+        features[5] = lowerBand;
+        double mlPrediction = mlModel.predict(features);
 
         if (mlPrediction > 0.7) {
             return "Buy";
@@ -78,4 +225,47 @@ public class SignalGenerator {
 
         return "Hold";
     }
+
+    /**
+     * Reusable buffers for one thread's signal requests.
+     */
+    private static final class Scratch {
+        private final IndicatorValues values;
+        private final double[] macd = new double[3];
+        private final double[] bollinger = new double[3];
+        private final double[] features = new double[6];
+
+        private Scratch(IndicatorValues values) {
+            this.values = values;
+        }
+    }
+
+    /**
+     * Streaming indicator state kept per symbol.
+     */
+    private class StreamingState {
+        private final StreamingRSIIndicator rsi = rsiIndicator.stream();
+        private final StreamingMACDIndicator macd = macdIndicator.stream();
+        private final StreamingBollingerBandsIndicator bollinger = bollingerBandsIndicator.stream();
+        private double latestClose;
+        private Instant latestTimestamp;
+
+        private void update(OHLCVData candle) {
+            if (candle.getTimestamp().equals(latestTimestamp)) {
+                rsi.replaceLast(candle);
+                macd.replaceLast(candle);
+                bollinger.replaceLast(candle);
+            } else {
+                rsi.update(candle);
+                macd.update(candle);
+                bollinger.update(candle);
+            }
+            latestClose = candle.getClose();
+            latestTimestamp = candle.getTimestamp();
+        }
+
+        private boolean isReady() {
+            return rsi.isReady() && macd.isReady() && bollinger.isReady();
+        }
+    }
 }
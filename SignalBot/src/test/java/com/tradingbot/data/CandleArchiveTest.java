@@ -0,0 +1,129 @@
+package com.tradingbot.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Round-trips randomly generated bars through the compressed candle archive.
+ */
+class CandleArchiveTest {
+
+    private static final int ARCHIVES = 200;
+    private static final int[] BLOCK_SIZES = {1, 7, 64, 1000, CandleArchiveWriter.DEFAULT_BLOCK_SIZE};
+    private static final double[] SPECIAL_RATES = {0, 0.001, 0.03, 0.3};
+    private static final double[] SPECIALS = {
+            Double.NaN, Double.longBitsToDouble(0x7ff8_0000_0000_0001L), Double.longBitsToDouble(0xfff8_0000_0000_0000L),
+            -0.0, 0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE
+    };
+
+    @Test
+    void decodesEveryArchiveBitForBit() throws IOException {
+        for (int archive = 0; archive < ARCHIVES; archive++) {
+            Random random = new Random(archive);
+            CandleSeries bars = generate(random);
+            int blockSize = BLOCK_SIZES[random.nextInt(BLOCK_SIZES.length)];
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (CandleArchiveWriter writer = new CandleArchiveWriter(bytes, blockSize)) {
+                writer.append(bars);
+            }
+            CandleArchive decoded = new CandleArchive(ByteBuffer.wrap(bytes.toByteArray()));
+
+            String context = "archive " + archive + " with block size " + blockSize;
+            assertEquals(bars.size(), decoded.size(), context);
+            assertBitExact(bars, 0, decoded.toSeries(), context);
+
+            // A range read decodes only the overlapping blocks and must return the same bars
+            int from = random.nextInt(bars.size());
+            int to = from + random.nextInt(bars.size() - from) + 1;
+            CandleSeries range = new CandleSeries(0);
+            long end = to == bars.size() ? Long.MAX_VALUE : bars.getTimestamp(to);
+            decoded.read(bars.getTimestamp(from), end, range::add);
+            assertEquals(to - from, range.size(), context);
+            assertBitExact(bars, from, range, context + " range [" + from + ", " + to + ")");
+        }
+    }
+
+    private static void assertBitExact(CandleSeries expected, int offset, CandleSeries actual, String context) {
+        for (int i = 0; i < actual.size(); i++) {
+            int bar = offset + i;
+            String message = context + ", bar " + bar;
+            assertEquals(expected.getTimestamp(bar), actual.getTimestamp(i), message);
+            assertEquals(bits(expected.getOpen(bar)), bits(actual.getOpen(i)), message + " open");
+            assertEquals(bits(expected.getHigh(bar)), bits(actual.getHigh(i)), message + " high");
+            assertEquals(bits(expected.getLow(bar)), bits(actual.getLow(i)), message + " low");
+            assertEquals(bits(expected.getClose(bar)), bits(actual.getClose(i)), message + " close");
+            assertEquals(bits(expected.getVolume(bar)), bits(actual.getVolume(i)), message + " volume");
+        }
+    }
+
+    private static long bits(double value) {
+        return Double.doubleToRawLongBits(value);
+    }
+
+    /**
+     * Generates a random walk of bars. Prices are either exact decimals, which take the scaled
+     * integer path of the codec, or arbitrary doubles, which take the XOR path; special values
+     * such as NaN and -0.0 and highs and lows on the wrong side of the body are mixed in.
+     */
+    private static CandleSeries generate(Random random) {
+        int count = 1 + random.nextInt(random.nextBoolean() ? 50 : 5_000);
+        boolean decimalPrices = random.nextInt(3) > 0;
+        boolean decimalVolumes = random.nextInt(3) > 0;
+        int priceScale = random.nextInt(7);
+        int volumeScale = random.nextInt(9);
+        double specialRate = SPECIAL_RATES[random.nextInt(SPECIAL_RATES.length)];
+        long step = random.nextBoolean() ? 60_000 : 1_000;
+
+        CandleSeries series = new CandleSeries(count);
+        long timestamp = 1_500_000_000_000L + random.nextInt(1_000_000) * step;
+        double price = 1 + random.nextDouble() * 50_000;
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                // Mostly regular, with occasional missing bars and irregular gaps
+                int kind = random.nextInt(100);
+                timestamp += kind < 90 ? step : kind < 97 ? step * (2 + random.nextInt(20)) : 1 + random.nextInt(100_000);
+            }
+            double open = price;
+            double close = open * (1 + random.nextGaussian() * 0.01);
+            double body = Math.abs(close - open);
+            double high = Math.max(open, close) + random.nextDouble() * body;
+            double low = Math.min(open, close) - random.nextDouble() * body;
+            if (random.nextInt(10) == 0) {
+                // Inconsistent bars from bad feeds: a high below the body or a low above it
+                high = Math.min(open, close) - random.nextDouble() * (body + 1);
+                low = Math.max(open, close) + random.nextDouble() * (body + 1);
+            }
+            double volume = random.nextDouble() * 1_000;
+            if (decimalPrices) {
+                open = round(open, priceScale);
+                high = round(high, priceScale);
+                low = round(low, priceScale);
+                close = round(close, priceScale);
+            }
+            if (decimalVolumes) {
+                volume = round(volume, volumeScale);
+            }
+            series.add(timestamp, special(random, specialRate, open), special(random, specialRate, high),
+                    special(random, specialRate, low), special(random, specialRate, close),
+                    special(random, specialRate, volume));
+            price = Math.max(1e-6, close);
+        }
+        return series;
+    }
+
+    private static double round(double value, int scale) {
+        double factor = Math.pow(10, scale);
+        return Math.rint(value * factor) / factor;
+    }
+
+    private static double special(Random random, double rate, double value) {
+        return random.nextDouble() < rate ? SPECIALS[random.nextInt(SPECIALS.length)] : value;
+    }
+}
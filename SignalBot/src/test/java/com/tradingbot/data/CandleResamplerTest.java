@@ -0,0 +1,77 @@
+package com.tradingbot.data;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks how partial leading and trailing periods are handled by the streaming and static resamplers.
+ */
+class CandleResamplerTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void historyStartingMidPeriodDropsTheLeadingBar() {
+        // 1m bars from 00:03 to 00:14: 00:00-00:05 is only partly covered, 00:05 and 00:10 are complete
+        CandleSeries source = minutes(3, 12);
+
+        CandleSeries streamed = new CandleSeries();
+        CandleResampler resampler = new CandleResampler(CandleInterval.MINUTES_1, CandleInterval.MINUTES_5, streamed::add);
+        for (int i = 0; i < source.size(); i++) {
+            resampler.accept(source.getTimestamp(i), source.getOpen(i), source.getHigh(i),
+                    source.getLow(i), source.getClose(i), source.getVolume(i));
+        }
+        CandleSeries resampled = CandleResampler.resample(source, CandleInterval.MINUTES_1, CandleInterval.MINUTES_5);
+
+        assertEquals(2, streamed.size());
+        assertEquals(5 * MINUTE, streamed.getTimestamp(0));
+        assertEquals(10 * MINUTE, streamed.getTimestamp(1));
+        assertEquals(2, resampled.size());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(streamed.getTimestamp(i), resampled.getTimestamp(i));
+            assertEquals(streamed.getOpen(i), resampled.getOpen(i));
+            assertEquals(streamed.getClose(i), resampled.getClose(i));
+            assertEquals(streamed.getVolume(i), resampled.getVolume(i));
+        }
+        assertEquals(5.0, resampled.getVolume(0)); // All five source bars of 00:05
+    }
+
+    @Test
+    void historyStartingOnAPeriodBoundaryKeepsTheFirstBar() {
+        CandleSeries resampled = CandleResampler.resample(minutes(0, 10), CandleInterval.MINUTES_1, CandleInterval.MINUTES_5);
+        assertEquals(2, resampled.size());
+        assertEquals(0L, resampled.getTimestamp(0));
+    }
+
+    @Test
+    void partialLeadingBarIsNotFlushed() {
+        CandleSeries emitted = new CandleSeries();
+        CandleResampler resampler = new CandleResampler(CandleInterval.MINUTES_1, CandleInterval.MINUTES_5, emitted::add);
+        resampler.accept(2 * MINUTE, 1, 1, 1, 1, 1);
+        assertFalse(resampler.flush());
+        assertEquals(0, emitted.size());
+    }
+
+    @Test
+    void staticResampleRejectsOutOfOrderBars() {
+        CandleSeries source = new CandleSeries();
+        source.add(0, 1, 1, 1, 1, 1);
+        source.add(MINUTE, 1, 1, 1, 1, 1);
+        source.add(5 * MINUTE, 1, 1, 1, 1, 1);
+        source.add(4 * MINUTE, 1, 1, 1, 1, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> CandleResampler.resample(source, CandleInterval.MINUTES_1, CandleInterval.MINUTES_5));
+    }
+
+    private static CandleSeries minutes(int firstMinute, int count) {
+        CandleSeries series = new CandleSeries();
+        for (int i = 0; i < count; i++) {
+            double price = 100 + i;
+            series.add((firstMinute + i) * MINUTE, price, price + 1, price - 1, price + 0.5, 1);
+        }
+        return series;
+    }
+}
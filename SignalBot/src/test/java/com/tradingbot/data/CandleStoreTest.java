@@ -0,0 +1,186 @@
+package com.tradingbot.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reopens candle stores after simulated crashes that left torn bars and interrupted revisions.
+ */
+class CandleStoreTest {
+
+    private static final String SYMBOL = "BTC_USDT";
+    private static final CandleInterval INTERVAL = CandleInterval.MINUTES_1;
+    private static final long MINUTE = 60_000;
+    private static final long START = 1_700_000_000_000L / MINUTE * MINUTE;
+    private static final int CAPACITY = 256;
+
+    // On-disk layout of a segment, mirrored from CandleStore
+    private static final int HEADER_SIZE = 128;
+    private static final int RECORD_SIZE = 64;
+    private static final int COUNT_OFFSET = 16;
+    private static final int REDO_SLOT_OFFSET = 24;
+    private static final int REDO_RECORD_OFFSET = 32;
+
+    private Path root;
+
+    @BeforeEach
+    void createRoot() throws IOException {
+        root = Files.createTempDirectory("candle-store");
+    }
+
+    @AfterEach
+    void deleteRoot() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    void reopensAcrossSegments() throws IOException {
+        write(CAPACITY * 2 + 10);
+
+        try (CandleStore store = open()) {
+            assertEquals(CAPACITY * 2 + 10, store.size(SYMBOL, INTERVAL));
+            assertBars(store, CAPACITY * 2 + 10);
+        }
+    }
+
+    @Test
+    void truncatesFromFirstTornBar() throws IOException {
+        write(100);
+        // A bar whose second half never reached the disk
+        overwrite(segment(0), HEADER_SIZE + 82 * RECORD_SIZE + 20, new byte[12]);
+
+        try (CandleStore store = open()) {
+            assertEquals(82, store.size(SYMBOL, INTERVAL));
+            assertBars(store, 82);
+
+            store.append(SYMBOL, INTERVAL, time(82), 1, 2, 0.5, 1.5, 10);
+            assertEquals(83, store.size(SYMBOL, INTERVAL));
+        }
+    }
+
+    @Test
+    void truncatesCountThatOutranBars() throws IOException {
+        write(100);
+        // The header page reached the disk but the pages holding the last bars did not
+        ByteBuffer count = ByteBuffer.allocate(8).putLong(0, 120);
+        overwrite(segment(0), COUNT_OFFSET, count.array());
+
+        try (CandleStore store = open()) {
+            assertEquals(100, store.size(SYMBOL, INTERVAL));
+            assertBars(store, 100);
+        }
+    }
+
+    @Test
+    void truncatesTornBarInLastSegmentOnly() throws IOException {
+        write(CAPACITY + 50);
+        overwrite(segment(1), HEADER_SIZE + 30 * RECORD_SIZE + 8, new byte[] {1, 2, 3});
+
+        try (CandleStore store = open()) {
+            assertEquals(CAPACITY + 30, store.size(SYMBOL, INTERVAL));
+            assertBars(store, CAPACITY + 30);
+        }
+    }
+
+    @Test
+    void redoesInterruptedRevision() throws IOException {
+        write(40);
+        try (CandleStore store = open()) {
+            store.append(SYMBOL, INTERVAL, time(39), 7, 8, 6, 7.5, 99);
+        }
+        // Crash after the revision was staged, with the bar only half rewritten
+        markRedo(39);
+        overwrite(segment(0), HEADER_SIZE + 39 * RECORD_SIZE + 8, new byte[16]);
+
+        try (CandleStore store = open()) {
+            assertEquals(40, store.size(SYMBOL, INTERVAL));
+            CandleSeries bars = store.read(SYMBOL, INTERVAL, time(39), time(40));
+            assertEquals(7.0, bars.getOpen(0), 0.0);
+            assertEquals(8.0, bars.getHigh(0), 0.0);
+            assertEquals(99.0, bars.getVolume(0), 0.0);
+        }
+    }
+
+    @Test
+    void keepsBarWhenStagedRevisionIsTorn() throws IOException {
+        write(40);
+        // Crash while the revision was being staged, before the bar itself was touched
+        markRedo(39);
+        overwrite(segment(0), REDO_RECORD_OFFSET + 16, new byte[] {9, 9, 9, 9});
+
+        try (CandleStore store = open()) {
+            assertEquals(40, store.size(SYMBOL, INTERVAL));
+            assertBars(store, 40);
+        }
+    }
+
+    @Test
+    void dropsBarWhenStagedRevisionAndBarAreTorn() throws IOException {
+        write(40);
+        markRedo(39);
+        overwrite(segment(0), REDO_RECORD_OFFSET + 16, new byte[] {9, 9, 9, 9});
+        overwrite(segment(0), HEADER_SIZE + 39 * RECORD_SIZE + 8, new byte[16]);
+
+        try (CandleStore store = open()) {
+            assertEquals(39, store.size(SYMBOL, INTERVAL));
+            assertBars(store, 39);
+        }
+    }
+
+    private CandleStore open() {
+        return new CandleStore(root, CAPACITY);
+    }
+
+    private void write(int bars) throws IOException {
+        try (CandleStore store = open()) {
+            for (int i = 0; i < bars; i++) {
+                store.append(SYMBOL, INTERVAL, time(i), i, i + 2, i - 1, i + 1, i * 10);
+            }
+        }
+    }
+
+    private static void assertBars(CandleStore store, int bars) {
+        CandleSeries series = store.read(SYMBOL, INTERVAL, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(bars, series.size());
+        for (int i = 0; i < bars; i++) {
+            assertEquals(time(i), series.getTimestamp(i));
+            assertEquals(i, series.getOpen(i), 0.0);
+            assertEquals(i + 2, series.getHigh(i), 0.0);
+            assertEquals(i - 1, series.getLow(i), 0.0);
+            assertEquals(i + 1, series.getClose(i), 0.0);
+            assertEquals(i * 10, series.getVolume(i), 0.0);
+        }
+    }
+
+    private static long time(int index) {
+        return START + index * MINUTE;
+    }
+
+    private Path segment(int index) {
+        return root.resolve(SYMBOL).resolve(INTERVAL.getCode()).resolve(String.format("segment-%06d.dat", index));
+    }
+
+    private void markRedo(int slot) throws IOException {
+        overwrite(segment(0), REDO_SLOT_OFFSET, ByteBuffer.allocate(8).putLong(0, slot + 1L).array());
+    }
+
+    private static void overwrite(Path file, long position, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+}
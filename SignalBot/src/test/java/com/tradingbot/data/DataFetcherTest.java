@@ -0,0 +1,199 @@
+package com.tradingbot.data;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.tradingbot.integration.GateIOAPI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Syncs candles from a local mock of the Gate.io candlestick endpoint.
+ */
+class DataFetcherTest {
+
+    private static final long MINUTE = 60;
+
+    private MockGateIOServer server;
+    private GateIOAPI api;
+    // Candles served by the mock end at this time, in epoch seconds
+    private volatile long now;
+    private final AtomicInteger latestRequests = new AtomicInteger();
+    private final AtomicInteger rangeRequests = new AtomicInteger();
+    // The range request with this 1-based number fails with HTTP 500
+    private volatile int failingRequest = -1;
+    private final List<Long> requestedFrom = new CopyOnWriteArrayList<>();
+    private final CountDownLatch slowPairRequested = new CountDownLatch(1);
+    private final CountDownLatch slowPairReleased = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        now = System.currentTimeMillis() / 1000 / MINUTE * MINUTE;
+        server = new MockGateIOServer().endpoint("candlesticks", this::candlesticks);
+        api = server.api();
+    }
+
+    @AfterEach
+    void stopServer() {
+        slowPairReleased.countDown();
+        server.close();
+    }
+
+    private void candlesticks(HttpExchange exchange, Map<String, String> query) throws IOException {
+        if (query.get("currency_pair").equals("SLOW_USDT")) {
+            slowPairRequested.countDown();
+            try {
+                slowPairReleased.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        long from;
+        long to;
+        if (query.containsKey("limit")) {
+            latestRequests.incrementAndGet();
+            to = now;
+            from = now - (Long.parseLong(query.get("limit")) - 1) * MINUTE;
+        } else {
+            from = Long.parseLong(query.get("from"));
+            to = Long.parseLong(query.get("to"));
+            requestedFrom.add(from);
+            if (rangeRequests.incrementAndGet() == failingRequest) {
+                MockGateIOServer.respond(exchange, 500, "{\"label\":\"SERVER_ERROR\"}");
+                return;
+            }
+        }
+        StringBuilder json = new StringBuilder("[");
+        for (long t = (from + MINUTE - 1) / MINUTE * MINUTE; t <= Math.min(to, now); t += MINUTE) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            double price = 100 + t % 7;
+            json.append("[\"").append(t).append("\",\"").append(price).append("\",\"").append(price + 1)
+                    .append("\",\"").append(price - 1).append("\",\"").append(price + 0.5).append("\",\"10\"]");
+        }
+        MockGateIOServer.respond(exchange, 200, json.append(']').toString());
+    }
+
+    @Test
+    void failedPageStopsTheSyncUntilTheNextCall() throws IOException {
+        Path root = Files.createTempDirectory("candle-store");
+        try (CandleStore store = new CandleStore(root)) {
+            // The store keeps every candle, so a gap is paged through rather than skipped
+            DataFetcher fetcher = new DataFetcher(api, store);
+            long start = now - 2_500 * MINUTE;
+            now = start;
+            CandleSeries series = fetcher.syncHistoricalData("BTC_USDT", "1m", 5);
+            assertEquals(5, series.size());
+            assertEquals(start * 1000, fetcher.getLastSyncedTimestamp("BTC_USDT", "1m"));
+
+            // 2,500 new candles take three pages; the second one fails
+            now = start + 2_500 * MINUTE;
+            failingRequest = 2;
+            fetcher.syncHistoricalData("BTC_USDT", "1m", 5);
+            long firstPageEnd = start + (GateIOAPI.MAX_CANDLES_PER_REQUEST - 1) * MINUTE;
+            assertEquals(2, rangeRequests.get());
+            assertEquals(firstPageEnd * 1000, fetcher.getLastSyncedTimestamp("BTC_USDT", "1m"));
+
+            // The next sync resumes from the last merged candle instead of skipping the failed page
+            failingRequest = -1;
+            fetcher.syncHistoricalData("BTC_USDT", "1m", 5);
+            assertEquals(firstPageEnd, (long) requestedFrom.get(2));
+            assertEquals(now * 1000, fetcher.getLastSyncedTimestamp("BTC_USDT", "1m"));
+            assertEquals(2_505L, store.size("BTC_USDT", CandleInterval.MINUTES_1));
+        } finally {
+            try (Stream<Path> files = Files.walk(root)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    void gapBeyondTheLimitFetchesOnlyTheLatestWithoutAStore() {
+        DataFetcher fetcher = new DataFetcher(api);
+        now -= 2_500 * MINUTE;
+        fetcher.syncHistoricalData("BTC_USDT", "1m", 5);
+        now += 2_500 * MINUTE;
+        CandleSeries series = fetcher.syncHistoricalData("BTC_USDT", "1m", 5);
+
+        assertEquals(0, rangeRequests.get());
+        assertEquals(2, latestRequests.get());
+        assertEquals(5, series.size());
+        for (int i = 0; i < series.size(); i++) {
+            assertEquals((now - (4 - i) * MINUTE) * 1000, series.getTimestamp(i));
+        }
+    }
+
+    @Test
+    void returnedSeriesIsNotChangedByLaterSyncs() {
+        DataFetcher fetcher = new DataFetcher(api);
+        now -= 3 * MINUTE;
+        CandleSeries first = fetcher.syncHistoricalData("BTC_USDT", "1m", 5);
+        now += 3 * MINUTE;
+        CandleSeries second = fetcher.syncHistoricalData("BTC_USDT", "1m", 5);
+
+        assertEquals((now - 3 * MINUTE) * 1000, first.getTimestamp(first.size() - 1));
+        assertEquals(now * 1000, second.getTimestamp(second.size() - 1));
+        assertEquals(1, rangeRequests.get());
+    }
+
+    @Test
+    void syncedSeriesKeepsOnlyTheLimit() {
+        DataFetcher fetcher = new DataFetcher(api);
+        now -= 100 * MINUTE;
+        fetcher.syncHistoricalData("BTC_USDT", "1m", 20);
+        now += 100 * MINUTE;
+        CandleSeries series = fetcher.syncHistoricalData("BTC_USDT", "1m", 20);
+
+        assertEquals(20, series.size());
+        for (int i = 0; i < series.size(); i++) {
+            assertEquals((now - (19 - i) * MINUTE) * 1000, series.getTimestamp(i));
+        }
+    }
+
+    @Test
+    void identicalRequestsShareOneCallButNotTheResult() {
+        DataFetcher fetcher = new DataFetcher(api);
+        List<double[]> first = fetcher.fetchHistoricalData("BTC_USDT", "1m", 10);
+        List<double[]> second = fetcher.fetchHistoricalData("BTC_USDT", "1m", 10);
+        assertEquals(1, latestRequests.get());
+        assertEquals(10, first.size());
+        assertEquals(10, second.size());
+
+        double close = second.get(0)[4];
+        first.get(0)[4] = -1;
+        first.clear();
+        assertEquals(close, second.get(0)[4]);
+        assertEquals(10, second.size());
+    }
+
+    @Test
+    void syncsOfDifferentPairsDoNotWaitOnEachOther() throws Exception {
+        DataFetcher fetcher = new DataFetcher(api);
+        CompletableFuture<CandleSeries> slow = CompletableFuture.supplyAsync(
+                () -> fetcher.syncHistoricalData("SLOW_USDT", "1m", 5));
+        // The slow sync holds its lock while it is blocked on the server
+        assertTrue(slowPairRequested.await(5, TimeUnit.SECONDS));
+
+        assertEquals(5, fetcher.syncHistoricalData("BTC_USDT", "1m", 5).size());
+        assertFalse(slow.isDone());
+        slowPairReleased.countDown();
+        assertEquals(5, slow.get(10, TimeUnit.SECONDS).size());
+    }
+}
@@ -0,0 +1,150 @@
+package com.tradingbot.data;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.tradingbot.integration.GateIOAPI;
+import com.tradingbot.integration.TokenBucketRateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Backfills candles from a local mock of the Gate.io candlestick endpoint.
+ */
+class HistoricalBackfillTest {
+
+    private static final long MINUTE = 60;
+    private static final long START = 1_700_000_000L / MINUTE * MINUTE;
+
+    private MockGateIOServer server;
+    private GateIOAPI api;
+    private final List<long[]> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    // Requests starting at this time fail this many times with HTTP 500
+    private volatile long failingFrom = -1;
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    // Candles in [holeFrom, holeTo) do not exist on the exchange
+    private volatile long holeFrom = -1;
+    private volatile long holeTo = -1;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new MockGateIOServer().endpoint("candlesticks", this::candlesticks);
+        api = server.api();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    private void candlesticks(HttpExchange exchange, Map<String, String> query) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            long from = Long.parseLong(query.get("from"));
+            long to = Long.parseLong(query.get("to"));
+            requests.add(new long[]{from, to});
+            Thread.sleep(10);
+            if (from == failingFrom && failuresLeft.getAndDecrement() > 0) {
+                MockGateIOServer.respond(exchange, 500, "{\"label\":\"SERVER_ERROR\"}");
+                return;
+            }
+            StringBuilder json = new StringBuilder("[");
+            for (long t = from; t <= to; t += MINUTE) {
+                if (t >= holeFrom && t < holeTo) {
+                    continue;
+                }
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append("[\"").append(t).append("\",\"1\",\"2\",\"0.5\",\"1.5\",\"").append(t % 97).append("\"]");
+            }
+            MockGateIOServer.respond(exchange, 200, json.append(']').toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private HistoricalBackfill.Result backfill(TokenBucketRateLimiter limiter, int maxConcurrency, long candles,
+                                               List<Long> received) throws InterruptedException {
+        try (HistoricalBackfill backfill = new HistoricalBackfill(api, limiter, maxConcurrency)) {
+            return backfill.backfill("BTC_USDT", CandleInterval.MINUTES_1, START * 1000,
+                    (START + (candles - 1) * MINUTE) * 1000,
+                    (timestamp, open, high, low, close, volume) -> received.add(timestamp));
+        }
+    }
+
+    @Test
+    void rangeIsSplitIntoPagesOfAtMostTheRequestLimit() throws Exception {
+        List<Long> received = new ArrayList<>();
+        HistoricalBackfill.Result result = backfill(new TokenBucketRateLimiter(1000, 100), 4, 2_500, received);
+
+        long page = GateIOAPI.MAX_CANDLES_PER_REQUEST * MINUTE;
+        List<long[]> sorted = new ArrayList<>(requests);
+        sorted.sort((a, b) -> Long.compare(a[0], b[0]));
+        assertEquals(3, sorted.size());
+        assertArrayEquals(new long[]{START, START + page - MINUTE}, sorted.get(0));
+        assertArrayEquals(new long[]{START + page, START + 2 * page - MINUTE}, sorted.get(1));
+        assertArrayEquals(new long[]{START + 2 * page, START + 2_499 * MINUTE}, sorted.get(2));
+
+        assertEquals(2_500L, result.getCandles());
+        assertEquals(0L, result.getMissingCandles());
+        assertEquals(3L, result.getRequests());
+        assertEquals(2_500, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals((START + i * MINUTE) * 1000, (long) received.get(i));
+        }
+    }
+
+    @Test
+    void requestsRespectTheRateLimitAndConcurrency() throws Exception {
+        long started = System.nanoTime();
+        HistoricalBackfill.Result result = backfill(new TokenBucketRateLimiter(20, 2), 3, 10_000, new ArrayList<>());
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        assertEquals(10L, result.getRequests());
+        // Two requests pass on the burst, the other eight wait for tokens at 20 per second
+        assertTrue(seconds >= 8 / 20.0 * 0.9, "took " + seconds + " s");
+        assertTrue(maxInFlight.get() <= 3, "max in flight " + maxInFlight.get());
+    }
+
+    @Test
+    void failedPageIsRetried() throws Exception {
+        failingFrom = START + GateIOAPI.MAX_CANDLES_PER_REQUEST * MINUTE;
+        failuresLeft.set(1);
+        List<Long> received = new ArrayList<>();
+        HistoricalBackfill.Result result = backfill(new TokenBucketRateLimiter(1000, 100), 4, 2_500, received);
+
+        assertEquals(2_500L, result.getCandles());
+        assertEquals(0L, result.getMissingCandles());
+        assertEquals(4L, result.getRequests());
+        assertEquals(2_500, received.size());
+    }
+
+    @Test
+    void realGapIsReportedAfterOneRetryRecoversNothing() throws Exception {
+        holeFrom = START + 100 * MINUTE;
+        holeTo = holeFrom + 10 * MINUTE;
+        List<Long> received = new ArrayList<>();
+        HistoricalBackfill.Result result = backfill(new TokenBucketRateLimiter(1000, 100), 4, 2_500, received);
+
+        assertEquals(2_490L, result.getCandles());
+        assertEquals(10L, result.getMissingCandles());
+        // The retry asks for the span of missing candles only
+        assertEquals(4L, result.getRequests());
+        assertTrue(requests.stream().anyMatch(r -> r[0] == holeFrom && r[1] == holeTo - MINUTE));
+    }
+}
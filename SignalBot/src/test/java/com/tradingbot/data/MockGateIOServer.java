@@ -0,0 +1,100 @@
+package com.tradingbot.data;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tradingbot.integration.GateIOAPI;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local HTTP server standing in for the Gate.io REST API, with one handler per endpoint.
+ */
+final class MockGateIOServer implements AutoCloseable {
+
+    /**
+     * Handles one request to an endpoint.
+     */
+    interface Endpoint {
+        void handle(HttpExchange exchange, Map<String, String> query) throws IOException;
+    }
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpServer server;
+
+    MockGateIOServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Serves an endpoint, e.g. "candlesticks".
+     *
+     * @param path     The endpoint path relative to the API base URL.
+     * @param endpoint The handler of its requests.
+     * @return This server.
+     */
+    MockGateIOServer endpoint(String path, Endpoint endpoint) {
+        server.createContext("/" + path, exchange -> endpoint.handle(exchange, query(exchange)));
+        return this;
+    }
+
+    /**
+     * Creates a client of this server.
+     *
+     * @return An API pointing at this server.
+     */
+    GateIOAPI api() {
+        return new GateIOAPI("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    /**
+     * Sends a complete response.
+     *
+     * @param exchange The exchange to answer.
+     * @param code     The HTTP status code.
+     * @param body     The response body.
+     * @throws IOException If the response cannot be written.
+     */
+    static void respond(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getQuery();
+        if (raw != null) {
+            for (String parameter : raw.split("&")) {
+                String[] pair = parameter.split("=", 2);
+                query.put(pair[0], pair.length > 1 ? pair[1] : "");
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Stops the server and its handler threads, interrupting handlers that are still blocked.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.tradingbot.data;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.tradingbot.integration.GateIOAPI;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Serves tickers from a local mock of the Gate.io tickers endpoint.
+ */
+class TickerSnapshotServiceTest {
+
+    private MockGateIOServer server;
+    private GateIOAPI api;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile long delayMillis;
+    private volatile int status = 200;
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private volatile CountDownLatch requested = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new MockGateIOServer().endpoint("tickers", this::tickers);
+        api = server.api();
+    }
+
+    @AfterEach
+    void stopServer() {
+        gate.countDown();
+        server.close();
+    }
+
+    private void tickers(HttpExchange exchange, Map<String, String> query) throws IOException {
+        int request = requests.incrementAndGet();
+        requested.countDown();
+        try {
+            gate.await(10, TimeUnit.SECONDS);
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        MockGateIOServer.respond(exchange, status, "[{\"currency_pair\":\"BTC_USDT\",\"last\":\"" + request + "\"},"
+                + "{\"currency_pair\":\"ETH_USDT\",\"last\":\"1\"}]");
+    }
+
+    @Test
+    void snapshotSlowerThanTheStalenessIsStillServed() {
+        delayMillis = 300;
+        TickerSnapshotService service = new TickerSnapshotService(api, 200);
+
+        JSONObject ticker = service.getTicker("btc_usdt");
+        assertNotNull(ticker);
+        assertEquals("1", ticker.getString("last"));
+        // Aged from when the response arrived, so it is still fresh right after the slow request
+        assertEquals(2, service.getTickers().size());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void readersGetTheLastSnapshotWhileARefreshIsInFlight() throws Exception {
+        TickerSnapshotService service = new TickerSnapshotService(api, 100);
+        assertEquals("1", service.getTicker("BTC_USDT").getString("last"));
+
+        gate = new CountDownLatch(1);
+        requested = new CountDownLatch(1);
+        // Reads until the snapshot goes stale and this reader's refresh reaches the server
+        CompletableFuture<JSONObject> refreshing = CompletableFuture.supplyAsync(() -> {
+            JSONObject ticker;
+            do {
+                ticker = service.getTicker("BTC_USDT");
+            } while (ticker.getString("last").equals("1"));
+            return ticker;
+        });
+        assertTrue(requested.await(5, TimeUnit.SECONDS));
+
+        // The refresh is blocked on the server; other readers neither wait nor start another request
+        assertEquals("1", service.getTicker("BTC_USDT").getString("last"));
+        assertEquals(2, requests.get());
+
+        gate.countDown();
+        assertEquals("2", refreshing.get(5, TimeUnit.SECONDS).getString("last"));
+        assertEquals("2", service.getTicker("BTC_USDT").getString("last"));
+    }
+
+    @Test
+    void failedRefreshIsNotRetriedImmediately() {
+        status = 500;
+        TickerSnapshotService service = new TickerSnapshotService(api, 5_000);
+
+        assertNull(service.getTicker("BTC_USDT"));
+        assertNull(service.getTicker("BTC_USDT"));
+        assertEquals(1, requests.get());
+        assertEquals(-1L, service.getSnapshotTimestamp());
+    }
+}
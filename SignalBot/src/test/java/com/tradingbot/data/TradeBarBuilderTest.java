@@ -0,0 +1,68 @@
+package com.tradingbot.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Replays a recorded trade file into each bar type and checks the bars produced.
+ */
+class TradeBarBuilderTest {
+
+    @Test
+    void timeBars() throws Exception {
+        assertBars(replay(TradeBarBuilder.BarType.TIME, 60_000),
+                new double[]{0, 100, 102, 99, 99, 4},
+                new double[]{60_000, 101, 104, 101, 104, 3.5},
+                new double[]{120_000, 103, 105, 103, 105, 3});
+    }
+
+    @Test
+    void tickBars() throws Exception {
+        assertBars(replay(TradeBarBuilder.BarType.TICK, 3),
+                new double[]{1_000, 100, 102, 99, 99, 4},
+                new double[]{61_000, 101, 104, 101, 103, 4.5},
+                new double[]{170_000, 105, 105, 105, 105, 2});
+    }
+
+    @Test
+    void volumeBarsIncludeTheCrossingTradeInTheBarItCloses() throws Exception {
+        // Each bar closes on the trade that takes its quantity to 3 or more, overshoot included
+        assertBars(replay(TradeBarBuilder.BarType.VOLUME, 3),
+                new double[]{1_000, 100, 102, 100, 102, 3},
+                new double[]{59_000, 99, 101, 99, 101, 4},
+                new double[]{65_000, 104, 105, 103, 105, 3.5});
+    }
+
+    @Test
+    void dollarBarsIncludeTheCrossingTradeInTheBarItCloses() throws Exception {
+        // Notional per trade: 100, 204, 99 | 303, 52 | 103, 210 (the last bar is flushed at the end)
+        assertBars(replay(TradeBarBuilder.BarType.DOLLAR, 350),
+                new double[]{1_000, 100, 102, 99, 99, 4},
+                new double[]{61_000, 101, 104, 101, 104, 3.5},
+                new double[]{130_000, 103, 105, 103, 105, 3});
+    }
+
+    private static List<double[]> replay(TradeBarBuilder.BarType type, double threshold) throws Exception {
+        List<double[]> bars = new ArrayList<>();
+        TradeBarBuilder builder = new TradeBarBuilder(type, threshold,
+                (timestamp, open, high, low, close, volume) -> bars.add(new double[]{timestamp, open, high, low, close, volume}));
+        Path file = Paths.get(TradeBarBuilderTest.class.getResource("trades.csv").toURI());
+        // The header, comment and blank lines are skipped
+        assertEquals(7L, TradeBarBuilder.replay(file, builder));
+        return bars;
+    }
+
+    private static void assertBars(List<double[]> actual, double[]... expected) {
+        assertEquals(expected.length, actual.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], actual.get(i), "bar " + i);
+        }
+    }
+}
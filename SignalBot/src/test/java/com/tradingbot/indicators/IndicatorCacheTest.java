@@ -0,0 +1,107 @@
+package com.tradingbot.indicators;
+
+import com.tradingbot.data.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks that cached indicator results match direct calculation and are recomputed only when the
+ * series changes.
+ */
+class IndicatorCacheTest {
+
+    @Test
+    void cachedResultsMatchDirectCalculation() {
+        CandleSeries series = randomWalk(300);
+        IndicatorCache cache = new IndicatorCache(8);
+
+        double[][] rsi = cache.get("BTC_USDT", "1m", series, IndicatorKey.rsi(14));
+        assertArrayEquals(new RSIIndicator(14).calculate(series), prefix(rsi[0], series.size()));
+
+        double[][] macd = cache.get("BTC_USDT", "1m", series, IndicatorKey.macd(12, 26, 9));
+        double[][] expected = new MACDIndicator(12, 26, 9).calculate(series);
+        for (int line = 0; line < 3; line++) {
+            assertArrayEquals(expected[line], prefix(macd[line], series.size()), "MACD line " + line);
+        }
+        assertEquals(expected[0][series.size() - 1],
+                cache.latest("BTC_USDT", "1m", series, IndicatorKey.macd(12, 26, 9), 0));
+    }
+
+    @Test
+    void repeatedReadsAreServedWithoutRecomputation() {
+        CandleSeries series = randomWalk(300);
+        IndicatorCache cache = new IndicatorCache(8);
+
+        double[][] first = cache.get("BTC_USDT", "1m", series, IndicatorKey.rsi(14));
+        double[][] second = cache.get("BTC_USDT", "1m", series, IndicatorKey.rsi(14));
+        assertSame(first, second);
+        assertEquals(1L, cache.getMissCount());
+        assertEquals(1L, cache.getHitCount());
+
+        // The same indicator of another symbol is a separate entry
+        cache.get("ETH_USDT", "1m", series, IndicatorKey.rsi(14));
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void newCandlesInvalidateCachedResults() {
+        CandleSeries series = randomWalk(300);
+        IndicatorCache cache = new IndicatorCache(8);
+        double[][] before = cache.get("BTC_USDT", "1m", series, IndicatorKey.rsi(14));
+
+        series.add(300 * 60_000L, 100, 102, 99, 101, 12);
+        double[][] after = cache.get("BTC_USDT", "1m", series, IndicatorKey.rsi(14));
+        assertNotSame(before, after);
+        assertArrayEquals(new RSIIndicator(14).calculate(series), prefix(after[0], series.size()));
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(0L, cache.getHitCount());
+        assertEquals(1, cache.size());
+
+        cache.invalidate("BTC_USDT", "1m");
+        assertEquals(0, cache.size());
+        assertNotSame(after, cache.get("BTC_USDT", "1m", series, IndicatorKey.rsi(14)));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        CandleSeries series = randomWalk(300);
+        IndicatorCache cache = new IndicatorCache(2);
+        double[][] rsi = cache.get("BTC_USDT", "1m", series, IndicatorKey.rsi(14));
+        cache.get("BTC_USDT", "1m", series, IndicatorKey.ema(12));
+        cache.get("BTC_USDT", "1m", series, IndicatorKey.rsi(14)); // RSI is now the most recently used
+        cache.get("BTC_USDT", "1m", series, IndicatorKey.ema(26));
+
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.getEvictionCount());
+        assertSame(rsi, cache.get("BTC_USDT", "1m", series, IndicatorKey.rsi(14)));
+        long misses = cache.getMissCount();
+        cache.get("BTC_USDT", "1m", series, IndicatorKey.ema(12));
+        assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    private static double[] prefix(double[] line, int size) {
+        return Arrays.copyOf(line, size);
+    }
+
+    private static CandleSeries randomWalk(int size) {
+        Random random = new Random(11);
+        CandleSeries series = new CandleSeries(size);
+        double close = 100.0;
+        for (int i = 0; i < size; i++) {
+            double open = close;
+            close = Math.max(1.0, open + random.nextGaussian());
+            double high = Math.max(open, close) + random.nextDouble();
+            double low = Math.min(open, close) - random.nextDouble();
+            series.add(i * 60_000L, open, high, low, close, 10.0 + random.nextDouble() * 5.0);
+        }
+        return series;
+    }
+}
@@ -0,0 +1,72 @@
+package com.tradingbot.indicators;
+
+import com.tradingbot.data.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that every row of a parameter sweep equals the single-period calculation.
+ */
+class IndicatorSweepTest {
+
+    // Long enough to cross several sweep blocks and a rolling-statistics resync
+    private static final CandleSeries SERIES = randomWalk(10_000);
+    // An odd count, so the unpaired last period is covered too
+    private static final int[] PERIODS = {5, 9, 14, 21, 50};
+
+    @Test
+    void emaSweepMatchesSinglePeriods() {
+        double[][] sweep = EMAIndicator.sweep(SERIES, PERIODS);
+        assertEquals(PERIODS.length, sweep.length);
+        for (int k = 0; k < PERIODS.length; k++) {
+            assertArrayEquals(new EMAIndicator(PERIODS[k]).calculate(SERIES), sweep[k], "EMA(" + PERIODS[k] + ")");
+        }
+    }
+
+    @Test
+    void rsiSweepMatchesSinglePeriods() {
+        double[][] sweep = RSIIndicator.sweep(SERIES, PERIODS);
+        assertEquals(PERIODS.length, sweep.length);
+        for (int k = 0; k < PERIODS.length; k++) {
+            assertArrayEquals(new RSIIndicator(PERIODS[k]).calculate(SERIES), sweep[k], "RSI(" + PERIODS[k] + ")");
+        }
+    }
+
+    @Test
+    void bollingerBandsSweepMatchesSinglePeriods() {
+        double[][][] sweep = BollingerBandsIndicator.sweep(SERIES, 2.0, PERIODS);
+        assertEquals(PERIODS.length, sweep.length);
+        for (int k = 0; k < PERIODS.length; k++) {
+            double[][] bands = new BollingerBandsIndicator(PERIODS[k], 2.0).calculate(SERIES);
+            for (int line = 0; line < 3; line++) {
+                assertArrayEquals(bands[line], sweep[k][line], "Bollinger(" + PERIODS[k] + ") line " + line);
+            }
+        }
+    }
+
+    @Test
+    void sweepRejectsInvalidPeriods() {
+        assertThrows(IllegalArgumentException.class, () -> RSIIndicator.sweep(SERIES));
+        assertThrows(IllegalArgumentException.class, () -> EMAIndicator.sweep(SERIES, 14, 0));
+        assertThrows(IllegalArgumentException.class, () -> BollingerBandsIndicator.sweep(SERIES, 2.0, SERIES.size() + 1));
+    }
+
+    private static CandleSeries randomWalk(int size) {
+        Random random = new Random(7);
+        CandleSeries series = new CandleSeries(size);
+        double close = 100.0;
+        for (int i = 0; i < size; i++) {
+            double open = close;
+            close = Math.max(1.0, open + random.nextGaussian());
+            double high = Math.max(open, close) + random.nextDouble();
+            double low = Math.min(open, close) - random.nextDouble();
+            series.add(i * 60_000L, open, high, low, close, 10.0 + random.nextDouble() * 5.0);
+        }
+        return series;
+    }
+}
@@ -0,0 +1,44 @@
+package com.tradingbot.indicators;
+
+import com.tradingbot.data.CandleInterval;
+import com.tradingbot.data.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the retention limit of the timeframes kept by the engine.
+ */
+class MultiTimeframeIndicatorEngineTest {
+
+    @Test
+    void timeframesKeepOnlyTheMostRecentBars() {
+        MultiTimeframeIndicatorEngine bounded = new MultiTimeframeIndicatorEngine(100,
+                CandleInterval.MINUTES_1, CandleInterval.MINUTES_5);
+        MultiTimeframeIndicatorEngine unbounded = new MultiTimeframeIndicatorEngine(1_000_000,
+                CandleInterval.MINUTES_1, CandleInterval.MINUTES_5);
+        bounded.addIndicator(CandleInterval.MINUTES_5, "ema", new StreamingEMAIndicator(10));
+        unbounded.addIndicator(CandleInterval.MINUTES_5, "ema", new StreamingEMAIndicator(10));
+
+        int bars = 5_000;
+        for (int i = 0; i < bars; i++) {
+            double close = 100 + Math.sin(i / 10.0);
+            bounded.update(i * 60_000L, close, close + 1, close - 1, close, 1);
+            unbounded.update(i * 60_000L, close, close + 1, close - 1, close, 1);
+        }
+
+        CandleSeries minutes = bounded.getSeries(CandleInterval.MINUTES_1);
+        assertTrue(minutes.size() >= 100 && minutes.size() <= 125, "retained " + minutes.size());
+        assertEquals((bars - 1) * 60_000L, minutes.getTimestamp(minutes.size() - 1));
+        assertEquals(unbounded.getSeries(CandleInterval.MINUTES_1).getTimestamp(bars - minutes.size()),
+                minutes.getTimestamp(0));
+
+        CandleSeries fiveMinutes = bounded.getSeries(CandleInterval.MINUTES_5);
+        assertTrue(fiveMinutes.size() <= 125, "retained " + fiveMinutes.size());
+        assertEquals(bars / 5, unbounded.getSeries(CandleInterval.MINUTES_5).size());
+        // Indicators keep their own state and are unaffected by trimming
+        assertEquals(unbounded.getValue(CandleInterval.MINUTES_5, "ema"),
+                bounded.getValue(CandleInterval.MINUTES_5, "ema"));
+    }
+}
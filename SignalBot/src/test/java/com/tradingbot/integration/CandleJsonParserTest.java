@@ -0,0 +1,200 @@
+package com.tradingbot.integration;
+
+import org.json.JSONArray;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the streaming candlestick parser against Double.parseDouble and the org.json path it replaced.
+ */
+class CandleJsonParserTest {
+
+    private static final int RESPONSES = 300;
+
+    @Test
+    void fastPathMatchesParseDoubleBitForBit() throws IOException {
+        CandleJsonParser parser = new CandleJsonParser();
+        for (int response = 0; response < RESPONSES; response++) {
+            Random random = new Random(response);
+            int rows = random.nextInt(40);
+            List<String[]> fields = new ArrayList<>();
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < rows; i++) {
+                String[] row = new String[6];
+                row[0] = Long.toString(1_600_000_000L + random.nextInt(100_000_000));
+                for (int j = 1; j < row.length; j++) {
+                    row[j] = number(random);
+                }
+                fields.add(row);
+                json.append(i == 0 ? "" : ",").append(space(random)).append('[');
+                for (int j = 0; j < row.length; j++) {
+                    // Gate.io quotes every field; bare numbers must parse the same
+                    boolean quoted = random.nextInt(4) > 0;
+                    json.append(j == 0 ? "" : ",").append(space(random))
+                            .append(quoted ? "\"" + row[j] + "\"" : row[j]).append(space(random));
+                }
+                if (random.nextInt(4) == 0) {
+                    json.append(",\"").append(number(random)).append("\",true,").append(number(random));
+                }
+                json.append(']');
+            }
+            String body = json.append(space(random)).append(']').toString();
+
+            List<double[]> parsed = new ArrayList<>();
+            int count = parser.parse(new ChunkedInputStream(body, random),
+                    (timestamp, open, high, low, close, volume) -> parsed.add(new double[]{timestamp, open, high, low, close, volume}));
+            assertEquals(rows, count, body);
+
+            JSONArray reference = new JSONArray(body);
+            for (int i = 0; i < rows; i++) {
+                String[] row = fields.get(i);
+                double[] candle = parsed.get(i);
+                assertEquals((long) (Double.parseDouble(row[0]) * 1000), (long) candle[0], row[0]);
+                assertEquals((long) (reference.getJSONArray(i).getDouble(0) * 1000), (long) candle[0], row[0]);
+                for (int j = 1; j < row.length; j++) {
+                    assertEquals(bits(Double.parseDouble(row[j])), bits(candle[j]), row[j]);
+                    assertEquals(bits(reference.getJSONArray(i).getDouble(j)), bits(candle[j]), row[j]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsEveryTruncationOfAResponse() {
+        String body = "[[\"1606292580\",\"19125.5\",\"19130\",\"19120.25\",\"19128.1\",\"0.123\",\"2362.3\"],"
+                + " [1606292640, -0.5, 1e3, 0.001, 12345678901234567890, 7]]";
+        CandleJsonParser parser = new CandleJsonParser();
+        for (int length = 0; length < body.length(); length++) {
+            String truncated = body.substring(0, length);
+            assertThrows(IOException.class, () -> parser.parse(stream(truncated), (t, o, h, l, c, v) -> { }), truncated);
+        }
+    }
+
+    @Test
+    void rejectsMalformedResponses() {
+        String[] malformed = {
+                "",
+                "{}",
+                "[1]",
+                "[[]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\"]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"x\"]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"\"]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"-\"]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"1.2.3\"]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"--1\"]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"1e\"]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"6]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",nan]]",
+                "[[\"1\" \"2\",\"3\",\"4\",\"5\",\"6\"]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"6\"}]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"6\"] [\"1\",\"2\",\"3\",\"4\",\"5\",\"6\"]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"6\"],]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"6\",{}]]",
+                "[[\"1\",\"2\",\"3\",\"4\",\"5\",\"" + "1".repeat(80) + "\"]]",
+        };
+        CandleJsonParser parser = new CandleJsonParser();
+        for (String body : malformed) {
+            assertThrows(IOException.class, () -> parser.parse(stream(body), (t, o, h, l, c, v) -> { }), body);
+        }
+    }
+
+    /**
+     * Generates a JSON number: mostly exchange-style decimals of every length the fast path
+     * handles, with mantissas around 2^53, long digit strings, exponents and signed zeros.
+     */
+    private static String number(Random random) {
+        switch (random.nextInt(10)) {
+            case 0:
+                return Double.toString(Double.longBitsToDouble(random.nextLong() & 0x7fef_ffff_ffff_ffffL));
+            case 1: {
+                long mantissa = (1L << 53) + random.nextInt(5) - 2;
+                return decimal(Long.toString(mantissa), random.nextInt(23), random.nextBoolean());
+            }
+            case 2:
+                return random.nextBoolean() ? "-0" : "-0." + "0".repeat(random.nextInt(5) + 1);
+            case 3:
+                return random.nextInt(1000) + "." + random.nextInt(1000) + (random.nextBoolean() ? "e" : "E")
+                        + (random.nextBoolean() ? "-" : "") + random.nextInt(30);
+            case 4:
+                return decimal(digits(random, 19 + random.nextInt(15)), random.nextInt(20), random.nextBoolean());
+            default:
+                return decimal(digits(random, 1 + random.nextInt(17)), random.nextInt(12), random.nextInt(8) == 0);
+        }
+    }
+
+    /**
+     * Places the decimal point {@code scale} digits from the right of a digit string.
+     */
+    private static String decimal(String digits, int scale, boolean negative) {
+        String sign = negative ? "-" : "";
+        if (scale == 0) {
+            return sign + digits;
+        }
+        if (scale >= digits.length()) {
+            return sign + "0." + "0".repeat(scale - digits.length()) + digits;
+        }
+        return sign + digits.substring(0, digits.length() - scale) + "." + digits.substring(digits.length() - scale);
+    }
+
+    private static String digits(Random random, int count) {
+        StringBuilder digits = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            // Leading and trailing zeros are common in exchange data
+            digits.append(random.nextInt(3) == 0 ? '0' : (char) ('0' + random.nextInt(10)));
+        }
+        return digits.toString();
+    }
+
+    private static String space(Random random) {
+        return random.nextInt(5) == 0 ? " \n\t".substring(random.nextInt(3)) : "";
+    }
+
+    private static long bits(double value) {
+        return Double.doubleToRawLongBits(value);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the body in reads of random length, so tokens straddle the parser's buffer refills.
+     */
+    private static final class ChunkedInputStream extends InputStream {
+        private final byte[] bytes;
+        private final Random random;
+        private int position;
+
+        private ChunkedInputStream(String body, Random random) {
+            this.bytes = body.getBytes(StandardCharsets.UTF_8);
+            this.random = random;
+        }
+
+        @Override
+        public int read() {
+            return position < bytes.length ? bytes[position++] : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == bytes.length) {
+                return -1;
+            }
+            int chunk = Math.min(Math.min(length, bytes.length - position), 1 + random.nextInt(16));
+            System.arraycopy(bytes, position, buffer, offset, chunk);
+            position += chunk;
+            return chunk;
+        }
+    }
+}
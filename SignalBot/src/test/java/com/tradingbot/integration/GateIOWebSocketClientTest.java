@@ -0,0 +1,308 @@
+package com.tradingbot.integration;
+
+import com.tradingbot.data.CandleInterval;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the WebSocket client against a minimal local WebSocket server.
+ */
+class GateIOWebSocketClientTest {
+
+    private static final String TICKER = "{\"time\":1,\"channel\":\"spot.tickers\",\"event\":\"update\","
+            + "\"result\":{\"currency_pair\":\"%s\",\"last\":\"%s\"}}";
+    private static final String CANDLE = "{\"time\":1,\"channel\":\"spot.candlesticks\",\"event\":\"update\","
+            + "\"result\":{\"t\":\"1606292580\",\"v\":\"2362.3\",\"c\":\"19128.1\",\"h\":\"19130\",\"l\":\"19120\","
+            + "\"o\":\"19125\",\"n\":\"%s\",\"a\":\"0.123\"}}";
+    private static final String TRADE = "{\"time\":1,\"channel\":\"spot.trades\",\"event\":\"update\","
+            + "\"result\":{\"id\":1,\"create_time\":1606292218,\"create_time_ms\":\"1606292218213.4578\","
+            + "\"side\":\"sell\",\"currency_pair\":\"%s\",\"amount\":\"16.47\",\"price\":\"0.4705\"}}";
+
+    private MockWebSocketServer server;
+    private GateIOWebSocketClient client;
+
+    private final BlockingQueue<String> btcTickers = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> ethTickers = new LinkedBlockingQueue<>();
+    private final BlockingQueue<double[]> candles = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> trades = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new MockWebSocketServer();
+        client = new GateIOWebSocketClient("ws://127.0.0.1:" + server.getPort() + "/ws/v4/");
+        client.subscribeTicker("BTC_USDT", (pair, ticker) -> btcTickers.add(ticker.getString("last")));
+        client.subscribeTicker("ETH_USDT", (pair, ticker) -> ethTickers.add(ticker.getString("last")));
+        client.subscribeCandles("BTC_USDT", CandleInterval.MINUTES_1,
+                (timestamp, open, high, low, close, volume) -> candles.add(new double[]{timestamp, open, high, low, close, volume}));
+        client.subscribeTrades("BTC_USDT", (pair, timestamp, price, amount, buy) ->
+                trades.add(pair + " " + timestamp + " " + price + " " + amount + " " + buy));
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void subscribesOnConnect() throws Exception {
+        client.connect();
+        assertEquals(expectedSubscriptions(), server.takeSubscriptions(3));
+    }
+
+    @Test
+    void updatesReachOnlyTheHandlersOfTheirPairAndInterval() throws Exception {
+        client.connect();
+        server.takeSubscriptions(3);
+
+        server.push(String.format(TICKER, "BTC_USDT", "1"));
+        server.push(String.format(TICKER, "ETH_USDT", "2"));
+        server.push(String.format(TICKER, "XRP_USDT", "3"));
+        server.push(String.format(CANDLE, "5m_BTC_USDT"));
+        server.push(String.format(CANDLE, "1m_ETH_USDT"));
+        server.push(String.format(CANDLE, "1m_BTC_USDT"));
+        server.push(String.format(TRADE, "ETH_USDT"));
+        server.push(String.format(TRADE, "BTC_USDT"));
+
+        assertEquals("1", btcTickers.poll(5, TimeUnit.SECONDS));
+        assertEquals("2", ethTickers.poll(5, TimeUnit.SECONDS));
+        double[] candle = candles.poll(5, TimeUnit.SECONDS);
+        assertNotNull(candle);
+        assertEquals(1_606_292_580_000.0, candle[0]);
+        assertEquals(19125.0, candle[1]);
+        assertEquals(19130.0, candle[2]);
+        assertEquals(19120.0, candle[3]);
+        assertEquals(19128.1, candle[4]);
+        assertEquals(0.123, candle[5]);
+        assertEquals("BTC_USDT 1606292218213 0.4705 16.47 false", trades.poll(5, TimeUnit.SECONDS));
+
+        // The updates of other pairs and intervals were pushed first, so they would have arrived by now
+        assertNull(btcTickers.poll(200, TimeUnit.MILLISECONDS));
+        assertNull(ethTickers.poll());
+        assertNull(candles.poll());
+        assertNull(trades.poll());
+    }
+
+    @Test
+    void pairsMatchTheExchangeRegardlessOfCase() throws Exception {
+        BlockingQueue<String> xrpTickers = new LinkedBlockingQueue<>();
+        BlockingQueue<Long> xrpCandles = new LinkedBlockingQueue<>();
+        GateIOWebSocketClient.TickerHandler tickerHandler =
+                (pair, ticker) -> xrpTickers.add(pair + " " + ticker.getString("last"));
+        client.subscribeTicker("xrp_usdt", tickerHandler);
+        client.subscribeCandles("xrp_usdt", CandleInterval.MINUTES_5,
+                (timestamp, open, high, low, close, volume) -> xrpCandles.add(timestamp));
+        client.connect();
+
+        Set<String> subscriptions = server.takeSubscriptions(4);
+        assertTrue(subscriptions.contains("subscribe spot.tickers [BTC_USDT, ETH_USDT, XRP_USDT]"), subscriptions.toString());
+        assertTrue(subscriptions.contains("subscribe spot.candlesticks [5m, XRP_USDT]"), subscriptions.toString());
+
+        server.push(String.format(TICKER, "XRP_USDT", "3"));
+        server.push(String.format(CANDLE, "5m_XRP_USDT"));
+        assertEquals("XRP_USDT 3", xrpTickers.poll(5, TimeUnit.SECONDS));
+        assertEquals(1_606_292_580_000L, (long) xrpCandles.poll(5, TimeUnit.SECONDS));
+
+        client.unsubscribeTicker("Xrp_Usdt", tickerHandler);
+        assertEquals(Collections.singleton("unsubscribe spot.tickers [XRP_USDT]"), server.takeSubscriptions(1));
+    }
+
+    @Test
+    void reconnectsWithBackoffAndSubscribesAgain() throws Exception {
+        client.connect();
+        server.takeSubscriptions(3);
+
+        long dropped = System.nanoTime();
+        server.dropConnection();
+        Set<String> resubscribed = server.takeSubscriptions(3);
+        double seconds = (System.nanoTime() - dropped) / 1e9;
+
+        assertEquals(expectedSubscriptions(), resubscribed);
+        assertEquals(2, server.getConnections());
+        // The first reconnect waits for the initial one-second backoff
+        assertTrue(seconds >= 0.9 && seconds < 5, "reconnected after " + seconds + " s");
+
+        server.push(String.format(TICKER, "BTC_USDT", "4"));
+        assertEquals("4", btcTickers.poll(5, TimeUnit.SECONDS));
+        assertTrue(client.isConnected());
+    }
+
+    private static Set<String> expectedSubscriptions() {
+        Set<String> expected = new TreeSet<>();
+        expected.add("subscribe spot.tickers [BTC_USDT, ETH_USDT]");
+        expected.add("subscribe spot.candlesticks [1m, BTC_USDT]");
+        expected.add("subscribe spot.trades [BTC_USDT]");
+        return expected;
+    }
+
+    /**
+     * Accepts WebSocket connections one at a time, records the text frames it receives and pushes
+     * text frames to the latest connection. Frames are assumed to be small and unfragmented.
+     */
+    private static final class MockWebSocketServer implements AutoCloseable {
+        private final ServerSocket serverSocket = new ServerSocket(0);
+        private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        private final AtomicInteger connections = new AtomicInteger();
+        private volatile Socket current;
+
+        private MockWebSocketServer() throws IOException {
+            Thread acceptor = new Thread(this::accept, "mock-websocket-server");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        private int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private int getConnections() {
+            return connections.get();
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    handshake(socket);
+                    current = socket;
+                    connections.incrementAndGet();
+                    Thread reader = new Thread(() -> read(socket));
+                    reader.setDaemon(true);
+                    reader.start();
+                } catch (Exception e) {
+                    return;
+                }
+            }
+        }
+
+        private static void handshake(Socket socket) throws Exception {
+            // Read the request headers byte by byte, so no frame bytes are buffered away
+            InputStream in = socket.getInputStream();
+            StringBuilder headers = new StringBuilder();
+            while (headers.indexOf("\r\n\r\n") < 0) {
+                headers.append((char) in.read());
+            }
+            String key = null;
+            for (String line : headers.toString().split("\r\n")) {
+                if (line.toLowerCase().startsWith("sec-websocket-key:")) {
+                    key = line.substring("sec-websocket-key:".length()).trim();
+                }
+            }
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + "258EAFA5-E914-47DA-95CA-C5AB0DC85B11").getBytes(StandardCharsets.ISO_8859_1));
+            OutputStream out = socket.getOutputStream();
+            out.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: " + Base64.getEncoder().encodeToString(digest) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+        }
+
+        private void read(Socket socket) {
+            try {
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                while (true) {
+                    int opcode = in.readUnsignedByte() & 0x0f;
+                    int second = in.readUnsignedByte();
+                    long length = second & 0x7f;
+                    if (length == 126) {
+                        length = in.readUnsignedShort();
+                    } else if (length == 127) {
+                        length = in.readLong();
+                    }
+                    byte[] mask = new byte[4];
+                    if ((second & 0x80) != 0) {
+                        in.readFully(mask);
+                    }
+                    byte[] payload = new byte[(int) length];
+                    in.readFully(payload);
+                    for (int i = 0; i < payload.length; i++) {
+                        payload[i] ^= mask[i & 3];
+                    }
+                    if (opcode == 1) {
+                        received.add(new String(payload, StandardCharsets.UTF_8));
+                    } else if (opcode == 8) {
+                        socket.close();
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                // Connection closed
+            }
+        }
+
+        private synchronized void push(String text) throws IOException {
+            byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+            OutputStream out = current.getOutputStream();
+            out.write(0x81);
+            if (payload.length < 126) {
+                out.write(payload.length);
+            } else {
+                out.write(126);
+                out.write(payload.length >> 8);
+                out.write(payload.length & 0xff);
+            }
+            out.write(payload);
+            out.flush();
+        }
+
+        private void dropConnection() throws IOException {
+            current.close();
+        }
+
+        /**
+         * Takes the next subscribe messages, each as its event, channel and sorted payload.
+         */
+        private Set<String> takeSubscriptions(int count) throws InterruptedException {
+            Set<String> subscriptions = new TreeSet<>();
+            for (int i = 0; i < count; i++) {
+                String message = received.poll(10, TimeUnit.SECONDS);
+                assertNotNull(message, "missing subscribe message " + (i + 1) + " of " + count);
+                JSONObject json = new JSONObject(message);
+                JSONArray payload = json.getJSONArray("payload");
+                List<String> values = new ArrayList<>();
+                for (int j = 0; j < payload.length(); j++) {
+                    values.add(payload.getString(j));
+                }
+                Collections.sort(values);
+                subscriptions.add(json.getString("event") + " " + json.getString("channel") + " " + values);
+            }
+            return subscriptions;
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            Socket socket = current;
+            if (socket != null) {
+                socket.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.tradingbot.integration;
+
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the shared HTTP client never keeps the JVM alive.
+ */
+class HttpClientsTest {
+
+    @Test
+    void dispatcherThreadsAreDaemonThreads() throws Exception {
+        OkHttpClient client = HttpClients.shared();
+        assertTrue(client.dispatcher().executorService().submit(() -> Thread.currentThread().isDaemon()).get());
+    }
+}
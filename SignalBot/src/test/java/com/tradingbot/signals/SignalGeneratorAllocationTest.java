@@ -0,0 +1,68 @@
+package com.tradingbot.signals;
+
+import com.sun.management.ThreadMXBean;
+import com.tradingbot.data.CandleSeries;
+import com.tradingbot.ml.LogisticRegressionModel;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that repeated signal requests on a warmed-up generator allocate nothing.
+ */
+class SignalGeneratorAllocationTest {
+
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 1_000;
+    // Vector API kernels box their vectors until C2 compiles them, which can take longer than the
+    // warmup, so measuring continues for a bounded number of rounds until one allocates nothing
+    private static final int ROUNDS = 100;
+
+    @Test
+    void fullHistoryDoesNotAllocateAfterWarmup() {
+        assertNoAllocation(SignalGenerator.EvaluationMode.FULL_HISTORY);
+    }
+
+    @Test
+    void latestOnlyDoesNotAllocateAfterWarmup() {
+        assertNoAllocation(SignalGenerator.EvaluationMode.LATEST_ONLY);
+    }
+
+    private static void assertNoAllocation(SignalGenerator.EvaluationMode mode) {
+        CandleSeries series = randomWalk(500);
+        SignalGenerator generator = new SignalGenerator(14, 12, 26, 9, 20, 2.0,
+                new LogisticRegressionModel(6, 0.01, 1), mode);
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            generator.generateSignal(series);
+        }
+
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long fewestBytes = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS && fewestBytes != 0; round++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                generator.generateSignal(series);
+            }
+            fewestBytes = Math.min(fewestBytes, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+        assertEquals(0L, fewestBytes, mode + " allocated bytes across " + MEASURED_CALLS + " calls");
+    }
+
+    private static CandleSeries randomWalk(int size) {
+        Random random = new Random(42);
+        CandleSeries series = new CandleSeries(size);
+        double close = 100.0;
+        for (int i = 0; i < size; i++) {
+            double open = close;
+            close = Math.max(1.0, open + random.nextGaussian());
+            double high = Math.max(open, close) + random.nextDouble();
+            double low = Math.min(open, close) - random.nextDouble();
+            series.add(i * 60_000L, open, high, low, close, 10.0 + random.nextDouble() * 5.0);
+        }
+        return series;
+    }
+}